@@ -17,6 +17,10 @@ axios.interceptors.response.use(
     return response;
   },
   (error: AxiosError) => {
+    // A cancelled request has no response; the caller that cancelled it ignores it
+    if (axios.isCancel(error)) {
+      return Promise.reject(error);
+    }
     const { status } = error.response as AxiosResponse;
     switch (status) {
       case 404:
@@ -35,7 +39,8 @@ axios.interceptors.response.use(
 );
 
 const requests = {
-  get: (url: string) => axios.get(url).then(responseBody),
+  get: (url: string, signal?: AbortSignal) =>
+    axios.get(url, { signal }).then(responseBody),
   post: (url: string, body: object) => axios.post(url, body).then(responseBody),
   put: (url: string, body: object) => axios.put(url, body).then(responseBody),
   delete: (url: string) => axios.delete(url).then(responseBody),
@@ -69,6 +74,8 @@ const Store = {
       .get("products/brands")
       .then((brands) => [{ id: 0, name: "All" }, ...brands]),
   search: (keyword: string) => requests.get(`products?keyword=${keyword}`),
+  suggest: (prefix: string, signal?: AbortSignal) =>
+    requests.get(`products/suggest?q=${encodeURIComponent(prefix)}`, signal),
 };
 
 const Basket = {
@@ -0,0 +1,5 @@
+export interface Suggestion {
+  kind: "PRODUCT" | "BRAND" | "TYPE";
+  id: number;
+  text: string;
+}
@@ -5,7 +5,9 @@ import agent from "../../app/api/agent";
 import Spinner from "../../app/layout/Spinner";
 import { Brand } from "../../app/models/brand";
 import { Type } from "../../app/models/type";
+import { Suggestion } from "../../app/models/suggestion";
 import {
+  Autocomplete,
   Box,
   FormControl,
   FormControlLabel,
@@ -36,6 +38,7 @@ export default function Catalog() {
   const [selectedBrandId, setSelectedBrandId] = useState(0);
   const [selectedTypeId, setSelectedTypeId] = useState(0);
   const [searchTerm, setSearchTerm] = useState("");
+  const [suggestions, setSuggestions] = useState<Suggestion[]>([]);
   const [totalItems, setTotaItems] = useState(0);
   const [currentPage, setCurrentPage] = useState(1);
   const pageSize = 10;
@@ -96,6 +99,30 @@ export default function Catalog() {
     }
   };
 
+  //Fetch suggestions once typing pauses, instead of searching on every keystroke
+  useEffect(() => {
+    const prefix = searchTerm.trim();
+    if (!prefix) {
+      setSuggestions([]);
+      return;
+    }
+    // Aborted once the term changes, so a slow response for an older prefix never replaces a newer one
+    const controller = new AbortController();
+    const timer = setTimeout(() => {
+      agent.Store.suggest(prefix, controller.signal)
+        .then((suggestionsRes) => {
+          if (!controller.signal.aborted) setSuggestions(suggestionsRes);
+        })
+        .catch(() => {
+          if (!controller.signal.aborted) setSuggestions([]);
+        });
+    }, 150);
+    return () => {
+      clearTimeout(timer);
+      controller.abort();
+    };
+  }, [searchTerm]);
+
   //Trigger loadProducts whenever selectedBrandId or selectedTypeId changes
   useEffect(() => {
     loadProducts(selectedSort);
@@ -127,6 +154,21 @@ export default function Catalog() {
     }
   };
 
+  const handleSuggestionChange = (event: any, value: string | Suggestion | null) => {
+    if (!value) return;
+    if (typeof value === "string") {
+      loadProducts(selectedSort, value);
+    } else if (value.kind === "BRAND") {
+      setSelectedBrand(value.text);
+      setSelectedBrandId(value.id);
+    } else if (value.kind === "TYPE") {
+      setSelectedType(value.text);
+      setSelectedTypeId(value.id);
+    } else {
+      loadProducts(selectedSort, value.text);
+    }
+  };
+
   const handlePageChange = (event, page) => {
     setCurrentPage(page);
   };
@@ -154,18 +196,36 @@ export default function Catalog() {
       </Grid>
       <Grid item xs={3}>
         <Paper sx={{ mb: 2 }}>
-          <TextField
-            label="Search products"
-            variant="outlined"
-            fullWidth
-            value={searchTerm}
-            onChange={(e) => setSearchTerm(e.target.value)}
-            onKeyDown={(e) => {
-              if (e.key === "Enter") {
-                // Trigger search action
-                loadProducts(selectedSort, searchTerm); // Pass the search term to loadProducts
-              }
-            }}
+          <Autocomplete
+            freeSolo
+            options={suggestions}
+            // The server has already matched and ranked the suggestions
+            filterOptions={(options) => options}
+            getOptionLabel={(option) =>
+              typeof option === "string" ? option : option.text
+            }
+            isOptionEqualToValue={(option, value) =>
+              option.kind === value.kind && option.id === value.id
+            }
+            renderOption={(props, option) => (
+              <li {...props} key={`${option.kind}-${option.id}`}>
+                {option.kind === "PRODUCT"
+                  ? option.text
+                  : `${option.text} (${option.kind.toLowerCase()})`}
+              </li>
+            )}
+            inputValue={searchTerm}
+            onInputChange={(e, value) => setSearchTerm(value)}
+            // Selecting a suggestion or pressing Enter triggers the search
+            onChange={handleSuggestionChange}
+            renderInput={(params) => (
+              <TextField
+                {...params}
+                label="Search products"
+                variant="outlined"
+                fullWidth
+              />
+            )}
           />
         </Paper>
         <Paper sx={{ mb: 2, p: 2 }}>
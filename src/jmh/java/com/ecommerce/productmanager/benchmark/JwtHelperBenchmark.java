@@ -0,0 +1,60 @@
+package com.ecommerce.productmanager.benchmark;
+
+import com.ecommerce.productmanager.security.JwtHelper;
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures JwtHelper token generation, a full parse and signature check, and a claims cache hit.
+ * The uncached helper has a claims cache size of 0, which turns the cache off, so every parse verifies the token.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtHelperBenchmark {
+
+    private final UserDetails user = User.withUsername("elisha").password("").roles("admin").build();
+    // Claims cache turned off
+    private JwtHelper uncached;
+    private JwtHelper cached;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        uncached = new JwtHelper(0);
+        cached = new JwtHelper(10_000);
+        token = cached.generateToken(user);
+        cached.getAllClaimsFromToken(token);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return uncached.generateToken(user);
+    }
+
+    @Benchmark
+    public Claims parseToken() {
+        return uncached.getAllClaimsFromToken(token);
+    }
+
+    @Benchmark
+    public Claims parseCachedToken() {
+        return cached.getAllClaimsFromToken(token);
+    }
+}
@@ -0,0 +1,65 @@
+package com.ecommerce.productmanager.benchmark;
+
+import com.ecommerce.productmanager.entity.OrderAggregate.Order;
+import com.ecommerce.productmanager.entity.OrderAggregate.OrderItem;
+import com.ecommerce.productmanager.entity.OrderAggregate.ProductItemOrdered;
+import com.ecommerce.productmanager.entity.OrderAggregate.ShippingAddress;
+import com.ecommerce.productmanager.mapper.OrderMapper;
+import com.ecommerce.productmanager.model.OrderResponse;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the MapStruct-generated OrderMapper.OrderToOrderResponse for an order with ten lines.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OrderMapperBenchmark {
+
+    private static final int ORDER_ITEMS = 10;
+
+    private final OrderMapper orderMapper = Mappers.getMapper(OrderMapper.class);
+    private Order order;
+
+    @Setup
+    public void setUp() {
+        List<OrderItem> items = new ArrayList<>();
+        order = Order.builder()
+                .id(1)
+                .basketId("benchmark-basket")
+                .shippingAddress(new ShippingAddress("Jane Doe", "1 Court Road", null, "Leeds", "West Yorkshire", "LS1 1AA", "UK"))
+                .orderItems(items)
+                .subTotal(185000.0)
+                .deliveryFee(500L)
+                .build();
+        for (int i = 0; i < ORDER_ITEMS; i++) {
+            ProductItemOrdered itemOrdered = new ProductItemOrdered();
+            itemOrdered.setProductId(i + 1);
+            itemOrdered.setName("Yonex Astrox 88D Pro Badminton Racket " + i);
+            itemOrdered.setPictureUrl("images/products/yonex-racket-1.png");
+            items.add(OrderItem.builder().id(i + 1).itemOrdered(itemOrdered).price(18500L).quantity(1).order(order).build());
+        }
+    }
+
+    @Benchmark
+    public OrderResponse orderToOrderResponse() {
+        return orderMapper.OrderToOrderResponse(order);
+    }
+}
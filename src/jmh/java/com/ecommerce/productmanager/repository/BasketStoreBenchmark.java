@@ -0,0 +1,124 @@
+package com.ecommerce.productmanager.repository;
+
+import com.ecommerce.productmanager.entity.Basket;
+import com.ecommerce.productmanager.entity.BasketItem;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisKeyValueAdapter;
+import org.springframework.data.redis.core.RedisKeyValueTemplate;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.mapping.RedisMappingContext;
+import org.springframework.data.redis.repository.support.RedisRepositoryFactory;
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares a save and read of a basket through the {@link BasketRepository} hash mapping with the
+ * single-document {@link BasketStore}, and measures an item added by the store's Lua script, for
+ * baskets of a parameterized number of items. Runs against an embedded Redis server on a free port,
+ * so the numbers include a local round trip but no network.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BasketStoreBenchmark {
+
+    @Param({"1", "10", "100"})
+    private int basketItems;
+
+    private RedisServer redisServer;
+    private LettuceConnectionFactory connectionFactory;
+    private BasketRepository repository;
+    private BasketStore store;
+    private Basket repositoryBasket;
+    private Basket storeBasket;
+    private BasketItem addedItem;
+
+    @Setup
+    public void setUp() throws IOException {
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        redisServer = new RedisServer(port);
+        redisServer.start();
+        connectionFactory = new LettuceConnectionFactory("localhost", port);
+        connectionFactory.afterPropertiesSet();
+
+        RedisTemplate<byte[], byte[]> redisTemplate = new RedisTemplate<>();
+        redisTemplate.setConnectionFactory(connectionFactory);
+        redisTemplate.afterPropertiesSet();
+        RedisKeyValueTemplate keyValueTemplate = new RedisKeyValueTemplate(
+                new RedisKeyValueAdapter(redisTemplate), new RedisMappingContext());
+        repository = new RedisRepositoryFactory(keyValueTemplate).getRepository(BasketRepository.class);
+        store = new BasketStore(new StringRedisTemplate(connectionFactory), new ObjectMapper(), repository,
+                Duration.ofHours(1));
+
+        repositoryBasket = basket("benchmark-repository");
+        storeBasket = basket("benchmark-store");
+        store.save(storeBasket);
+        // Already in the basket, so every call only raises its quantity and the basket keeps its size
+        addedItem = storeBasket.getItems().get(0);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        connectionFactory.destroy();
+        redisServer.stop();
+    }
+
+    @Benchmark
+    public Optional<Basket> repositorySaveAndFind() {
+        repository.save(repositoryBasket);
+        return repository.findById(repositoryBasket.getId());
+    }
+
+    @Benchmark
+    public Optional<Basket> storeSaveAndFind() {
+        store.save(storeBasket);
+        return store.findById(storeBasket.getId());
+    }
+
+    @Benchmark
+    public Basket storeAddItem() {
+        return store.addItem(storeBasket.getId(), addedItem);
+    }
+
+    private Basket basket(String id) {
+        Basket basket = new Basket(id);
+        for (int i = 0; i < basketItems; i++) {
+            BasketItem item = new BasketItem();
+            item.setId(i + 1);
+            item.setName("Yonex Astrox 88D Pro Badminton Racket " + i);
+            item.setDescription("Head-heavy racket for powerful smashes from the back court");
+            item.setPrice(18500L + i);
+            item.setPictureUrl("images/products/yonex-racket-1.png");
+            item.setProductBrand("Yonex");
+            item.setProductType("Rackets");
+            item.setQuantity(1 + i % 3);
+            basket.getItems().add(item);
+        }
+        return basket;
+    }
+}
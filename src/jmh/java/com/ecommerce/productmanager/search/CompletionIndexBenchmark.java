@@ -0,0 +1,58 @@
+package com.ecommerce.productmanager.search;
+
+import com.ecommerce.productmanager.model.ProductSuggestion;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures top-10 lookups in CompletionIndex for catalogs of a parameterized size, from a
+ * single-letter prefix that matches a large share of the names to a prefix that matches a few.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CompletionIndexBenchmark {
+
+    private static final String[] ADJECTIVES = {"Pro", "Elite", "Lite", "Max", "Classic", "Tour", "Power", "Speed"};
+    private static final String[] NOUNS = {"Racket", "Shoe", "Shuttlecock", "Grip", "Bag", "Shirt", "Shorts", "Sock"};
+
+    @Param({"10000", "1000000"})
+    private int products;
+
+    @Param({"s", "sho", "elite racket 12"})
+    private String prefix;
+
+    private CompletionIndex index;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        CompletionIndex.Builder builder = new CompletionIndex.Builder();
+        for (int i = 1; i <= products; i++) {
+            String name = ADJECTIVES[random.nextInt(ADJECTIVES.length)] + " " + NOUNS[random.nextInt(NOUNS.length)] + " " + i;
+            builder.add(ProductSuggestion.Kind.PRODUCT, i, name, random.nextInt(1000));
+        }
+        index = builder.build();
+    }
+
+    @Benchmark
+    public List<ProductSuggestion> complete() {
+        return index.complete(prefix, 10);
+    }
+}
@@ -0,0 +1,92 @@
+package com.ecommerce.productmanager.search;
+
+import com.ecommerce.productmanager.entity.Brand;
+import com.ecommerce.productmanager.entity.Product;
+import com.ecommerce.productmanager.entity.Type;
+import com.ecommerce.productmanager.event.ProductChangedEvent;
+import com.ecommerce.productmanager.model.ProductSortKey;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Sort;
+
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures filtering, counting and paging in ProductFacetIndex for catalogs of a parameterized size.
+ * The index is filled through product change events, so no repository is needed.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProductFacetIndexBenchmark {
+
+    private static final int BRANDS = 50;
+    private static final int TYPES = 20;
+
+    @Param({"10000", "1000000"})
+    private int products;
+
+    private ProductFacetIndex index;
+    private ProductFacetIndex.Selection noSelection;
+    private ProductFacetIndex.Selection multiSelection;
+
+    @Setup
+    public void setUp() {
+        index = new ProductFacetIndex(new long[]{1000, 2500, 5000, 10000, 25000});
+        Brand[] brands = new Brand[BRANDS];
+        for (int i = 0; i < BRANDS; i++) {
+            brands[i] = Brand.builder().id(i + 1).name("Brand " + i).build();
+        }
+        Type[] types = new Type[TYPES];
+        for (int i = 0; i < TYPES; i++) {
+            types[i] = Type.builder().id(i + 1).name("Type " + i).build();
+        }
+        Random random = new Random(42);
+        for (int i = 1; i <= products; i++) {
+            Product product = Product.builder()
+                    .id(i)
+                    .name("Product " + random.nextInt(products))
+                    .price(100L + random.nextInt(40000))
+                    .brand(brands[random.nextInt(BRANDS)])
+                    .type(types[random.nextInt(TYPES)])
+                    .build();
+            index.onProductChanged(new ProductChangedEvent(product, ProductChangedEvent.ChangeType.SAVED));
+        }
+        noSelection = new ProductFacetIndex.Selection(Set.of(), Set.of(), Set.of(), null);
+        multiSelection = new ProductFacetIndex.Selection(Set.of(1, 2, 3), Set.of(4, 5), Set.of(2, 3), null);
+    }
+
+    @Benchmark
+    public ProductFacetIndex.Result countAllById() {
+        return index.search(noSelection, ProductSortKey.ID, Sort.Direction.ASC, 0, 20);
+    }
+
+    @Benchmark
+    public ProductFacetIndex.Result filterMultiSelectById() {
+        return index.search(multiSelection, ProductSortKey.ID, Sort.Direction.ASC, 0, 20);
+    }
+
+    @Benchmark
+    public ProductFacetIndex.Result filterMultiSelectByPrice() {
+        return index.search(multiSelection, ProductSortKey.PRICE, Sort.Direction.ASC, 0, 20);
+    }
+
+    @Benchmark
+    public ProductFacetIndex.Result countAllByName() {
+        return index.search(noSelection, ProductSortKey.NAME, Sort.Direction.DESC, 100, 20);
+    }
+}
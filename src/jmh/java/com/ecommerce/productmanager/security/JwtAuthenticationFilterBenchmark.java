@@ -0,0 +1,72 @@
+package com.ecommerce.productmanager.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ServletException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the per-request cost of {@link JwtAuthenticationFilter} for a repeated token, with the
+ * claims cache turned off (a cache size of 0, which parses and verifies the token on every request)
+ * and with a claims cache hit.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtAuthenticationFilterBenchmark {
+
+    private final UserDetails user = User.withUsername("elisha").password("").roles("admin").build();
+    private JwtAuthenticationFilter uncachedFilter;
+    private JwtAuthenticationFilter cachedFilter;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        SecurityEventLogger securityEventLogger = new SecurityEventLogger(new SimpleMeterRegistry(), 1.0, 20);
+        JwtHelper cached = new JwtHelper(10_000);
+        uncachedFilter = new JwtAuthenticationFilter(new JwtHelper(0), new InMemoryUserDetailsManager(user), securityEventLogger);
+        cachedFilter = new JwtAuthenticationFilter(cached, new InMemoryUserDetailsManager(user), securityEventLogger);
+        token = cached.generateToken(user);
+    }
+
+    @Benchmark
+    public Authentication filterClaimsCacheDisabled() throws ServletException, IOException {
+        return filter(uncachedFilter);
+    }
+
+    @Benchmark
+    public Authentication filterClaimsCacheHit() throws ServletException, IOException {
+        return filter(cachedFilter);
+    }
+
+    private Authentication filter(JwtAuthenticationFilter filter) throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/products");
+        request.addHeader("Authorization", "Bearer " + token);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        SecurityContextHolder.clearContext();
+        return authentication;
+    }
+}
@@ -0,0 +1,156 @@
+package com.ecommerce.productmanager.service;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import com.ecommerce.productmanager.cache.ProductCache;
+import com.ecommerce.productmanager.entity.Basket;
+import com.ecommerce.productmanager.entity.BasketItem;
+import com.ecommerce.productmanager.entity.Brand;
+import com.ecommerce.productmanager.entity.Product;
+import com.ecommerce.productmanager.entity.Type;
+import com.ecommerce.productmanager.model.BasketResponse;
+import com.ecommerce.productmanager.model.ProductResponse;
+import com.ecommerce.productmanager.repository.BasketStore;
+import com.ecommerce.productmanager.repository.ProductRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Measures the entity-to-response conversions of ProductServiceImpl and BasketServiceImpl through
+ * their public methods: a product by ID, a page of products, and a basket of a parameterized
+ * number of items. The product repository, the basket store and the product cache are replaced by
+ * stubs that return prepared entities without any I/O, and the cache always misses, so each call
+ * converts the entities again. The stubs are plain subclasses and a JDK proxy rather than Mockito
+ * mocks, whose per-call overhead would exceed the conversions being measured.
+ * Logging is turned off, so the numbers do not include console output.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConversionBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+    private static final String BASKET_ID = "benchmark-basket";
+
+    private ProductServiceImpl productService;
+    private Pageable pageable;
+
+    /**
+     * A basket service whose store returns a basket with a parameterized number of items.
+     */
+    @State(Scope.Benchmark)
+    public static class BasketState {
+
+        @Param({"1", "10", "100"})
+        private int basketItems;
+
+        private BasketServiceImpl basketService;
+
+        @Setup
+        public void setUp() {
+            Basket basket = new Basket(BASKET_ID);
+            for (int i = 0; i < basketItems; i++) {
+                BasketItem item = new BasketItem();
+                item.setId(i + 1);
+                item.setName("Yonex Astrox 88D Pro Badminton Racket " + i);
+                item.setDescription("Head-heavy racket for powerful smashes from the back court");
+                item.setPrice(18500L + i);
+                item.setPictureUrl("images/products/yonex-racket-1.png");
+                item.setProductBrand("Yonex");
+                item.setProductType("Rackets");
+                item.setQuantity(1 + i % 3);
+                basket.getItems().add(item);
+            }
+            basketService = new BasketServiceImpl(new BasketStore(null, null, null, Duration.ZERO) {
+                @Override
+                public Optional<Basket> findById(String basketId) {
+                    return Optional.of(basket);
+                }
+            });
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        ((LoggerContext) LoggerFactory.getILoggerFactory()).getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME).setLevel(Level.OFF);
+
+        Brand brand = new Brand(1, "Yonex", null);
+        Type type = new Type(1, "Rackets", null);
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            products.add(Product.builder()
+                    .id(i + 1)
+                    .name("Yonex Astrox 88D Pro Badminton Racket " + i)
+                    .description("Head-heavy racket for powerful smashes from the back court")
+                    .price(18500L + i)
+                    .pictureUrl("images/products/yonex-racket-1.png")
+                    .brand(brand)
+                    .type(type)
+                    .build());
+        }
+        pageable = PageRequest.of(0, PAGE_SIZE);
+        Page<Product> page = new PageImpl<>(products, pageable, 10_000);
+
+        Optional<Product> product = Optional.of(products.get(0));
+        // Answers the two repository methods the benchmarked service methods call
+        ProductRepository productRepository = (ProductRepository) Proxy.newProxyInstance(
+                ProductRepository.class.getClassLoader(), new Class<?>[]{ProductRepository.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "findById" -> product;
+                    case "findAll" -> page;
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+        // Every lookup misses, so the service loads and converts the entities on each call
+        ProductCache productCache = new ProductCache(null, null, new SimpleMeterRegistry(), 0, Duration.ZERO,
+                Duration.ZERO, Duration.ZERO, Duration.ZERO) {
+            @Override
+            public <T> T get(String key, Class<T> type, Supplier<T> loader) {
+                return loader.get();
+            }
+        };
+
+        productService = new ProductServiceImpl(productRepository, null, null, null, null, null, null,
+                productCache, new SimpleMeterRegistry(), false);
+    }
+
+    @Benchmark
+    public ProductResponse getProductById() {
+        return productService.getProductById(1);
+    }
+
+    @Benchmark
+    public Page<ProductResponse> getProducts() {
+        return productService.getProducts(pageable, null, null, null, null, null);
+    }
+
+    @Benchmark
+    public BasketResponse getBasketById(BasketState state) {
+        return state.basketService.getBasketById(BASKET_ID);
+    }
+}
@@ -0,0 +1,15 @@
+package com.ecommerce.productmanager.cache;
+
+import com.ecommerce.productmanager.model.ProductResponse;
+
+import java.util.List;
+
+/**
+ * CachedProductPage is the cacheable form of a page of products: its content and the total number
+ * of matching products. The pagination information is taken from the request when the page is rebuilt.
+ *
+ * @param content the products on the page
+ * @param totalElements the total number of products matching the listing filters
+ */
+public record CachedProductPage(List<ProductResponse> content, long totalElements) {
+}
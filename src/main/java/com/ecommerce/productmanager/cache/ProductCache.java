@@ -0,0 +1,270 @@
+package com.ecommerce.productmanager.cache;
+
+import com.ecommerce.productmanager.event.CatalogReloadedEvent;
+import com.ecommerce.productmanager.event.ProductChangedEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * ProductCache is a two-tier read-through cache for product detail and listing responses.
+ * The first tier is a size- and time-bounded Caffeine cache local to this instance; the second tier
+ * is Redis, shared by all instances.
+ * Every key carries a catalog version kept in Redis. A product write bumps the version, which
+ * orphans every entry in both tiers at once; other instances pick up the new version within the
+ * configured refresh interval. Redis failures degrade to the local tier and the database; after a
+ * failure Redis is skipped for the retry interval, so requests do not each wait for its timeouts while
+ * it is down. Once the interval has passed a single request tries Redis again, and a bump made in the
+ * meantime is written to Redis before the version is read from it.
+ */
+@Component
+@Log4j2
+public class ProductCache {
+
+    private static final String KEY_PREFIX = "products:cache:";
+    private static final String VERSION_KEY = KEY_PREFIX + "version";
+    // remoteRetryAt while Redis is considered reachable
+    private static final long REMOTE_AVAILABLE = Long.MIN_VALUE;
+
+    private final Cache<String, Object> localCache;
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final Duration remoteTtl;
+    private final long versionRefreshNanos;
+    private final long remoteRetryNanos;
+    // System.nanoTime() from which Redis is tried again after a failure, or REMOTE_AVAILABLE
+    private final AtomicLong remoteRetryAt = new AtomicLong(REMOTE_AVAILABLE);
+    // Set while a bump of the version has not reached Redis yet
+    private final AtomicBoolean versionBumpPending = new AtomicBoolean();
+
+    private final Counter remoteHits;
+    private final Counter remoteMisses;
+    private final Counter invalidations;
+
+    private volatile long version;
+    private volatile long versionCheckedAt;
+
+    public ProductCache(StringRedisTemplate redisTemplate,
+                        ObjectMapper objectMapper,
+                        MeterRegistry meterRegistry,
+                        @Value("${product.cache.local.maximum-size:10000}") long localMaximumSize,
+                        @Value("${product.cache.local.ttl:30s}") Duration localTtl,
+                        @Value("${product.cache.remote.ttl:10m}") Duration remoteTtl,
+                        @Value("${product.cache.version-refresh-interval:5s}") Duration versionRefreshInterval,
+                        @Value("${product.cache.remote.retry-interval:10s}") Duration remoteRetryInterval) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.remoteTtl = remoteTtl;
+        this.versionRefreshNanos = versionRefreshInterval.toNanos();
+        this.versionCheckedAt = System.nanoTime() - versionRefreshNanos;
+        this.remoteRetryNanos = remoteRetryInterval.toNanos();
+        this.localCache = Caffeine.newBuilder()
+                .maximumSize(localMaximumSize)
+                .expireAfterWrite(localTtl)
+                .recordStats()
+                .build();
+
+        // Local tier: cache.gets, cache.puts, cache.evictions and cache.size tagged cache=products.local
+        CaffeineCacheMetrics.monitor(meterRegistry, localCache, "products.local");
+        // Remote tier: same meter names so both tiers can be compared side by side
+        this.remoteHits = Counter.builder("cache.gets").tag("cache", "products.remote").tag("result", "hit")
+                .description("The number of times the remote product cache returned a value")
+                .register(meterRegistry);
+        this.remoteMisses = Counter.builder("cache.gets").tag("cache", "products.remote").tag("result", "miss")
+                .description("The number of times the remote product cache had no value")
+                .register(meterRegistry);
+        this.invalidations = Counter.builder("cache.invalidations").tag("cache", "products")
+                .description("The number of times product writes invalidated the product cache")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns the cached value for a key, loading and caching it on a miss in both tiers.
+     *
+     * @param key the key, which must include every parameter the value depends on
+     * @param type the type of the value
+     * @param loader loads the value from the database on a miss
+     * @return the cached or freshly loaded value
+     */
+    public <T> T get(String key, Class<T> type, Supplier<T> loader) {
+        String versionedKey = KEY_PREFIX + "v" + currentVersion() + ":" + key;
+
+        Object local = localCache.getIfPresent(versionedKey);
+        if (local != null) {
+            return type.cast(local);
+        }
+
+        T value = getRemote(versionedKey, type);
+        if (value == null) {
+            value = loader.get();
+            putRemote(versionedKey, value);
+        }
+        localCache.put(versionedKey, value);
+        return value;
+    }
+
+    /**
+     * Invalidates every cached product response by moving to a new catalog version.
+     */
+    public void invalidate() {
+        version = version + 1;
+        // Cleared once Redis has the bump, so a bump made while Redis is down reaches the other instances later
+        versionBumpPending.set(true);
+        if (remoteAvailable()) {
+            bumpRemoteVersion();
+        }
+        versionCheckedAt = System.nanoTime();
+        localCache.invalidateAll();
+        invalidations.increment();
+        log.info("Invalidated product cache, now at version {}", version);
+    }
+
+    /**
+     * Invalidates the cache once a product write has been committed.
+     *
+     * @param event the product change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        invalidate();
+    }
+
+    /**
+     * Invalidates the cache after a bulk import, which writes products without per-product change events.
+     *
+     * @param event the catalog reload
+     */
+    @EventListener
+    public void onCatalogReloaded(CatalogReloadedEvent event) {
+        invalidate();
+    }
+
+    /**
+     * Returns the catalog version, re-reading it from Redis at most once per refresh interval
+     * so that local hits never wait on the network. A bump that could not be written to Redis
+     * is written first, instead of reading a version that predates it.
+     */
+    private long currentVersion() {
+        long now = System.nanoTime();
+        if (now - versionCheckedAt >= versionRefreshNanos && remoteAvailable()) {
+            versionCheckedAt = now;
+            if (versionBumpPending.get()) {
+                bumpRemoteVersion();
+            } else {
+                try {
+                    String stored = redisTemplate.opsForValue().get(VERSION_KEY);
+                    remoteSucceeded();
+                    adoptVersion(stored != null ? Long.parseLong(stored) : 0L);
+                } catch (RuntimeException ex) {
+                    remoteFailed("Could not read product cache version from Redis", ex);
+                }
+            }
+        }
+        return version;
+    }
+
+    /**
+     * Increments the version in Redis, which orphans the entries of every instance. One increment
+     * covers any number of bumps made while Redis was unreachable. Callers check remoteAvailable() first.
+     */
+    private void bumpRemoteVersion() {
+        versionBumpPending.set(false);
+        try {
+            Long newVersion = redisTemplate.opsForValue().increment(VERSION_KEY);
+            remoteSucceeded();
+            if (newVersion != null) {
+                adoptVersion(newVersion);
+            }
+        } catch (RuntimeException ex) {
+            versionBumpPending.set(true);
+            remoteFailed("Could not bump product cache version in Redis", ex);
+        }
+    }
+
+    private void adoptVersion(long remoteVersion) {
+        // The version only goes down after local bumps Redis missed or a lost version key; the local tier
+        // may then hold entries under the version taken over, loaded before the bump
+        if (remoteVersion < version) {
+            localCache.invalidateAll();
+        }
+        version = remoteVersion;
+    }
+
+    private <T> T getRemote(String key, Class<T> type) {
+        if (!remoteAvailable()) {
+            return null;
+        }
+        try {
+            String json = redisTemplate.opsForValue().get(key);
+            remoteSucceeded();
+            if (json == null) {
+                remoteMisses.increment();
+                return null;
+            }
+            remoteHits.increment();
+            return objectMapper.readValue(json, type);
+        } catch (JsonProcessingException ex) {
+            log.warn("Discarding unreadable product cache entry {}: {}", key, ex.getMessage());
+            return null;
+        } catch (RuntimeException ex) {
+            remoteFailed("Could not read product cache entry " + key + " from Redis", ex);
+            return null;
+        }
+    }
+
+    private void putRemote(String key, Object value) {
+        if (!remoteAvailable()) {
+            return;
+        }
+        try {
+            redisTemplate.opsForValue().set(key, objectMapper.writeValueAsString(value), remoteTtl);
+            remoteSucceeded();
+        } catch (JsonProcessingException ex) {
+            log.warn("Could not serialize product cache entry {}: {}", key, ex.getMessage());
+        } catch (RuntimeException ex) {
+            remoteFailed("Could not write product cache entry " + key + " to Redis", ex);
+        }
+    }
+
+    /**
+     * Indicates whether Redis should be tried. After a failure it returns false until the retry interval
+     * has passed, then true for exactly one caller, which pushes the retry time out again for everyone
+     * else until its attempt has succeeded or failed.
+     */
+    private boolean remoteAvailable() {
+        long retryAt = remoteRetryAt.get();
+        if (retryAt == REMOTE_AVAILABLE) {
+            return true;
+        }
+        long now = System.nanoTime();
+        return now - retryAt >= 0 && remoteRetryAt.compareAndSet(retryAt, now + remoteRetryNanos);
+    }
+
+    private void remoteSucceeded() {
+        if (remoteRetryAt.get() != REMOTE_AVAILABLE && remoteRetryAt.getAndSet(REMOTE_AVAILABLE) != REMOTE_AVAILABLE) {
+            log.info("Redis is reachable again, resuming the remote product cache");
+        }
+    }
+
+    private void remoteFailed(String message, RuntimeException ex) {
+        remoteRetryAt.set(System.nanoTime() + remoteRetryNanos);
+        log.warn("{}, skipping Redis for {} ms: {}", message, TimeUnit.NANOSECONDS.toMillis(remoteRetryNanos),
+                ex.getMessage());
+    }
+}
@@ -0,0 +1,42 @@
+package com.ecommerce.productmanager.config;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.time.Duration;
+
+/**
+ * Configuration class for asynchronous request processing.
+ * Streaming responses run asynchronously, so their timeout bounds how long a single stream may take.
+ * Bulk exports replace it with export.request-timeout, see AdminController.
+ * They run on Boot's application task executor, which uses virtual threads when
+ * spring.threads.virtual.enabled is set (see application-virtual-threads.yaml).
+ */
+@Configuration
+public class AsyncWebConfig implements WebMvcConfigurer {
+
+    private final Duration requestTimeout;
+    private final AsyncTaskExecutor taskExecutor;
+
+    public AsyncWebConfig(@Value("${streaming.request-timeout:10m}") Duration requestTimeout,
+                          @Qualifier("applicationTaskExecutor") AsyncTaskExecutor taskExecutor) {
+        this.requestTimeout = requestTimeout;
+        this.taskExecutor = taskExecutor;
+    }
+
+    /**
+     * Sets the timeout and the executor of asynchronous requests such as streamed JSON arrays.
+     * With @EnableWebMvc, Spring MVC would otherwise start an unpooled platform thread per request.
+     *
+     * @param configurer the async support configurer
+     */
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setDefaultTimeout(requestTimeout.toMillis());
+        configurer.setTaskExecutor(taskExecutor);
+    }
+}
@@ -16,7 +16,7 @@ public class CorsConfig implements WebMvcConfigurer {
     /**
      * Configures CORS mappings to allow cross-origin requests from any origin
      * to all endpoints in the application, with the allowed HTTP methods being
-     * GET, POST, DELETE, and PUT.
+     * GET, POST, DELETE, PUT, and PATCH.
      *
      * @param registry the CORS registry to add mappings to
      */
@@ -27,7 +27,7 @@ public class CorsConfig implements WebMvcConfigurer {
                 // Allow requests from any origin
                 .allowedOrigins("*")
                 // Allow specified HTTP methods
-                .allowedMethods("GET", "POST", "DELETE", "PUT")
+                .allowedMethods("GET", "POST", "DELETE", "PUT", "PATCH")
                 // Allow all headers in the requests
                 .allowedHeaders("*");
     }
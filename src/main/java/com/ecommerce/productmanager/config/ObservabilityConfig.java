@@ -0,0 +1,38 @@
+package com.ecommerce.productmanager.config;
+
+import io.lettuce.core.metrics.MicrometerOptions;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.observation.aop.ObservedAspect;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration class for service-level observations.
+ * Service methods annotated with @Observed produce a timer (viewable in /actuator/metrics and
+ * /actuator/prometheus) and a tracing span. JDBC queries are observed by datasource-micrometer,
+ * Hikari pool gauges and Lettuce command timers are registered by Spring Boot.
+ */
+@Configuration
+public class ObservabilityConfig {
+
+    /**
+     * Enables the @Observed annotation on Spring beans.
+     *
+     * @param observationRegistry the registry observations are reported to
+     * @return the aspect that creates an observation around every @Observed method
+     */
+    @Bean
+    public ObservedAspect observedAspect(ObservationRegistry observationRegistry) {
+        return new ObservedAspect(observationRegistry);
+    }
+
+    /**
+     * Records Lettuce command latencies as histograms, so per-command percentiles can be queried in Prometheus.
+     *
+     * @return the Lettuce metrics options
+     */
+    @Bean
+    public MicrometerOptions micrometerOptions() {
+        return MicrometerOptions.builder().histogram(true).build();
+    }
+}
@@ -0,0 +1,16 @@
+package com.ecommerce.productmanager.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Configuration class that enables Spring's scheduled task execution,
+ * used for periodic refreshes of in-memory data, and @Async methods, which run on
+ * Boot's application task executor (virtual threads in the virtual-threads profile).
+ */
+@Configuration
+@EnableScheduling
+@EnableAsync
+public class SchedulingConfig {
+}
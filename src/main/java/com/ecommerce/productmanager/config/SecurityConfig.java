@@ -2,6 +2,7 @@ package com.ecommerce.productmanager.config;
 
 import com.ecommerce.productmanager.security.JwtAuthenticationEntryPoint;
 import com.ecommerce.productmanager.security.JwtAuthenticationFilter;
+import jakarta.servlet.DispatcherType;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -52,6 +53,9 @@ public class SecurityConfig {
                 .authorizeHttpRequests((requests) -> requests
                         .requestMatchers("/products").authenticated() // Require authentication for /products
                         .requestMatchers("/auth/login").permitAll() // Allow all access to /auth/login
+                        // The dispatch that completes a streamed response was authorized with its request; it carries no token
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+                        .requestMatchers("/api/admin/**").hasRole("admin") // Restrict administrative endpoints to admins
                         .requestMatchers("/actuator/**").permitAll() // Permit all access to Actuator endpoints (or customize as needed)
                         .anyRequest().permitAll()) // Allow all access to other requests
                 // Configure exception handling to use JwtAuthenticationEntryPoint for unauthorized requests
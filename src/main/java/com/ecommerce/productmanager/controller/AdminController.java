@@ -0,0 +1,220 @@
+package com.ecommerce.productmanager.controller;
+
+import com.ecommerce.productmanager.exceptions.ExportLimitExceededException;
+import com.ecommerce.productmanager.exceptions.InvalidImportException;
+import com.ecommerce.productmanager.exceptions.InvalidOrderQueryException;
+import com.ecommerce.productmanager.model.ImportFormat;
+import com.ecommerce.productmanager.model.ProductImportReport;
+import com.ecommerce.productmanager.service.ExportService;
+import com.ecommerce.productmanager.service.ProductImportService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Locale;
+import java.util.concurrent.Semaphore;
+import java.util.zip.GZIPOutputStream;
+
+@RestController
+@RequestMapping("/api/admin")
+public class AdminController {
+
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+
+    private final ProductImportService productImportService;
+    private final ExportService exportService;
+    private final Duration exportTimeout;
+    private final int maxConcurrentExports;
+    // One permit per running export, each of which holds a database connection
+    private final Semaphore exportPermits;
+
+    public AdminController(ProductImportService productImportService, ExportService exportService,
+                           @Value("${export.request-timeout:0}") Duration exportTimeout,
+                           @Value("${export.max-concurrent:2}") int maxConcurrentExports) {
+        this.productImportService = productImportService;
+        this.exportService = exportService;
+        this.exportTimeout = exportTimeout;
+        this.maxConcurrentExports = maxConcurrentExports;
+        this.exportPermits = new Semaphore(maxConcurrentExports);
+    }
+
+    /**
+     * POST /api/admin/products/import
+     * Imports products from the request body, which is read as a stream and never held in memory as a whole.
+     * Rows with an id update the product with that ID or create it; rows without one create a new product.
+     * Invalid rows are skipped and listed in the report.
+     *
+     * @param format  Optional format of the body (csv or ndjson); defaults to the format named by the Content-Type header.
+     * @param request The HTTP request whose body holds the products.
+     * @return ResponseEntity containing the ProductImportReport and HTTP status OK.
+     * @throws IOException if the request body cannot be read
+     */
+    @PostMapping("/products/import")
+    public ResponseEntity<ProductImportReport> importProducts(
+            @RequestParam(name = "format", required = false) String format,
+            HttpServletRequest request
+    ) throws IOException {
+        ImportFormat importFormat = resolveFormat(format, request.getHeader(HttpHeaders.CONTENT_TYPE));
+        ProductImportReport report = productImportService.importProducts(request.getInputStream(), importFormat);
+        return new ResponseEntity<>(report, HttpStatus.OK);
+    }
+
+    /**
+     * GET /api/admin/products/export
+     * Streams every product in ID order, with the fields accepted by the import.
+     * The response is gzip-compressed when the Accept-Encoding header accepts gzip.
+     *
+     * @param format         The format to write: csv or ndjson (default: csv).
+     * @param acceptEncoding The Accept-Encoding header of the request.
+     * @param request        The HTTP request, whose asynchronous processing gets the export timeout.
+     * @return ResponseEntity containing the streamed export and HTTP status OK.
+     * @throws ExportLimitExceededException if the maximum number of exports is already running
+     */
+    @GetMapping("/products/export")
+    public ResponseEntity<StreamingResponseBody> exportProducts(
+            @RequestParam(name = "format", defaultValue = "csv") String format,
+            @RequestHeader(name = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            HttpServletRequest request
+    ) {
+        ImportFormat exportFormat = parseFormat(format);
+        return export(request, "products", exportFormat, acceptEncoding,
+                output -> exportService.exportProducts(output, exportFormat));
+    }
+
+    /**
+     * GET /api/admin/orders/export
+     * Streams the orders placed within an optional date range, oldest first, one row per order item.
+     * The response is gzip-compressed when the Accept-Encoding header accepts gzip.
+     *
+     * @param from           Optional earliest order date in ISO format, inclusive.
+     * @param to             Optional latest order date in ISO format, inclusive.
+     * @param format         The format to write: csv or ndjson (default: csv).
+     * @param acceptEncoding The Accept-Encoding header of the request.
+     * @param request        The HTTP request, whose asynchronous processing gets the export timeout.
+     * @return ResponseEntity containing the streamed export and HTTP status OK.
+     * @throws ExportLimitExceededException if the maximum number of exports is already running
+     */
+    @GetMapping("/orders/export")
+    public ResponseEntity<StreamingResponseBody> exportOrders(
+            @RequestParam(name = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(name = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(name = "format", defaultValue = "csv") String format,
+            @RequestHeader(name = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            HttpServletRequest request
+    ) {
+        // Checked here, because the status cannot change once the export has started
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new InvalidOrderQueryException("The date range starts at " + from + ", after its end " + to);
+        }
+        ImportFormat exportFormat = parseFormat(format);
+        return export(request, "orders", exportFormat, acceptEncoding,
+                output -> exportService.exportOrders(output, exportFormat, from, to));
+    }
+
+    private ResponseEntity<StreamingResponseBody> export(HttpServletRequest request, String name, ImportFormat format,
+                                                         String acceptEncoding, StreamingResponseBody export) {
+        // Checked before the response starts, because the status cannot change afterwards
+        if (!exportPermits.tryAcquire()) {
+            throw new ExportLimitExceededException("Already running " + maxConcurrentExports + " exports, retry later");
+        }
+        try {
+            AsyncWebRequest asyncWebRequest = WebAsyncUtils.getAsyncManager(request).getAsyncWebRequest();
+            // Replaces streaming.request-timeout, which would cut a large export short; 0 means no limit
+            asyncWebRequest.setTimeout(exportTimeout.toMillis());
+            // Runs once the response has completed, timed out or failed
+            asyncWebRequest.addCompletionHandler(exportPermits::release);
+        } catch (RuntimeException ex) {
+            exportPermits.release();
+            throw ex;
+        }
+        boolean gzip = acceptsGzip(acceptEncoding);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getMediaType() + ";charset=UTF-8"))
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(name + format.getExtension()).build().toString());
+        if (!gzip) {
+            return response.body(export);
+        }
+        return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(output -> {
+            // Closing finishes the gzip stream and frees its deflater, also when the export fails
+            try (OutputStream compressed = new GZIPOutputStream(output, GZIP_BUFFER_SIZE)) {
+                export.writeTo(compressed);
+            }
+        });
+    }
+
+    /**
+     * Whether an Accept-Encoding header accepts gzip: it lists gzip, or else *, with a q-value above 0.
+     * Codings are matched case-insensitively, a missing q-value counts as 1 and an invalid one as 0.
+     */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Double gzipQuality = null;
+        Double anyQuality = null;
+        for (String element : acceptEncoding.split(",")) {
+            String[] parts = element.split(";");
+            String coding = parts[0].trim().toLowerCase(Locale.ROOT);
+            double quality = 1;
+            for (int i = 1; i < parts.length; i++) {
+                String parameter = parts[i].trim();
+                if (parameter.length() > 1 && Character.toLowerCase(parameter.charAt(0)) == 'q'
+                        && parameter.substring(1).trim().startsWith("=")) {
+                    quality = parseQuality(parameter.substring(parameter.indexOf('=') + 1).trim());
+                }
+            }
+            if (coding.equals("gzip")) {
+                gzipQuality = Math.max(quality, gzipQuality == null ? 0 : gzipQuality);
+            } else if (coding.equals("*")) {
+                anyQuality = Math.max(quality, anyQuality == null ? 0 : anyQuality);
+            }
+        }
+        if (gzipQuality != null) {
+            return gzipQuality > 0;
+        }
+        return anyQuality != null && anyQuality > 0;
+    }
+
+    private static double parseQuality(String value) {
+        // A q-value is 0 to 1 with at most three decimals, such as 0.5 or 1.000
+        if (!value.matches("0(\\.\\d{0,3})?|1(\\.0{0,3})?")) {
+            return 0;
+        }
+        return Double.parseDouble(value);
+    }
+
+    private static ImportFormat parseFormat(String format) {
+        try {
+            return ImportFormat.valueOf(format.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            throw new InvalidImportException("Unsupported format " + format + "; use csv or ndjson");
+        }
+    }
+
+    private static ImportFormat resolveFormat(String format, String contentType) {
+        if (format != null) {
+            return parseFormat(format);
+        }
+        ImportFormat importFormat = ImportFormat.fromContentType(contentType);
+        if (importFormat == null) {
+            throw new InvalidImportException("Unsupported content type " + contentType
+                    + "; send text/csv or application/x-ndjson, or pass the format parameter");
+        }
+        return importFormat;
+    }
+}
@@ -5,9 +5,12 @@ import com.ecommerce.productmanager.entity.BasketItem;
 import com.ecommerce.productmanager.model.BasketItemResponse;
 import com.ecommerce.productmanager.model.BasketResponse;
 import com.ecommerce.productmanager.service.BasketService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -17,20 +20,24 @@ import java.util.stream.Collectors;
 public class BasketController {
 
     private final BasketService basketService;
+    private final ObjectMapper objectMapper;
 
-    public BasketController(BasketService basketService) {
+    public BasketController(BasketService basketService, ObjectMapper objectMapper) {
         this.basketService = basketService;
+        this.objectMapper = objectMapper;
     }
 
     /**
      * GET /api/baskets
-     * Retrieves all baskets.
+     * Retrieves all baskets, streamed as a chunked JSON array so that memory use
+     * does not grow with the number of baskets.
      *
-     * @return A list of BasketResponse objects representing all baskets.
+     * @return ResponseEntity whose body writes a JSON array of BasketResponse objects.
      */
     @GetMapping
-    public List<BasketResponse> getAllBaskets() {
-        return basketService.getAllBaskets();
+    public ResponseEntity<StreamingResponseBody> getAllBaskets() {
+        StreamingResponseBody body = StreamingResponses.<BasketResponse>jsonArray(objectMapper, basketService::streamAllBaskets);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
     }
 
     /**
@@ -72,6 +79,48 @@ public class BasketController {
         return new ResponseEntity<>(createdBasket, HttpStatus.CREATED);
     }
 
+    /**
+     * POST /api/baskets/{basketId}/items
+     * Adds a single item to a basket, creating the basket if needed. If the basket already
+     * contains the item, its quantity is increased by the given quantity.
+     *
+     * @param basketId The ID of the basket.
+     * @param itemResponse The item to add.
+     * @return The BasketResponse object representing the updated basket.
+     */
+    @PostMapping("/{basketId}/items")
+    public BasketResponse addItem(@PathVariable String basketId, @RequestBody BasketItemResponse itemResponse) {
+        return basketService.addItem(basketId, convertToBasketItemEntity(itemResponse));
+    }
+
+    /**
+     * PATCH /api/baskets/{basketId}/items/{itemId}?quantity={quantity}
+     * Sets the quantity of a single item in a basket. A quantity of zero or less removes the item.
+     *
+     * @param basketId The ID of the basket.
+     * @param itemId The ID of the item.
+     * @param quantity The new quantity.
+     * @return The BasketResponse object representing the updated basket.
+     */
+    @PatchMapping("/{basketId}/items/{itemId}")
+    public BasketResponse updateItemQuantity(@PathVariable String basketId, @PathVariable Integer itemId,
+                                             @RequestParam int quantity) {
+        return basketService.updateItemQuantity(basketId, itemId, quantity);
+    }
+
+    /**
+     * DELETE /api/baskets/{basketId}/items/{itemId}
+     * Removes a single item from a basket.
+     *
+     * @param basketId The ID of the basket.
+     * @param itemId The ID of the item.
+     * @return The BasketResponse object representing the updated basket.
+     */
+    @DeleteMapping("/{basketId}/items/{itemId}")
+    public BasketResponse removeItem(@PathVariable String basketId, @PathVariable Integer itemId) {
+        return basketService.removeItem(basketId, itemId);
+    }
+
     /**
      * Converts a BasketResponse object to a Basket entity.
      *
@@ -1,24 +1,34 @@
 package com.ecommerce.productmanager.controller;
 
+import com.ecommerce.productmanager.entity.OrderAggregate.OrderStatus;
 import com.ecommerce.productmanager.model.OrderDto;
 import com.ecommerce.productmanager.model.OrderResponse;
+import com.ecommerce.productmanager.model.OrderSummary;
 import com.ecommerce.productmanager.service.OrderService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.List;
+import java.time.LocalDateTime;
 
 @RestController
 @RequestMapping("/api/orders")
 public class OrdersController {
+    private static final int MAX_IDEMPOTENCY_KEY_LENGTH = 100;
+
     private final OrderService orderService;
+    private final ObjectMapper objectMapper;
 
-    public OrdersController(OrderService orderService) {
+    public OrdersController(OrderService orderService, ObjectMapper objectMapper) {
         this.orderService = orderService;
+        this.objectMapper = objectMapper;
     }
 
     @GetMapping("/{orderId}")
@@ -30,21 +40,58 @@ public class OrdersController {
             return ResponseEntity.notFound().build();
         }
     }
+    // Streams every order as a chunked JSON array without loading the order history into memory
     @GetMapping
-    public ResponseEntity<List<OrderResponse>> getAllOrders(){
-        List<OrderResponse> orders = orderService.getAllOrders();
-        return ResponseEntity.ok(orders);
+    public ResponseEntity<StreamingResponseBody> getAllOrders(){
+        StreamingResponseBody body = StreamingResponses.<OrderResponse>jsonArray(objectMapper, orderService::streamAllOrders);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
     }
 
+    // Page size is capped by spring.data.web.pageable.max-page-size
     @GetMapping("/paged")
     public ResponseEntity<Page<OrderResponse>> getAllOrdersPaged(Pageable pageable){
         Page<OrderResponse> orders = orderService.getAllOrders(pageable);
         return ResponseEntity.ok(orders);
     }
 
+    // Order history queries return summaries without order items, newest first; the page size is capped like /paged
+    @GetMapping("/basket/{basketId}")
+    public ResponseEntity<Page<OrderSummary>> getOrdersByBasketId(@PathVariable String basketId, Pageable pageable){
+        return ResponseEntity.ok(orderService.getOrdersByBasketId(basketId, pageable));
+    }
+
+    @GetMapping("/status/{orderStatus}")
+    public ResponseEntity<Page<OrderSummary>> getOrdersByStatus(@PathVariable OrderStatus orderStatus, Pageable pageable){
+        return ResponseEntity.ok(orderService.getOrdersByStatus(orderStatus, pageable));
+    }
+
+    // Dates in ISO format, for example 2024-05-01T00:00:00; both ends are inclusive
+    @GetMapping("/date-range")
+    public ResponseEntity<Page<OrderSummary>> getOrdersByDateRange(
+            @RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            Pageable pageable){
+        return ResponseEntity.ok(orderService.getOrdersByDateRange(from, to, pageable));
+    }
+
+    @GetMapping("/product")
+    public ResponseEntity<Page<OrderSummary>> getOrdersByProductName(@RequestParam("name") String productName, Pageable pageable){
+        return ResponseEntity.ok(orderService.getOrdersByProductName(productName, pageable));
+    }
+
+    @GetMapping("/city/{city}")
+    public ResponseEntity<Page<OrderSummary>> getOrdersByCity(@PathVariable String city, Pageable pageable){
+        return ResponseEntity.ok(orderService.getOrdersByCity(city, pageable));
+    }
+
+    // Retries carrying the same Idempotency-Key header return the original order ID instead of placing a new order
     @PostMapping
-    public ResponseEntity<Integer> createOrder(@Valid @RequestBody OrderDto orderDto){
-        Integer orderId = orderService.createOrder(orderDto);
+    public ResponseEntity<Integer> createOrder(@Valid @RequestBody OrderDto orderDto,
+                                               @RequestHeader(name = "Idempotency-Key", required = false) String idempotencyKey){
+        if(idempotencyKey!=null && (idempotencyKey.isBlank() || idempotencyKey.length()>MAX_IDEMPOTENCY_KEY_LENGTH)){
+            return ResponseEntity.badRequest().build();
+        }
+        Integer orderId = orderService.createOrder(orderDto, idempotencyKey);
         if(orderId!=null){
             return ResponseEntity.status(HttpStatus.CREATED).body(orderId);
         }else{
@@ -1,8 +1,13 @@
 package com.ecommerce.productmanager.controller;
 
-import com.ecommerce.productmanager.model.BrandResponse;
+import com.ecommerce.productmanager.exceptions.InvalidPriceRangeException;
+import com.ecommerce.productmanager.exceptions.InvalidSortException;
+import com.ecommerce.productmanager.model.FacetedProductPage;
 import com.ecommerce.productmanager.model.ProductResponse;
-import com.ecommerce.productmanager.model.TypeResponse;
+import com.ecommerce.productmanager.model.ProductSliceResponse;
+import com.ecommerce.productmanager.model.ProductSortKey;
+import com.ecommerce.productmanager.model.ProductSuggestion;
+import com.ecommerce.productmanager.model.ReferenceDataSnapshot;
 import com.ecommerce.productmanager.service.BrandService;
 import com.ecommerce.productmanager.service.ProductService;
 import com.ecommerce.productmanager.service.TypeService;
@@ -10,15 +15,24 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/products")
 public class ProductController {
+    private static final String RELEVANCE_SORT = "relevance";
+    private static final int MAX_SCROLL_SIZE = 100;
+    private static final int MAX_FACETED_PAGE_SIZE = 100;
+    private static final int MAX_SUGGESTIONS = 20;
+
     private final ProductService productService;
     private final BrandService brandService;
     private final TypeService typeService;
@@ -44,14 +58,16 @@ public class ProductController {
 
     /**
      * GET /api/products
-     * Retrieves a paginated list of products with optional filtering by brand, type, and keyword.
+     * Retrieves a paginated list of products with optional filtering by brand, type, keyword and price range.
      *
      * @param page     The page number (default: 0).
      * @param size     The size of each page (default: 10).
      * @param keyword  Optional keyword to filter product names.
      * @param brandId  Optional ID of the brand to filter products.
      * @param typeId   Optional ID of the type to filter products.
-     * @param sort     The field to sort by (default: name).
+     * @param minPrice Optional lowest price to include.
+     * @param maxPrice Optional highest price to include.
+     * @param sort     The field to sort by: name, price, id or relevance (default: name, or relevance when a keyword is given).
      * @param order    The sort order (asc or desc, default: asc).
      * @return ResponseEntity containing a Page of ProductResponse objects and HTTP status OK.
      */
@@ -62,39 +78,184 @@ public class ProductController {
             @RequestParam(name = "keyword", required = false) String keyword,
             @RequestParam(name = "brandId", required = false) Integer brandId,
             @RequestParam(name = "typeId", required = false) Integer typeId,
-            @RequestParam(name = "sort", defaultValue = "name") String sort,
+            @RequestParam(name = "minPrice", required = false) Long minPrice,
+            @RequestParam(name = "maxPrice", required = false) Long maxPrice,
+            @RequestParam(name = "sort", required = false) String sort,
             @RequestParam(name = "order", defaultValue = "asc") String order
     ) {
+        if (minPrice != null && maxPrice != null && minPrice > maxPrice) {
+            throw new InvalidPriceRangeException("minPrice " + minPrice + " is greater than maxPrice " + maxPrice);
+        }
+        // Keyword searches are ranked by relevance unless a sort field is requested
+        if (sort == null) {
+            sort = (keyword != null && !keyword.isEmpty()) ? RELEVANCE_SORT : "name";
+        }
         // Convert order to Sort direction
         Sort.Direction direction = order.equalsIgnoreCase("desc") ? Sort.Direction.DESC : Sort.Direction.ASC;
-        Sort sorting = Sort.by(direction, sort);
+        Sort sorting;
+        if (RELEVANCE_SORT.equals(sort)) {
+            sorting = Sort.unsorted();
+        } else {
+            // Only indexed attributes may be sorted by; anything else would sort the whole table
+            ProductSortKey sortKey = ProductSortKey.fromProperty(sort);
+            if (sortKey == null) {
+                throw new InvalidSortException("Cannot sort products by " + sort
+                        + ", supported sort fields are " + ProductSortKey.supportedProperties() + " and " + RELEVANCE_SORT);
+            }
+            sorting = sortKey.toSort(direction);
+        }
         Pageable pageable = PageRequest.of(page, size, sorting);
-        Page<ProductResponse> productResponses = productService.getProducts(pageable, brandId, typeId, keyword);
+        Page<ProductResponse> productResponses = productService.getProducts(pageable, brandId, typeId, keyword, minPrice, maxPrice);
 
         return new ResponseEntity<>(productResponses, HttpStatus.OK);
     }
 
+    /**
+     * GET /api/products/scroll
+     * Retrieves a window of products using keyset pagination, for infinite-scroll clients.
+     * The response carries no total count; pass the returned nextCursor to fetch the next window.
+     *
+     * @param cursor   The continuation token returned with the previous window (optional).
+     * @param size     The size of each window (default: 10, at most 100).
+     * @param keyword  Optional keyword to filter products.
+     * @param brandId  Optional ID of the brand to filter products.
+     * @param typeId   Optional ID of the type to filter products.
+     * @param sort     The field to sort by: name, price or id (default: name).
+     * @param order    The sort order (asc or desc, default: asc).
+     * @return ResponseEntity containing a ProductSliceResponse and HTTP status OK.
+     */
+    @GetMapping("/scroll")
+    public ResponseEntity<ProductSliceResponse> scrollProducts(
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "size", defaultValue = "10") int size,
+            @RequestParam(name = "keyword", required = false) String keyword,
+            @RequestParam(name = "brandId", required = false) Integer brandId,
+            @RequestParam(name = "typeId", required = false) Integer typeId,
+            @RequestParam(name = "sort", defaultValue = "name") String sort,
+            @RequestParam(name = "order", defaultValue = "asc") String order
+    ) {
+        ProductSortKey sortKey = ProductSortKey.fromProperty(sort);
+        if (sortKey == null) {
+            throw new InvalidSortException("Cannot scroll products sorted by " + sort);
+        }
+        Sort.Direction direction = order.equalsIgnoreCase("desc") ? Sort.Direction.DESC : Sort.Direction.ASC;
+        int windowSize = Math.max(1, Math.min(size, MAX_SCROLL_SIZE));
+        ProductSliceResponse slice = productService.scrollProducts(cursor, windowSize, brandId, typeId, keyword, sortKey, direction);
+
+        return new ResponseEntity<>(slice, HttpStatus.OK);
+    }
+
+    /**
+     * GET /api/products/faceted
+     * Retrieves a page of products filtered by any number of brands, types and price buckets, together
+     * with the number of matching products for every brand, type and price bucket.
+     * Repeat a parameter to select several values, e.g. brandId=1&brandId=3; values of one facet are
+     * combined with OR, different facets with AND.
+     *
+     * @param page         The page number (default: 0).
+     * @param size         The size of each page (default: 10, at most 100).
+     * @param keyword      Optional keyword to filter products.
+     * @param brandIds     Optional IDs of the brands to filter products.
+     * @param typeIds      Optional IDs of the types to filter products.
+     * @param priceBuckets Optional price buckets to filter products, as listed in the prices of the response.
+     * @param sort         The field to sort by: name, price, id or relevance (default: name, or relevance when a keyword is given).
+     * @param order        The sort order (asc or desc, default: asc).
+     * @return ResponseEntity containing a FacetedProductPage and HTTP status OK.
+     */
+    @GetMapping("/faceted")
+    public ResponseEntity<FacetedProductPage> getFacetedProducts(
+            @RequestParam(name = "page", defaultValue = "0") int page,
+            @RequestParam(name = "size", defaultValue = "10") int size,
+            @RequestParam(name = "keyword", required = false) String keyword,
+            @RequestParam(name = "brandId", required = false) Set<Integer> brandIds,
+            @RequestParam(name = "typeId", required = false) Set<Integer> typeIds,
+            @RequestParam(name = "priceBucket", required = false) Set<Integer> priceBuckets,
+            @RequestParam(name = "sort", required = false) String sort,
+            @RequestParam(name = "order", defaultValue = "asc") String order
+    ) {
+        if (sort == null) {
+            sort = (keyword != null && !keyword.isEmpty()) ? RELEVANCE_SORT : "name";
+        }
+        ProductSortKey sortKey = null;
+        if (!RELEVANCE_SORT.equals(sort)) {
+            sortKey = ProductSortKey.fromProperty(sort);
+            if (sortKey == null) {
+                throw new InvalidSortException("Cannot sort products by " + sort
+                        + ", supported sort fields are " + ProductSortKey.supportedProperties() + " and " + RELEVANCE_SORT);
+            }
+        }
+        Sort.Direction direction = order.equalsIgnoreCase("desc") ? Sort.Direction.DESC : Sort.Direction.ASC;
+        int pageSize = Math.max(1, Math.min(size, MAX_FACETED_PAGE_SIZE));
+        FacetedProductPage facetedPage = productService.getFacetedProducts(Math.max(page, 0), pageSize,
+                brandIds, typeIds, priceBuckets, keyword, sortKey, direction);
+
+        return new ResponseEntity<>(facetedPage, HttpStatus.OK);
+    }
+
+    /**
+     * GET /api/products/suggest
+     * Suggests product, brand and type names for a partly typed search, most popular first.
+     * A name matches when any of its words starts with the text, ignoring case.
+     *
+     * @param q     The text typed so far.
+     * @param limit The maximum number of suggestions (default: 10, at most 20).
+     * @return ResponseEntity containing the list of ProductSuggestion objects and HTTP status OK.
+     */
+    @GetMapping("/suggest")
+    public ResponseEntity<List<ProductSuggestion>> getSuggestions(
+            @RequestParam(name = "q") String q,
+            @RequestParam(name = "limit", defaultValue = "10") int limit
+    ) {
+        int suggestionLimit = Math.max(1, Math.min(limit, MAX_SUGGESTIONS));
+        return new ResponseEntity<>(productService.getSuggestions(q, suggestionLimit), HttpStatus.OK);
+    }
+
     /**
      * GET /api/products/brands
-     * Retrieves all brands.
+     * Retrieves all brands from the in-memory snapshot as pre-serialized JSON.
+     * Responds with 304 Not Modified when the client's If-None-Match matches the snapshot's ETag.
      *
-     * @return ResponseEntity containing a list of BrandResponse objects and HTTP status OK.
+     * @param ifNoneMatch The If-None-Match request header (optional).
+     * @return ResponseEntity containing the JSON list of brands, or an empty body with HTTP status NOT_MODIFIED.
      */
-    @GetMapping("/brands")
-    public ResponseEntity<List<BrandResponse>> getBrands() {
-        List<BrandResponse> brandResponses = brandService.getAllBrands();
-        return new ResponseEntity<>(brandResponses, HttpStatus.OK);
+    @GetMapping(value = "/brands", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<byte[]> getBrands(
+            @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return referenceDataResponse(brandService.getBrandsSnapshot(), ifNoneMatch);
     }
 
     /**
      * GET /api/products/types
-     * Retrieves all product types.
+     * Retrieves all product types from the in-memory snapshot as pre-serialized JSON.
+     * Responds with 304 Not Modified when the client's If-None-Match matches the snapshot's ETag.
+     *
+     * @param ifNoneMatch The If-None-Match request header (optional).
+     * @return ResponseEntity containing the JSON list of types, or an empty body with HTTP status NOT_MODIFIED.
+     */
+    @GetMapping(value = "/types", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<byte[]> getTypes(
+            @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return referenceDataResponse(typeService.getTypesSnapshot(), ifNoneMatch);
+    }
+
+    /**
+     * Builds a conditional response for a reference data snapshot.
      *
-     * @return ResponseEntity containing a list of TypeResponse objects and HTTP status OK.
+     * @param snapshot    The snapshot to serve.
+     * @param ifNoneMatch The If-None-Match request header, may be null.
+     * @return ResponseEntity with the snapshot's JSON and ETag, or HTTP status NOT_MODIFIED.
      */
-    @GetMapping("/types")
-    public ResponseEntity<List<TypeResponse>> getTypes() {
-        List<TypeResponse> typeResponses = typeService.getAllTypes();
-        return new ResponseEntity<>(typeResponses, HttpStatus.OK);
+    private ResponseEntity<byte[]> referenceDataResponse(ReferenceDataSnapshot<?> snapshot, String ifNoneMatch) {
+        if (snapshot.matches(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(snapshot.getEtag())
+                    .cacheControl(CacheControl.noCache())
+                    .build();
+        }
+        return ResponseEntity.ok()
+                .eTag(snapshot.getEtag())
+                .cacheControl(CacheControl.noCache())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(snapshot.getJson());
     }
 }
@@ -0,0 +1,48 @@
+package com.ecommerce.productmanager.controller;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+/**
+ * Helpers for writing large collections to the response as they are read,
+ * instead of building the whole list in memory first.
+ */
+final class StreamingResponses {
+
+    private StreamingResponses() {
+    }
+
+    /**
+     * Creates a response body that writes the elements produced by the source as a JSON array.
+     * Elements are serialized one at a time and the servlet container sends the output in chunks,
+     * so memory use is bounded by the serializer's buffer rather than by the number of elements.
+     *
+     * @param objectMapper the mapper used to serialize each element
+     * @param source invoked with a consumer that writes one element per call
+     * @return the streaming response body
+     */
+    static <T> StreamingResponseBody jsonArray(ObjectMapper objectMapper, Consumer<Consumer<T>> source) {
+        // Let the generator's buffer decide when to write instead of flushing after every element
+        ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        return outputStream -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                generator.writeStartArray();
+                source.accept(element -> {
+                    try {
+                        writer.writeValue(generator, element);
+                    } catch (IOException ex) {
+                        throw new UncheckedIOException(ex);
+                    }
+                });
+                generator.writeEndArray();
+            }
+        };
+    }
+}
@@ -1,5 +1,6 @@
 package com.ecommerce.productmanager.entity;
 
+import com.ecommerce.productmanager.event.ReferenceDataEntityListener;
 import jakarta.persistence.Entity;
 import jakarta.persistence.*;
 import jakarta.persistence.Table;
@@ -16,6 +17,7 @@ import java.util.List;
 @AllArgsConstructor
 @NoArgsConstructor
 @Builder
+@EntityListeners(ReferenceDataEntityListener.class)
 public class Brand {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -10,7 +10,13 @@ import java.time.LocalDateTime; // Importing LocalDateTime for order date
 import java.util.List; // Importing List for order items
 
 @Entity // Specifies that the class is an entity and is mapped to a database table
-@Table(name = "Orders") // Specifies the table name in the database
+@Table(name = "Orders", indexes = { // Specifies the table name and the indexes of the order history queries
+        // Each index ends with Order_Date, so a filtered history is read already sorted newest first
+        @Index(name = "IX_Orders_Status_Date", columnList = "Order_Status, Order_Date"),
+        @Index(name = "IX_Orders_Date", columnList = "Order_Date"),
+        @Index(name = "IX_Orders_Basket_Date", columnList = "Basket_Id, Order_Date"),
+        @Index(name = "IX_Orders_City_Date", columnList = "city, Order_Date")
+})
 @Data // Lombok annotation to generate getters, setters, toString, equals, and hashCode methods
 @AllArgsConstructor // Lombok annotation to generate a constructor with all arguments
 @NoArgsConstructor // Lombok annotation to generate a no-args constructor
@@ -18,13 +24,22 @@ import java.util.List; // Importing List for order items
 public class Order {
 
     @Id // Specifies the primary key of the entity
-    @GeneratedValue(strategy = GenerationType.IDENTITY) // Specifies the generation strategy for the primary key
+    // IDs are handed out in blocks from the Id_Allocation table, so inserts can be batched (IDENTITY disables batching)
+    @TableGenerator(name = "order_id", table = "Id_Allocation", pkColumnName = "Sequence_Name",
+            valueColumnName = "Next_Val", pkColumnValue = "Orders", allocationSize = 50)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "order_id")
     @Column(name = "Id") // Specifies the column name in the table
     private Integer id;
 
     @Column(name = "Basket_Id") // Specifies the column name in the table
     private String basketId;
 
+    @Column(name = "Idempotency_Key", unique = true, length = 100) // Client-supplied key; unique so a retry can never insert a second order
+    private String idempotencyKey;
+
+    @Column(name = "Request_Hash", length = 64) // SHA-256 of the request placed with the idempotency key, so a reused key can be told apart
+    private String requestHash;
+
     @Embedded // Specifies that this is an embedded field
     private ShippingAddress shippingAddress;
 
@@ -7,14 +7,18 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Entity
-@Table(name="OrderItem")
+// Resolves the orders containing a product without scanning every order item
+@Table(name="OrderItem", indexes = @Index(name = "IX_OrderItem_Product_Order", columnList = "productId, order_id"))
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
 @Builder
 public class OrderItem {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Pooled IDs from the Id_Allocation table, so the items of an order are inserted in one JDBC batch
+    @TableGenerator(name = "order_item_id", table = "Id_Allocation", pkColumnName = "Sequence_Name",
+            valueColumnName = "Next_Val", pkColumnValue = "OrderItem", allocationSize = 500)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "order_item_id")
     @Column(name="Id")
     private Integer id;
 
@@ -0,0 +1,45 @@
+package com.ecommerce.productmanager.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A side effect that has to happen after a database change has committed, written in the same
+ * transaction as the change itself and carried out later by the OutboxRelay.
+ */
+@Entity
+@Table(name = "Outbox_Event")
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class OutboxEvent {
+
+    public enum EventType {
+        // Payload is the ID of a basket that has been checked out and can be removed
+        BASKET_CHECKED_OUT
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "Id")
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "Event_Type", nullable = false)
+    private EventType eventType;
+
+    @Column(name = "Payload", nullable = false)
+    private String payload;
+
+    @Column(name = "Created_At", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "Attempts", nullable = false)
+    private int attempts;
+}
@@ -1,5 +1,6 @@
 package com.ecommerce.productmanager.entity;
 
+import com.ecommerce.productmanager.event.ReferenceDataEntityListener;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -14,6 +15,7 @@ import java.util.List;
 @AllArgsConstructor
 @NoArgsConstructor
 @Builder
+@EntityListeners(ReferenceDataEntityListener.class)
 public class Type {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
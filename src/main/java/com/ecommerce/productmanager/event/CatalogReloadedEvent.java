@@ -0,0 +1,19 @@
+package com.ecommerce.productmanager.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * CatalogReloadedEvent is published after products were written in bulk without going through JPA,
+ * for example by the product import. No ProductChangedEvent is published for such writes, so
+ * in-memory structures derived from the catalog listen for this event and rebuild themselves.
+ */
+@Getter
+@AllArgsConstructor
+public class CatalogReloadedEvent {
+
+    /**
+     * The number of products that were inserted or updated.
+     */
+    private final long productsWritten;
+}
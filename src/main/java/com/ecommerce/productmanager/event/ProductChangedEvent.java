@@ -0,0 +1,32 @@
+package com.ecommerce.productmanager.event;
+
+import com.ecommerce.productmanager.entity.Product;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * ProductChangedEvent is published whenever a Product entity is persisted, updated or removed.
+ * In-memory structures derived from the catalog listen for it to stay in sync with the database.
+ */
+@Getter
+@AllArgsConstructor
+public class ProductChangedEvent {
+
+    /**
+     * The kind of change that was applied to the product.
+     */
+    public enum ChangeType {
+        SAVED,
+        DELETED
+    }
+
+    /**
+     * The product that changed. For deletions only the identifier is guaranteed to be usable.
+     */
+    private final Product product;
+
+    /**
+     * The kind of change that was applied.
+     */
+    private final ChangeType changeType;
+}
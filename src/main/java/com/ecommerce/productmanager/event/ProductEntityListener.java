@@ -0,0 +1,33 @@
+package com.ecommerce.productmanager.event;
+
+import com.ecommerce.productmanager.entity.Product;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA entity listener that turns Product lifecycle callbacks into {@link ProductChangedEvent}s.
+ * Hibernate resolves it through Spring's bean container, so it can use constructor injection.
+ */
+@Component
+public class ProductEntityListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    public ProductEntityListener(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void onSaved(Product product) {
+        eventPublisher.publishEvent(new ProductChangedEvent(product, ProductChangedEvent.ChangeType.SAVED));
+    }
+
+    @PostRemove
+    public void onRemoved(Product product) {
+        eventPublisher.publishEvent(new ProductChangedEvent(product, ProductChangedEvent.ChangeType.DELETED));
+    }
+}
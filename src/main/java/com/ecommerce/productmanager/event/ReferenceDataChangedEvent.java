@@ -0,0 +1,18 @@
+package com.ecommerce.productmanager.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * ReferenceDataChangedEvent is published whenever a Brand or Type entity is persisted, updated or removed,
+ * so that the in-memory reference data snapshots can be rebuilt.
+ */
+@Getter
+@AllArgsConstructor
+public class ReferenceDataChangedEvent {
+
+    /**
+     * The Brand or Type entity that changed.
+     */
+    private final Object entity;
+}
@@ -0,0 +1,27 @@
+package com.ecommerce.productmanager.event;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA entity listener that turns Brand and Type lifecycle callbacks into {@link ReferenceDataChangedEvent}s.
+ */
+@Component
+public class ReferenceDataEntityListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    public ReferenceDataEntityListener(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChanged(Object entity) {
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(entity));
+    }
+}
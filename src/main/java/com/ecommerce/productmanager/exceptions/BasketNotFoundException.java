@@ -0,0 +1,17 @@
+package com.ecommerce.productmanager.exceptions;
+
+/**
+ * BasketNotFoundException is thrown when a basket, or an item within a basket, that a request
+ * refers to does not exist. It extends the RuntimeException class.
+ */
+public class BasketNotFoundException extends RuntimeException {
+
+    /**
+     * Constructs a new BasketNotFoundException with the specified detail message.
+     *
+     * @param message the detail message, which provides more information about the reason for the exception
+     */
+    public BasketNotFoundException(String message) {
+        super(message);
+    }
+}
@@ -34,4 +34,191 @@ public class CustomExceptionHandler extends ResponseEntityExceptionHandler {
         // Return the custom error response with HTTP status 404
         return new ResponseEntity<>(customErrorResponse, HttpStatus.NOT_FOUND);
     }
+
+    /**
+     * Handles BasketNotFoundException and returns a custom error response with HTTP status 404.
+     *
+     * @param ex the exception that was thrown
+     * @param request the current request
+     * @return a ResponseEntity containing the CustomErrorResponse and HTTP status 404
+     */
+    @ExceptionHandler(BasketNotFoundException.class)
+    public ResponseEntity<Object> handleBasketNotFoundException(BasketNotFoundException ex, WebRequest request) {
+        CustomErrorResponse customErrorResponse = new CustomErrorResponse(
+                HttpStatus.NOT_FOUND,
+                "Basket doesn't exist",
+                ex.getMessage()
+        );
+        return new ResponseEntity<>(customErrorResponse, HttpStatus.NOT_FOUND);
+    }
+
+    /**
+     * Handles InvalidBasketItemException and returns a custom error response with HTTP status 400.
+     *
+     * @param ex the exception that was thrown
+     * @param request the current request
+     * @return a ResponseEntity containing the CustomErrorResponse and HTTP status 400
+     */
+    @ExceptionHandler(InvalidBasketItemException.class)
+    public ResponseEntity<Object> handleInvalidBasketItemException(InvalidBasketItemException ex, WebRequest request) {
+        CustomErrorResponse customErrorResponse = new CustomErrorResponse(
+                HttpStatus.BAD_REQUEST,
+                "Invalid basket item",
+                ex.getMessage()
+        );
+        return new ResponseEntity<>(customErrorResponse, HttpStatus.BAD_REQUEST);
+    }
+
+    /**
+     * Handles OrderInProgressException and returns a custom error response with HTTP status 409.
+     *
+     * @param ex the exception that was thrown
+     * @param request the current request
+     * @return a ResponseEntity containing the CustomErrorResponse and HTTP status 409
+     */
+    @ExceptionHandler(OrderInProgressException.class)
+    public ResponseEntity<Object> handleOrderInProgressException(OrderInProgressException ex, WebRequest request) {
+        CustomErrorResponse customErrorResponse = new CustomErrorResponse(
+                HttpStatus.CONFLICT,
+                "Order is already being placed",
+                ex.getMessage()
+        );
+        return new ResponseEntity<>(customErrorResponse, HttpStatus.CONFLICT);
+    }
+
+    /**
+     * Handles IdempotencyKeyMismatchException and returns a custom error response with HTTP status 422.
+     *
+     * @param ex the exception that was thrown
+     * @param request the current request
+     * @return a ResponseEntity containing the CustomErrorResponse and HTTP status 422
+     */
+    @ExceptionHandler(IdempotencyKeyMismatchException.class)
+    public ResponseEntity<Object> handleIdempotencyKeyMismatchException(IdempotencyKeyMismatchException ex, WebRequest request) {
+        CustomErrorResponse customErrorResponse = new CustomErrorResponse(
+                HttpStatus.UNPROCESSABLE_ENTITY,
+                "Idempotency key reused with a different request",
+                ex.getMessage()
+        );
+        return new ResponseEntity<>(customErrorResponse, HttpStatus.UNPROCESSABLE_ENTITY);
+    }
+
+    /**
+     * Handles InvalidCursorException and returns a custom error response with HTTP status 400.
+     *
+     * @param ex the exception that was thrown
+     * @param request the current request
+     * @return a ResponseEntity containing the CustomErrorResponse and HTTP status 400
+     */
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<Object> handleInvalidCursorException(InvalidCursorException ex, WebRequest request) {
+        CustomErrorResponse customErrorResponse = new CustomErrorResponse(
+                HttpStatus.BAD_REQUEST,
+                "Invalid cursor",
+                ex.getMessage()
+        );
+        return new ResponseEntity<>(customErrorResponse, HttpStatus.BAD_REQUEST);
+    }
+
+    /**
+     * Handles InvalidSortException and returns a custom error response with HTTP status 400.
+     *
+     * @param ex the exception that was thrown
+     * @param request the current request
+     * @return a ResponseEntity containing the CustomErrorResponse and HTTP status 400
+     */
+    @ExceptionHandler(InvalidSortException.class)
+    public ResponseEntity<Object> handleInvalidSortException(InvalidSortException ex, WebRequest request) {
+        CustomErrorResponse customErrorResponse = new CustomErrorResponse(
+                HttpStatus.BAD_REQUEST,
+                "Unsupported sort field",
+                ex.getMessage()
+        );
+        return new ResponseEntity<>(customErrorResponse, HttpStatus.BAD_REQUEST);
+    }
+
+    /**
+     * Handles InvalidOrderQueryException and returns a custom error response with HTTP status 400.
+     *
+     * @param ex the exception that was thrown
+     * @param request the current request
+     * @return a ResponseEntity containing the CustomErrorResponse and HTTP status 400
+     */
+    @ExceptionHandler(InvalidOrderQueryException.class)
+    public ResponseEntity<Object> handleInvalidOrderQueryException(InvalidOrderQueryException ex, WebRequest request) {
+        CustomErrorResponse customErrorResponse = new CustomErrorResponse(
+                HttpStatus.BAD_REQUEST,
+                "Invalid order query",
+                ex.getMessage()
+        );
+        return new ResponseEntity<>(customErrorResponse, HttpStatus.BAD_REQUEST);
+    }
+
+    /**
+     * Handles InvalidPriceRangeException and returns a custom error response with HTTP status 400.
+     *
+     * @param ex the exception that was thrown
+     * @param request the current request
+     * @return a ResponseEntity containing the CustomErrorResponse and HTTP status 400
+     */
+    @ExceptionHandler(InvalidPriceRangeException.class)
+    public ResponseEntity<Object> handleInvalidPriceRangeException(InvalidPriceRangeException ex, WebRequest request) {
+        CustomErrorResponse customErrorResponse = new CustomErrorResponse(
+                HttpStatus.BAD_REQUEST,
+                "Invalid price range",
+                ex.getMessage()
+        );
+        return new ResponseEntity<>(customErrorResponse, HttpStatus.BAD_REQUEST);
+    }
+
+    /**
+     * Handles IndexNotReadyException and returns a custom error response with HTTP status 503.
+     *
+     * @param ex the exception that was thrown
+     * @param request the current request
+     * @return a ResponseEntity containing the CustomErrorResponse and HTTP status 503
+     */
+    @ExceptionHandler(IndexNotReadyException.class)
+    public ResponseEntity<Object> handleIndexNotReadyException(IndexNotReadyException ex, WebRequest request) {
+        CustomErrorResponse customErrorResponse = new CustomErrorResponse(
+                HttpStatus.SERVICE_UNAVAILABLE,
+                "Catalog index is loading",
+                ex.getMessage()
+        );
+        return new ResponseEntity<>(customErrorResponse, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    /**
+     * Handles InvalidImportException and returns a custom error response with HTTP status 400.
+     *
+     * @param ex the exception that was thrown
+     * @param request the current request
+     * @return a ResponseEntity containing the CustomErrorResponse and HTTP status 400
+     */
+    @ExceptionHandler(InvalidImportException.class)
+    public ResponseEntity<Object> handleInvalidImportException(InvalidImportException ex, WebRequest request) {
+        CustomErrorResponse customErrorResponse = new CustomErrorResponse(
+                HttpStatus.BAD_REQUEST,
+                "Invalid import",
+                ex.getMessage()
+        );
+        return new ResponseEntity<>(customErrorResponse, HttpStatus.BAD_REQUEST);
+    }
+
+    /**
+     * Handles ExportLimitExceededException and returns a custom error response with HTTP status 503.
+     *
+     * @param ex the exception that was thrown
+     * @param request the current request
+     * @return a ResponseEntity containing the CustomErrorResponse and HTTP status 503
+     */
+    @ExceptionHandler(ExportLimitExceededException.class)
+    public ResponseEntity<Object> handleExportLimitExceededException(ExportLimitExceededException ex, WebRequest request) {
+        CustomErrorResponse customErrorResponse = new CustomErrorResponse(
+                HttpStatus.SERVICE_UNAVAILABLE,
+                "Too many exports running",
+                ex.getMessage()
+        );
+        return new ResponseEntity<>(customErrorResponse, HttpStatus.SERVICE_UNAVAILABLE);
+    }
 }
@@ -0,0 +1,17 @@
+package com.ecommerce.productmanager.exceptions;
+
+/**
+ * ExportLimitExceededException is thrown when an export is requested while the maximum number
+ * of exports is already running. It extends the RuntimeException class.
+ */
+public class ExportLimitExceededException extends RuntimeException {
+
+    /**
+     * Constructs a new ExportLimitExceededException with the specified detail message.
+     *
+     * @param message the detail message, which provides more information about the reason for the exception
+     */
+    public ExportLimitExceededException(String message) {
+        super(message);
+    }
+}
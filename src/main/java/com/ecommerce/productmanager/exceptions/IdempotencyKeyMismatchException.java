@@ -0,0 +1,17 @@
+package com.ecommerce.productmanager.exceptions;
+
+/**
+ * IdempotencyKeyMismatchException is thrown when an idempotency key that already placed an order
+ * is sent again with a different request body. It extends the RuntimeException class.
+ */
+public class IdempotencyKeyMismatchException extends RuntimeException {
+
+    /**
+     * Constructs a new IdempotencyKeyMismatchException with the specified detail message.
+     *
+     * @param message the detail message, which provides more information about the reason for the exception
+     */
+    public IdempotencyKeyMismatchException(String message) {
+        super(message);
+    }
+}
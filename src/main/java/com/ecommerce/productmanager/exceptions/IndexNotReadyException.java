@@ -0,0 +1,17 @@
+package com.ecommerce.productmanager.exceptions;
+
+/**
+ * IndexNotReadyException is thrown when a request needs an in-memory catalog index that is still
+ * being built after startup. The request can be retried shortly. It extends the RuntimeException class.
+ */
+public class IndexNotReadyException extends RuntimeException {
+
+    /**
+     * Constructs a new IndexNotReadyException with the specified detail message.
+     *
+     * @param message the detail message, which provides more information about the reason for the exception
+     */
+    public IndexNotReadyException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,17 @@
+package com.ecommerce.productmanager.exceptions;
+
+/**
+ * InvalidBasketItemException is thrown when an item added to a basket lacks its ID or has a quantity
+ * that is not positive. It extends the RuntimeException class.
+ */
+public class InvalidBasketItemException extends RuntimeException {
+
+    /**
+     * Constructs a new InvalidBasketItemException with the specified detail message.
+     *
+     * @param message the detail message, which provides more information about the reason for the exception
+     */
+    public InvalidBasketItemException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,17 @@
+package com.ecommerce.productmanager.exceptions;
+
+/**
+ * InvalidCursorException is thrown when a pagination cursor cannot be decoded or does not match
+ * the requested sort order. It extends the RuntimeException class.
+ */
+public class InvalidCursorException extends RuntimeException {
+
+    /**
+     * Constructs a new InvalidCursorException with the specified detail message.
+     *
+     * @param message the detail message, which provides more information about the reason for the exception
+     */
+    public InvalidCursorException(String message) {
+        super(message);
+    }
+}
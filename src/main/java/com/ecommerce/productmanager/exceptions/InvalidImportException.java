@@ -0,0 +1,19 @@
+package com.ecommerce.productmanager.exceptions;
+
+/**
+ * InvalidImportException is thrown when a product import cannot be processed as a whole, for example
+ * because its format is not supported or its CSV header lacks a required column. Problems with single
+ * rows are reported as rejections instead. Exports requested in an unsupported format are refused with it
+ * too, since they share the import formats. It extends the RuntimeException class.
+ */
+public class InvalidImportException extends RuntimeException {
+
+    /**
+     * Constructs a new InvalidImportException with the specified detail message.
+     *
+     * @param message the detail message, which provides more information about the reason for the exception
+     */
+    public InvalidImportException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,17 @@
+package com.ecommerce.productmanager.exceptions;
+
+/**
+ * InvalidOrderQueryException is thrown when an order history query has invalid or too broad criteria,
+ * such as a date range that ends before it starts. It extends the RuntimeException class.
+ */
+public class InvalidOrderQueryException extends RuntimeException {
+
+    /**
+     * Constructs a new InvalidOrderQueryException with the specified detail message.
+     *
+     * @param message the detail message, which provides more information about the reason for the exception
+     */
+    public InvalidOrderQueryException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,17 @@
+package com.ecommerce.productmanager.exceptions;
+
+/**
+ * InvalidPriceRangeException is thrown when a product listing is requested with a price range
+ * whose minimum lies above its maximum. It extends the RuntimeException class.
+ */
+public class InvalidPriceRangeException extends RuntimeException {
+
+    /**
+     * Constructs a new InvalidPriceRangeException with the specified detail message.
+     *
+     * @param message the detail message, which provides more information about the reason for the exception
+     */
+    public InvalidPriceRangeException(String message) {
+        super(message);
+    }
+}
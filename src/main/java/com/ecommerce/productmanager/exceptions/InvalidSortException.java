@@ -0,0 +1,17 @@
+package com.ecommerce.productmanager.exceptions;
+
+/**
+ * InvalidSortException is thrown when a listing is requested with a sort field that is not supported.
+ * It extends the RuntimeException class.
+ */
+public class InvalidSortException extends RuntimeException {
+
+    /**
+     * Constructs a new InvalidSortException with the specified detail message.
+     *
+     * @param message the detail message, which provides more information about the reason for the exception
+     */
+    public InvalidSortException(String message) {
+        super(message);
+    }
+}
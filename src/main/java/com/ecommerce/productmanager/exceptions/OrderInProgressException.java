@@ -0,0 +1,17 @@
+package com.ecommerce.productmanager.exceptions;
+
+/**
+ * OrderInProgressException is thrown when an order is submitted with an idempotency key
+ * whose first submission is still being processed. It extends the RuntimeException class.
+ */
+public class OrderInProgressException extends RuntimeException {
+
+    /**
+     * Constructs a new OrderInProgressException with the specified detail message.
+     *
+     * @param message the detail message, which provides more information about the reason for the exception
+     */
+    public OrderInProgressException(String message) {
+        super(message);
+    }
+}
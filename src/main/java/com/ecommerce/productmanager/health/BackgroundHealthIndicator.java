@@ -0,0 +1,121 @@
+package com.ecommerce.productmanager.health;
+
+import lombok.extern.log4j.Log4j2;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Base class for health indicators whose check runs in the background.
+ * {@link HealthProbeScheduler} calls {@link #refresh()} at a fixed interval; {@link #health()} only
+ * returns the last result, so health requests never wait for a dependency or add load to it.
+ * Each check runs on a thread of its own and is waited for no longer than the probe timeout, so a
+ * dependency that stops answering is reported as DOWN after the timeout rather than after its
+ * client's own, much longer, timeouts. While a timed-out check is still running no new one is started.
+ * A result older than the stale-after limit is reported as DOWN, which covers a probe scheduler that stops.
+ */
+@Log4j2
+public abstract class BackgroundHealthIndicator implements HealthIndicator {
+
+    private volatile Health health;
+    private volatile Instant checkedAt;
+    private volatile Duration staleAfter = Duration.ofMinutes(1);
+    private volatile Duration timeout = Duration.ofSeconds(2);
+    // Set while a check runs, including a check that outlived its timeout
+    private final AtomicBoolean checkRunning = new AtomicBoolean();
+
+    /**
+     * Checks the dependency. Called on a health-probe thread, never on a request thread.
+     *
+     * @param builder a builder to add the status and details to; latency and time of the check are added afterwards
+     * @throws Exception if the dependency cannot be reached, which reports it as DOWN
+     */
+    protected abstract void check(Health.Builder builder) throws Exception;
+
+    /**
+     * Runs the check, waiting for it at most the probe timeout, and caches its result.
+     */
+    public void refresh() {
+        long start = System.nanoTime();
+        Health.Builder builder;
+        if (!checkRunning.compareAndSet(false, true)) {
+            builder = Health.down().withDetail("reason", "The previous check has not finished yet");
+        } else {
+            Health.Builder checkBuilder = new Health.Builder().up();
+            FutureTask<Void> check = new FutureTask<>(() -> {
+                check(checkBuilder);
+                return null;
+            });
+            Thread.ofPlatform().name("health-check-" + getClass().getSimpleName()).daemon().start(() -> {
+                try {
+                    check.run();
+                } finally {
+                    checkRunning.set(false);
+                }
+            });
+            builder = await(check, checkBuilder);
+        }
+        long latencyMillis = Duration.ofNanos(System.nanoTime() - start).toMillis();
+        checkedAt = Instant.now();
+        health = builder.withDetail("latencyMs", latencyMillis).withDetail("checkedAt", checkedAt.toString()).build();
+    }
+
+    private Health.Builder await(FutureTask<Void> check, Health.Builder checkBuilder) {
+        try {
+            check.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+            return checkBuilder;
+        } catch (ExecutionException ex) {
+            log.warn("Health check {} failed: {}", getClass().getSimpleName(), ex.getCause().toString());
+            return Health.down(ex.getCause() instanceof Exception cause ? cause : ex);
+        } catch (TimeoutException ex) {
+            // Interrupts the check; a client that ignores interrupts keeps it running until its own timeout
+            check.cancel(true);
+            log.warn("Health check {} did not finish within {} ms", getClass().getSimpleName(), timeout.toMillis());
+            return Health.down().withDetail("reason", "No result within " + timeout.toMillis() + " ms");
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return Health.unknown().withDetail("reason", "Interrupted while waiting for the check");
+        }
+    }
+
+    /**
+     * Sets how long a check may take before it is reported as DOWN.
+     *
+     * @param timeout the maximum duration of a check
+     */
+    void setTimeout(Duration timeout) {
+        this.timeout = timeout;
+    }
+
+    /**
+     * Sets how old a result may become before it is no longer trusted.
+     *
+     * @param staleAfter the maximum age of a result
+     */
+    void setStaleAfter(Duration staleAfter) {
+        this.staleAfter = staleAfter;
+    }
+
+    @Override
+    public Health health() {
+        Health current = health;
+        Instant lastCheck = checkedAt;
+        if (current == null) {
+            return Health.unknown().withDetail("reason", "Not checked yet").build();
+        }
+        if (lastCheck.plus(staleAfter).isBefore(Instant.now())) {
+            return Health.down()
+                    .withDetail("reason", "No result for " + staleAfter.toSeconds() + "s, the check may be hanging")
+                    .withDetail("lastResult", current)
+                    .build();
+        }
+        return current;
+    }
+}
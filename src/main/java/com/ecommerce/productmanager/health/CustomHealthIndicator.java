@@ -1,24 +0,0 @@
-package com.ecommerce.productmanager.health;
-
-import org.springframework.boot.actuate.health.Health;
-import org.springframework.boot.actuate.health.HealthIndicator;
-import org.springframework.stereotype.Component;
-
-@Component
-public class CustomHealthIndicator implements HealthIndicator {
-
-    @Override
-    public Health health() {
-        // Perform some custom health check logic
-        boolean customHealthCheck = performCustomHealthCheck();
-        if (customHealthCheck) {
-            return Health.up().withDetail("customHealthCheck", "Up and running").build();
-        }
-        return Health.down().withDetail("customHealthCheck", "Not available").build();
-    }
-
-    private boolean performCustomHealthCheck() {
-        // Implement health check logic here
-        return true;
-    }
-}
@@ -0,0 +1,65 @@
+package com.ecommerce.productmanager.health;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+
+/**
+ * Checks that a pooled database connection can be borrowed and is still valid, and reports how
+ * saturated the connection pool is. A pool with every connection in use and threads waiting for one
+ * is reported as OUT_OF_SERVICE without borrowing a connection, so the instance stops receiving
+ * traffic until it catches up. The whole check is bounded by the probe timeout.
+ */
+@Component("databaseHealthIndicator")
+public class DatabaseHealthIndicator extends BackgroundHealthIndicator {
+
+    private final DataSource dataSource;
+    private final int validationTimeoutSeconds;
+
+    public DatabaseHealthIndicator(DataSource dataSource,
+                                   @Value("${health.probes.timeout:2s}") Duration timeout) {
+        this.dataSource = dataSource;
+        this.validationTimeoutSeconds = (int) Math.max(timeout.toSeconds(), 1);
+    }
+
+    @Override
+    protected void check(Health.Builder builder) throws SQLException {
+        HikariPoolMXBean pool = poolOf(dataSource);
+        if (pool != null) {
+            int active = pool.getActiveConnections();
+            int pending = pool.getThreadsAwaitingConnection();
+            int maximum = dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize();
+            builder.withDetail("activeConnections", active)
+                    .withDetail("idleConnections", pool.getIdleConnections())
+                    .withDetail("maxConnections", maximum)
+                    .withDetail("pendingThreads", pending)
+                    .withDetail("poolUsage", (double) active / maximum);
+            if (pending > 0 && active >= maximum) {
+                // Borrowing a connection now would queue behind the waiting threads for up to Hikari's connectionTimeout
+                builder.outOfService().withDetail("reason", "Connection pool exhausted");
+                return;
+            }
+        }
+        try (Connection connection = dataSource.getConnection()) {
+            if (!connection.isValid(validationTimeoutSeconds)) {
+                builder.down().withDetail("reason", "Connection validation failed");
+            }
+            builder.withDetail("database", connection.getMetaData().getDatabaseProductName());
+        }
+    }
+
+    private static HikariPoolMXBean poolOf(DataSource dataSource) throws SQLException {
+        // The DataSource may be wrapped, for example by the JDBC observation proxy
+        if (!dataSource.isWrapperFor(HikariDataSource.class)) {
+            return null;
+        }
+        return dataSource.unwrap(HikariDataSource.class).getHikariPoolMXBean();
+    }
+}
@@ -0,0 +1,59 @@
+package com.ecommerce.productmanager.health;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Refreshes every {@link BackgroundHealthIndicator} at a fixed interval.
+ * Each indicator gets its own thread, so a dependency that hangs delays neither the other checks
+ * nor the application's scheduled tasks.
+ */
+@Component
+@Log4j2
+public class HealthProbeScheduler {
+
+    private final List<BackgroundHealthIndicator> indicators;
+    private final Duration interval;
+    private ScheduledExecutorService executor;
+
+    public HealthProbeScheduler(List<BackgroundHealthIndicator> indicators,
+                                @Value("${health.probes.refresh-interval:15s}") Duration interval,
+                                @Value("${health.probes.timeout:2s}") Duration timeout,
+                                @Value("${health.probes.stale-after:60s}") Duration staleAfter) {
+        this.indicators = indicators;
+        this.interval = interval;
+        indicators.forEach(indicator -> {
+            indicator.setTimeout(timeout);
+            indicator.setStaleAfter(staleAfter);
+        });
+    }
+
+    /**
+     * Runs the first checks right away and then repeats them in the background.
+     */
+    @PostConstruct
+    public void start() {
+        executor = Executors.newScheduledThreadPool(indicators.size(),
+                Thread.ofPlatform().name("health-probe-", 0).daemon().factory());
+        for (BackgroundHealthIndicator indicator : indicators) {
+            executor.scheduleWithFixedDelay(indicator::refresh, 0, interval.toMillis(), TimeUnit.MILLISECONDS);
+        }
+        log.info("Refreshing {} health checks every {}", indicators.size(), interval);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.ecommerce.productmanager.health;
+
+import com.ecommerce.productmanager.security.JwtHelper;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.stereotype.Component;
+
+/**
+ * Checks that the JWT signing key is usable by signing and verifying a throwaway token.
+ * Without it no user can log in or be authenticated.
+ */
+@Component("jwtKeyHealthIndicator")
+public class JwtKeyHealthIndicator extends BackgroundHealthIndicator {
+
+    private final JwtHelper jwtHelper;
+
+    public JwtKeyHealthIndicator(JwtHelper jwtHelper) {
+        this.jwtHelper = jwtHelper;
+    }
+
+    @Override
+    protected void check(Health.Builder builder) {
+        builder.withDetail("algorithm", jwtHelper.verifySigningKey());
+    }
+}
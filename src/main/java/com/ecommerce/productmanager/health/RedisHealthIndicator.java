@@ -0,0 +1,39 @@
+package com.ecommerce.productmanager.health;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Checks that Redis answers a PING.
+ * Lettuce multiplexes all commands over one shared connection instead of a pool, so instead of
+ * pool usage the round-trip time of the PING is the measure of how busy that connection is.
+ * Lettuce waits up to its command timeout for a reply; the probe timeout of
+ * {@link BackgroundHealthIndicator} reports a PING without a timely reply as DOWN well before that.
+ */
+@Component("redisHealthIndicator")
+public class RedisHealthIndicator extends BackgroundHealthIndicator {
+
+    private final RedisConnectionFactory connectionFactory;
+
+    public RedisHealthIndicator(RedisConnectionFactory connectionFactory) {
+        this.connectionFactory = connectionFactory;
+    }
+
+    @Override
+    protected void check(Health.Builder builder) {
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            long start = System.nanoTime();
+            String reply = connection.ping();
+            builder.withDetail("pingMicros", (System.nanoTime() - start) / 1_000);
+            if (!"PONG".equalsIgnoreCase(reply)) {
+                builder.down().withDetail("reason", "Unexpected PING reply " + reply);
+            }
+        }
+        if (connectionFactory instanceof LettuceConnectionFactory lettuce) {
+            builder.withDetail("sharedConnection", lettuce.getShareNativeConnection());
+        }
+    }
+}
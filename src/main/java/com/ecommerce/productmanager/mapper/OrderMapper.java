@@ -25,9 +25,13 @@ public interface OrderMapper {
 
     @Mapping(target = "orderDate", expression = "java(orderDto.getOrderDate())")
     @Mapping(target = "orderStatus", constant = "Pending") // Reference enum constant directly
+    @Mapping(target = "idempotencyKey", ignore = true)
+    @Mapping(target = "requestHash", ignore = true)
     Order orderResponseToOrder(OrderDto orderDto);
 
     List<OrderDto> ordersToOrderResponses(List<Order> orders);
 
+    @Mapping(target = "idempotencyKey", ignore = true)
+    @Mapping(target = "requestHash", ignore = true)
     void updateOrderFromOrderResponse(OrderDto orderDto, @MappingTarget Order order);
 }
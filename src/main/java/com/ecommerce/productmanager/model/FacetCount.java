@@ -0,0 +1,21 @@
+package com.ecommerce.productmanager.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * FacetCount is the number of products that selecting one brand or type would return,
+ * given the selections made on the other facets.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class FacetCount {
+    private Integer id;
+    private String name;
+    private Long count;
+    private boolean selected;
+}
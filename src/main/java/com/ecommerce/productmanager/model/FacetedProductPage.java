@@ -0,0 +1,54 @@
+package com.ecommerce.productmanager.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * FacetedProductPage is one page of a faceted product listing together with the facet counts,
+ * so a client can render the filter sidebar and the results from a single response.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class FacetedProductPage {
+
+    /**
+     * The products on this page.
+     */
+    private List<ProductResponse> content;
+
+    /**
+     * The requested page number, starting at 0.
+     */
+    private Integer page;
+
+    /**
+     * The requested page size.
+     */
+    private Integer size;
+
+    /**
+     * The number of products matching every selection.
+     */
+    private Long totalElements;
+
+    /**
+     * The brands with at least one product under the other selections, plus any selected brand.
+     */
+    private List<FacetCount> brands;
+
+    /**
+     * The types with at least one product under the other selections, plus any selected type.
+     */
+    private List<FacetCount> types;
+
+    /**
+     * Every price bucket, cheapest first.
+     */
+    private List<PriceBucketCount> prices;
+}
@@ -0,0 +1,73 @@
+package com.ecommerce.productmanager.model;
+
+import java.util.Locale;
+
+/**
+ * ImportFormat lists the file formats accepted by the product import and written by the exports.
+ * For products both formats carry the fields id (optional), name, description, price, pictureUrl,
+ * brand and type, where brand and type are names rather than IDs.
+ */
+public enum ImportFormat {
+    /**
+     * Comma-separated values with a header row naming the fields, quoted as in RFC 4180.
+     */
+    CSV("text/csv", ".csv"),
+    /**
+     * Newline-delimited JSON: one JSON object per line.
+     */
+    NDJSON("application/x-ndjson", ".ndjson");
+
+    private final String mediaType;
+    private final String extension;
+
+    ImportFormat(String mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+
+    public String getMediaType() {
+        return mediaType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    /**
+     * Resolves the format from a Content-Type header, ignoring parameters such as the charset.
+     *
+     * @param contentType the Content-Type header, may be null
+     * @return the matching format, or null if the content type is not supported
+     */
+    public static ImportFormat fromContentType(String contentType) {
+        if (contentType == null) {
+            return null;
+        }
+        String mediaType = contentType.split(";", 2)[0].trim().toLowerCase(Locale.ROOT);
+        for (ImportFormat format : values()) {
+            if (format.mediaType.equals(mediaType)) {
+                return format;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Resolves the format from a file name extension; .jsonl is accepted for NDJSON.
+     *
+     * @param fileName the name of the file
+     * @return the matching format, or null if the extension is not supported
+     */
+    public static ImportFormat fromFileName(String fileName) {
+        String name = fileName.toLowerCase(Locale.ROOT);
+        if (name.endsWith(".jsonl")) {
+            return NDJSON;
+        }
+        for (ImportFormat format : values()) {
+            if (name.endsWith(format.extension)) {
+                return format;
+            }
+        }
+        return null;
+    }
+}
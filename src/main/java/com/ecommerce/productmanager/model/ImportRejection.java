@@ -0,0 +1,26 @@
+package com.ecommerce.productmanager.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * ImportRejection describes a row of an import file that was not written, and why.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ImportRejection {
+
+    /**
+     * The 1-based number of the row in the file, not counting a CSV header.
+     */
+    private Long row;
+
+    /**
+     * Why the row was rejected.
+     */
+    private String reason;
+}
@@ -0,0 +1,36 @@
+package com.ecommerce.productmanager.model;
+
+import com.ecommerce.productmanager.entity.OrderAggregate.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * OrderSummary is one row of an order history listing.
+ * It is selected directly by the order history queries, so neither the order items nor the full
+ * shipping address are loaded. The constructor parameter order is used by those queries.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class OrderSummary {
+    private Integer id;
+    private String basketId;
+    private LocalDateTime orderDate;
+    private OrderStatus orderStatus;
+    private Double subTotal;
+    private Long deliveryFee;
+    private String shippingName;
+    private String city;
+
+    /**
+     * The total order cost, or null while the order has no delivery fee or subtotal.
+     */
+    public Double getTotal() {
+        return subTotal != null && deliveryFee != null ? subTotal + deliveryFee : null;
+    }
+}
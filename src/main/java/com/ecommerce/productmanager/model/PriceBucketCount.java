@@ -0,0 +1,23 @@
+package com.ecommerce.productmanager.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * PriceBucketCount is the number of products in one price bucket, given the selections made on
+ * the other facets. A bucket covers prices from min (inclusive) up to max (exclusive); the first
+ * bucket has no min and the last one has no max.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class PriceBucketCount {
+    private Integer bucket;
+    private Long min;
+    private Long max;
+    private Long count;
+    private boolean selected;
+}
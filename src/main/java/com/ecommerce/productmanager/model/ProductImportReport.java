@@ -0,0 +1,59 @@
+package com.ecommerce.productmanager.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * ProductImportReport summarizes a product import: how many rows were read, written and rejected,
+ * and how fast they were processed.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProductImportReport {
+
+    /**
+     * The format of the imported file.
+     */
+    private ImportFormat format;
+
+    /**
+     * The number of data rows read from the file.
+     */
+    private Long rowsRead;
+
+    /**
+     * The number of rows written to the Product table, inserted or updated.
+     */
+    private Long rowsImported;
+
+    /**
+     * The number of rows that were not written.
+     */
+    private Long rowsRejected;
+
+    /**
+     * The number of JDBC batches written.
+     */
+    private Long batches;
+
+    /**
+     * The time from the first row read to the last batch written, in milliseconds.
+     */
+    private Long durationMs;
+
+    /**
+     * Rows read per second over the whole import.
+     */
+    private Double rowsPerSecond;
+
+    /**
+     * The first rejected rows, up to product.import.max-reported-rejections; rowsRejected counts all of them.
+     */
+    private List<ImportRejection> rejections;
+}
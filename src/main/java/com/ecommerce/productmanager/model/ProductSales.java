@@ -0,0 +1,19 @@
+package com.ecommerce.productmanager.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * ProductSales is the number of units of one product sold over all orders.
+ * The constructor parameter order is used by OrderRepository.findProductSales.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProductSales {
+    private Integer productId;
+    private Long unitsSold;
+}
@@ -0,0 +1,39 @@
+package com.ecommerce.productmanager.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * ProductSliceResponse is one window of a keyset-paginated product listing.
+ * Unlike a Page it carries no total count; clients follow nextCursor until hasNext is false.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProductSliceResponse {
+
+    /**
+     * The products in this window.
+     */
+    private List<ProductResponse> content;
+
+    /**
+     * The requested window size.
+     */
+    private Integer size;
+
+    /**
+     * Whether more products follow this window.
+     */
+    private boolean hasNext;
+
+    /**
+     * Opaque continuation token for the next window, or null when this is the last one.
+     */
+    private String nextCursor;
+}
@@ -0,0 +1,84 @@
+package com.ecommerce.productmanager.model;
+
+import com.ecommerce.productmanager.entity.Product;
+import org.springframework.data.domain.Sort;
+
+import java.util.Arrays;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * ProductSortKey is the registry of product attributes that listings can be sorted by, and of the
+ * keys usable for keyset (seek) pagination. Only attributes backed by an index on the Product table
+ * are listed (see the V2 migration); any other sort request is rejected rather than sorted in memory.
+ * Each key knows how to read its value from a Product and how to parse it back from a cursor.
+ * The product ID is always used as the tie-breaker, so every key yields a stable total order.
+ */
+public enum ProductSortKey {
+    NAME("name", Product::getName, value -> value),
+    PRICE("price", Product::getPrice, Long::valueOf),
+    ID("id", Product::getId, Integer::valueOf);
+
+    private final String property;
+    private final Function<Product, Comparable<?>> extractor;
+    private final Function<String, Comparable<?>> parser;
+
+    ProductSortKey(String property, Function<Product, Comparable<?>> extractor, Function<String, Comparable<?>> parser) {
+        this.property = property;
+        this.extractor = extractor;
+        this.parser = parser;
+    }
+
+    /**
+     * Resolves a sort key from its public name.
+     *
+     * @param property the public name of the sort key, e.g. "price"
+     * @return the matching sort key, or null if the property cannot be used as a sort key
+     */
+    public static ProductSortKey fromProperty(String property) {
+        for (ProductSortKey key : values()) {
+            if (key.property.equalsIgnoreCase(property)) {
+                return key;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Lists the public names of all sort keys, for error messages.
+     *
+     * @return the public names, e.g. "name, price, id"
+     */
+    public static String supportedProperties() {
+        return Arrays.stream(values()).map(ProductSortKey::getProperty).collect(Collectors.joining(", "));
+    }
+
+    public String getProperty() {
+        return property;
+    }
+
+    /**
+     * Builds the sort for this key, followed by the product ID as tie-breaker unless the key is the ID itself.
+     *
+     * @param direction the sort direction, applied to the key and to the tie-breaker
+     * @return the sort, which an index on the key column can deliver without sorting
+     */
+    public Sort toSort(Sort.Direction direction) {
+        Sort sort = Sort.by(direction, property);
+        return this == ID ? sort : sort.and(Sort.by(direction, ID.property));
+    }
+
+    /**
+     * Reads the value of this key from a product.
+     */
+    public Comparable<?> valueOf(Product product) {
+        return extractor.apply(product);
+    }
+
+    /**
+     * Parses a value of this key from its string form.
+     */
+    public Comparable<?> parse(String value) {
+        return parser.apply(value);
+    }
+}
@@ -0,0 +1,28 @@
+package com.ecommerce.productmanager.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * ProductSuggestion is one completion offered while a search is typed: the name of a product,
+ * brand or type that has a word starting with the typed text.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProductSuggestion {
+
+    /**
+     * What a suggestion names.
+     */
+    public enum Kind {
+        PRODUCT, BRAND, TYPE
+    }
+
+    private Kind kind;
+    private Integer id;
+    private String text;
+}
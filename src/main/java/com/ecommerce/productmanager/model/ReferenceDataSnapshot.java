@@ -0,0 +1,76 @@
+package com.ecommerce.productmanager.model;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * ReferenceDataSnapshot is an immutable, pre-serialized view of a small reference data set such as
+ * brands or types. It holds the DTOs, their JSON encoding and a strong ETag derived from that encoding,
+ * so the data can be served without touching the database or serializing it per request.
+ * The JSON array must not be modified by callers.
+ *
+ * @param <T> the type of the reference data DTOs
+ */
+@Getter
+@AllArgsConstructor
+public class ReferenceDataSnapshot<T> {
+
+    /**
+     * The reference data as an unmodifiable list of DTOs.
+     */
+    private final List<T> items;
+
+    /**
+     * The JSON encoding of the items.
+     */
+    private final byte[] json;
+
+    /**
+     * A strong ETag computed from the JSON encoding, including the surrounding quotes.
+     */
+    private final String etag;
+
+    /**
+     * Creates a snapshot of the given items, serializing them once and deriving the ETag from the bytes.
+     *
+     * @param items the reference data DTOs
+     * @param objectMapper the mapper used to serialize the items
+     * @return the snapshot
+     */
+    public static <T> ReferenceDataSnapshot<T> of(List<T> items, ObjectMapper objectMapper) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(items);
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(json);
+            String etag = "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+            return new ReferenceDataSnapshot<>(List.copyOf(items), json, etag);
+        } catch (JsonProcessingException | NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("Could not create reference data snapshot", ex);
+        }
+    }
+
+    /**
+     * Checks whether an If-None-Match request header matches this snapshot's ETag.
+     *
+     * @param ifNoneMatch the value of the If-None-Match header, may be null
+     * @return true if the client already holds this snapshot
+     */
+    public boolean matches(String ifNoneMatch) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,232 @@
+package com.ecommerce.productmanager.repository;
+
+import com.ecommerce.productmanager.entity.Basket;
+import com.ecommerce.productmanager.entity.BasketItem;
+import com.ecommerce.productmanager.exceptions.BasketNotFoundException;
+import com.ecommerce.productmanager.exceptions.InvalidBasketItemException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * BasketStore keeps each basket as a single JSON document under one Redis key with a sliding TTL.
+ * Reads and writes are one command each (GETEX and SET EX), instead of the hash fields and index
+ * sets that the {@link BasketRepository} uses for every basket and basket item.
+ * Single-item changes run as a Lua script inside Redis, so concurrent edits of the same basket
+ * are applied atomically without sending the whole basket back and forth.
+ * Baskets still stored by the BasketRepository are migrated to the new format on first read.
+ */
+@Repository
+@Log4j2
+public class BasketStore {
+
+    public static final String KEY_PREFIX = "basket:";
+    // Redis set in which Spring Data Redis keeps the IDs of all legacy Basket hashes
+    private static final String LEGACY_KEYSPACE = "Basket";
+    private static final int SCAN_BATCH_SIZE = 500;
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> ITEM_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/basket-item.lua"), List.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final BasketRepository legacyRepository;
+    private final Duration ttl;
+
+    public BasketStore(StringRedisTemplate redisTemplate, ObjectMapper objectMapper, BasketRepository legacyRepository,
+                       @Value("${basket.ttl:30d}") Duration ttl) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.legacyRepository = legacyRepository;
+        this.ttl = ttl;
+    }
+
+    /**
+     * Finds a basket by its ID and extends its time to live.
+     *
+     * @param basketId the ID of the basket
+     * @return the basket, if it exists
+     */
+    public Optional<Basket> findById(String basketId) {
+        String json = redisTemplate.opsForValue().getAndExpire(key(basketId), ttl);
+        if (json != null) {
+            return Optional.of(read(json));
+        }
+        Optional<Basket> legacyBasket = legacyRepository.findById(basketId);
+        legacyBasket.ifPresent(basket -> {
+            log.info("Migrating Basket {} to single-document storage", basketId);
+            save(basket);
+            legacyRepository.deleteById(basketId);
+        });
+        return legacyBasket;
+    }
+
+    /**
+     * Saves a basket, replacing any previous version and resetting its time to live.
+     *
+     * @param basket the basket to save
+     * @return the saved basket
+     */
+    public Basket save(Basket basket) {
+        redisTemplate.opsForValue().set(key(basket.getId()), write(basket), ttl);
+        return basket;
+    }
+
+    /**
+     * Deletes a basket by its ID.
+     *
+     * @param basketId the ID of the basket
+     */
+    public void deleteById(String basketId) {
+        redisTemplate.delete(key(basketId));
+        legacyRepository.deleteById(basketId);
+    }
+
+    /**
+     * Adds an item to a basket, creating the basket if needed. If the basket already contains the item,
+     * its quantity is increased by the quantity of the added item, which defaults to one.
+     *
+     * @param basketId the ID of the basket
+     * @param item the item to add
+     * @return the updated basket
+     * @throws InvalidBasketItemException if the item has no ID or a quantity that is not positive
+     */
+    public Basket addItem(String basketId, BasketItem item) {
+        if (item.getId() == null) {
+            throw new InvalidBasketItemException("Basket item needs an ID");
+        }
+        if (item.getQuantity() != null && item.getQuantity() <= 0) {
+            throw new InvalidBasketItemException("Quantity of basket item " + item.getId() + " must be positive");
+        }
+        return mutateItem(basketId, "add", item.getId(), write(item));
+    }
+
+    /**
+     * Sets the quantity of an item in a basket. A quantity of zero or less removes the item.
+     *
+     * @param basketId the ID of the basket
+     * @param itemId the ID of the item
+     * @param quantity the new quantity
+     * @return the updated basket
+     * @throws BasketNotFoundException if the basket or the item does not exist
+     */
+    public Basket updateItemQuantity(String basketId, Integer itemId, int quantity) {
+        return mutateItem(basketId, "set", itemId, String.valueOf(quantity));
+    }
+
+    /**
+     * Removes an item from a basket.
+     *
+     * @param basketId the ID of the basket
+     * @param itemId the ID of the item
+     * @return the updated basket
+     * @throws BasketNotFoundException if the basket or the item does not exist
+     */
+    public Basket removeItem(String basketId, Integer itemId) {
+        return mutateItem(basketId, "remove", itemId, "");
+    }
+
+    /**
+     * Runs an item mutation script against a basket document. If the basket only exists in the
+     * legacy format it is migrated first and the mutation is retried.
+     */
+    private Basket mutateItem(String basketId, String operation, Integer itemId, String argument) {
+        List<?> result = runItemScript(basketId, operation, itemId, argument);
+        if ("NO_BASKET".equals(result.get(0)) && legacyRepository.existsById(basketId)) {
+            findById(basketId);
+            result = runItemScript(basketId, operation, itemId, argument);
+        }
+        String status = (String) result.get(0);
+        if ("NO_BASKET".equals(status)) {
+            throw new BasketNotFoundException("Basket with Id " + basketId + " doesn't exist");
+        }
+        if ("NO_ITEM".equals(status)) {
+            throw new BasketNotFoundException("Basket with Id " + basketId + " doesn't contain item " + itemId);
+        }
+        return read((String) result.get(1));
+    }
+
+    private List<?> runItemScript(String basketId, String operation, Integer itemId, String argument) {
+        return redisTemplate.execute(ITEM_SCRIPT, List.of(key(basketId), LEGACY_KEYSPACE + ":" + basketId),
+                operation, String.valueOf(itemId), argument, String.valueOf(ttl.toSeconds()), basketId);
+    }
+
+    /**
+     * Streams every basket to the given consumer.
+     * Keys are read incrementally with SCAN and fetched in MGET batches, so memory use is bounded
+     * by the batch size. SCAN may report a key more than once if the keyspace is resized meanwhile.
+     *
+     * @param consumer receives every basket
+     */
+    public void forEach(Consumer<Basket> consumer) {
+        ScanOptions options = ScanOptions.scanOptions().match(KEY_PREFIX + "*").count(SCAN_BATCH_SIZE).build();
+        List<String> batch = new ArrayList<>(SCAN_BATCH_SIZE);
+        try (Cursor<String> keys = redisTemplate.scan(options)) {
+            while (keys.hasNext()) {
+                batch.add(keys.next());
+                if (batch.size() == SCAN_BATCH_SIZE) {
+                    readBatch(batch, consumer);
+                    batch.clear();
+                }
+            }
+        }
+        readBatch(batch, consumer);
+
+        // Baskets that have not been read since the storage format changed
+        ScanOptions legacyOptions = ScanOptions.scanOptions().count(SCAN_BATCH_SIZE).build();
+        try (Cursor<String> legacyIds = redisTemplate.opsForSet().scan(LEGACY_KEYSPACE, legacyOptions)) {
+            while (legacyIds.hasNext()) {
+                legacyRepository.findById(legacyIds.next()).ifPresent(consumer);
+            }
+        }
+    }
+
+    private void readBatch(List<String> keys, Consumer<Basket> consumer) {
+        if (keys.isEmpty()) {
+            return;
+        }
+        List<String> documents = redisTemplate.opsForValue().multiGet(keys);
+        if (documents == null) {
+            return;
+        }
+        for (String json : documents) {
+            // A basket may expire or be deleted between the scan and the read
+            if (json != null) {
+                consumer.accept(read(json));
+            }
+        }
+    }
+
+    private static String key(String basketId) {
+        return KEY_PREFIX + basketId;
+    }
+
+    private Basket read(String json) {
+        try {
+            return objectMapper.readValue(json, Basket.class);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Could not read basket document", ex);
+        }
+    }
+
+    private String write(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Could not write basket document", ex);
+        }
+    }
+}
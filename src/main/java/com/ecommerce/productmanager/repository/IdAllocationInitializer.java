@@ -0,0 +1,71 @@
+package com.ecommerce.productmanager.repository;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.log4j.Log4j2;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.id.enhanced.TableGenerator;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * IdAllocationInitializer aligns the Id_Allocation table with the rows that already exist.
+ * Orders and order items take their IDs in blocks from Id_Allocation instead of from an
+ * AUTO_INCREMENT column. Tables that were filled while IDENTITY was still in use would otherwise
+ * receive IDs that are already taken, so each allocation row is moved past the current
+ * maximum ID before the application accepts requests.
+ * The allocation rows, their tables and their block sizes are read from the {@code @TableGenerator}
+ * mappings, so they cannot drift apart from what Hibernate uses.
+ */
+@Component
+@Log4j2
+public class IdAllocationInitializer {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+
+    // The EntityManagerFactory also makes sure that the Flyway migrations have created the allocation table first
+    public IdAllocationInitializer(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    /**
+     * Moves every allocation row past the highest ID in the table of its entity.
+     */
+    @PostConstruct
+    public void initialize() {
+        Set<String> aligned = new HashSet<>();
+        entityManagerFactory.unwrap(SessionFactoryImplementor.class).getMappingMetamodel()
+                .forEachEntityDescriptor(persister -> {
+                    if (persister.getGenerator() instanceof TableGenerator generator
+                            && persister instanceof AbstractEntityPersister entity
+                            && aligned.add(generator.getTableName() + "/" + generator.getSegmentValue())) {
+                        align(entity.getTableName(), entity.getIdentifierColumnNames()[0], generator);
+                    }
+                });
+    }
+
+    private void align(String table, String idColumn, TableGenerator generator) {
+        String allocationTable = generator.getTableName();
+        String row = generator.getSegmentValue();
+        Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(" + idColumn + "), 0) FROM " + table, Long.class);
+        // The pooled optimizer hands out Next_Val - allocationSize + 1 up to Next_Val, so the whole block has to lie above maxId
+        long floor = maxId + generator.getIncrementSize() + 1;
+        Integer rows = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + allocationTable
+                + " WHERE " + generator.getSegmentColumnName() + " = ?", Integer.class, row);
+        if (rows == 0) {
+            jdbcTemplate.update("INSERT INTO " + allocationTable + " (" + generator.getSegmentColumnName() + ", "
+                    + generator.getValueColumnName() + ") VALUES (?, ?)", row, floor);
+            log.info("Initialized ID allocation for {} at {}", row, floor);
+        } else if (jdbcTemplate.update("UPDATE " + allocationTable + " SET " + generator.getValueColumnName() + " = ?"
+                + " WHERE " + generator.getSegmentColumnName() + " = ? AND " + generator.getValueColumnName() + " < ?",
+                floor, row, floor) > 0) {
+            log.info("Moved ID allocation for {} past existing ID {}", row, maxId);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.ecommerce.productmanager.repository;
+
+import com.ecommerce.productmanager.exceptions.IdempotencyKeyMismatchException;
+import com.ecommerce.productmanager.exceptions.OrderInProgressException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+
+/**
+ * IdempotencyStore remembers which order an idempotency key produced, so a repeated submission
+ * is answered with a single Redis GET instead of placing the order again.
+ * A key is first reserved with SET NX and a short time to live while the order is placed,
+ * then replaced by the order ID and a hash of the request for the retention period, so a key reused
+ * for a different request is rejected instead of returning an unrelated order.
+ */
+@Repository
+public class IdempotencyStore {
+
+    public static final String KEY_PREFIX = "order:idempotency:";
+    private static final String PENDING = "PENDING";
+    private static final char HASH_SEPARATOR = ':';
+
+    private final StringRedisTemplate redisTemplate;
+    private final Duration pendingTtl;
+    private final Duration ttl;
+
+    public IdempotencyStore(StringRedisTemplate redisTemplate,
+                            @Value("${checkout.idempotency.pending-ttl:30s}") Duration pendingTtl,
+                            @Value("${checkout.idempotency.ttl:24h}") Duration ttl) {
+        this.redisTemplate = redisTemplate;
+        this.pendingTtl = pendingTtl;
+        this.ttl = ttl;
+    }
+
+    /**
+     * Looks up the order placed with an idempotency key.
+     *
+     * @param idempotencyKey the idempotency key sent by the client
+     * @param requestHash the hash of the request sent with the key
+     * @return the ID of the order, or null if the key has not been used
+     * @throws OrderInProgressException if the key is reserved by a submission that has not finished yet
+     * @throws IdempotencyKeyMismatchException if the key placed an order for a different request
+     */
+    public Integer findOrderId(String idempotencyKey, String requestHash) {
+        String value = redisTemplate.opsForValue().get(key(idempotencyKey));
+        if (value == null) {
+            return null;
+        }
+        if (PENDING.equals(value)) {
+            throw new OrderInProgressException("An order with idempotency key " + idempotencyKey + " is already being placed");
+        }
+        int separator = value.indexOf(HASH_SEPARATOR);
+        // Entries written before request hashes were stored hold only the order ID
+        if (separator < 0) {
+            return Integer.valueOf(value);
+        }
+        if (!value.substring(separator + 1).equals(requestHash)) {
+            throw new IdempotencyKeyMismatchException("Idempotency key " + idempotencyKey + " was already used for a different order request");
+        }
+        return Integer.valueOf(value.substring(0, separator));
+    }
+
+    /**
+     * Reserves an idempotency key for a new submission. The reservation expires on its own
+     * if the application stops before the submission completes.
+     *
+     * @param idempotencyKey the idempotency key sent by the client
+     * @return true if the key was reserved, false if it is already reserved or used
+     */
+    public boolean reserve(String idempotencyKey) {
+        return Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(key(idempotencyKey), PENDING, pendingTtl));
+    }
+
+    /**
+     * Records the order placed with a reserved idempotency key.
+     *
+     * @param idempotencyKey the idempotency key sent by the client
+     * @param orderId the ID of the placed order
+     * @param requestHash the hash of the request that placed the order
+     */
+    public void complete(String idempotencyKey, Integer orderId, String requestHash) {
+        redisTemplate.opsForValue().set(key(idempotencyKey), orderId + String.valueOf(HASH_SEPARATOR) + requestHash, ttl);
+    }
+
+    /**
+     * Releases a reservation after a failed submission, so the client can retry with the same key.
+     *
+     * @param idempotencyKey the idempotency key sent by the client
+     */
+    public void release(String idempotencyKey) {
+        redisTemplate.delete(key(idempotencyKey));
+    }
+
+    private static String key(String idempotencyKey) {
+        return KEY_PREFIX + idempotencyKey;
+    }
+}
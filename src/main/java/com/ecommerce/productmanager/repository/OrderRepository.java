@@ -2,57 +2,132 @@ package com.ecommerce.productmanager.repository;
 
 import com.ecommerce.productmanager.entity.OrderAggregate.Order;
 import com.ecommerce.productmanager.entity.OrderAggregate.OrderStatus;
+import com.ecommerce.productmanager.model.OrderSummary;
+import com.ecommerce.productmanager.model.ProductSales;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 @Repository // Marks this interface as a Spring Data repository
 public interface OrderRepository extends JpaRepository<Order, Integer> {
 
+    /**
+     * Streams the IDs of all orders in ID order, reading them from the database in batches of the fetch size
+     * instead of materializing the whole table. The stream must be consumed inside a transaction and closed.
+     *
+     * @return a stream of all order IDs
+     */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT o.id FROM Order o ORDER BY o.id")
+    Stream<Integer> streamAllIds();
+
+    /**
+     * Finds orders by ID together with their items, in one query.
+     *
+     * @param ids the IDs of the orders
+     * @return the orders that exist, in ID order, with their items loaded
+     */
+    @QueryHints(@QueryHint(name = HINT_READ_ONLY, value = "true"))
+    @Query("SELECT o FROM Order o LEFT JOIN FETCH o.orderItems WHERE o.id IN :ids ORDER BY o.id")
+    List<Order> findAllWithItemsByIdIn(@Param("ids") Collection<Integer> ids);
+
+    /**
+     * Finds the order placed with an idempotency key.
+     *
+     * @param idempotencyKey the idempotency key sent by the client
+     * @return the order, if one was placed with the key
+     */
+    Optional<Order> findByIdempotencyKey(String idempotencyKey);
+
+    // Selects an OrderSummary per order instead of the aggregate, so no order items or addresses are loaded
+    String SELECT_SUMMARY = "SELECT new com.ecommerce.productmanager.model.OrderSummary(o.id, o.basketId, o.orderDate, "
+            + "o.orderStatus, o.subTotal, o.deliveryFee, o.shippingAddress.name, o.shippingAddress.city) FROM Order o ";
+
     /**
      * Finds orders by basket ID.
      *
      * @param basketId the basket ID
-     * @return a list of orders associated with the specified basket ID
+     * @param pageable the page to return, sorted by the caller
+     * @return a page of orders associated with the specified basket ID
      */
-    List<Order> findByBasketId(String basketId);
+    @Query(SELECT_SUMMARY + "WHERE o.basketId = :basketId")
+    Page<OrderSummary> findByBasketId(@Param("basketId") String basketId, Pageable pageable);
 
     /**
      * Finds orders by order status.
      *
      * @param orderStatus the status of the orders
-     * @return a list of orders with the specified status
+     * @param pageable the page to return, sorted by the caller
+     * @return a page of orders with the specified status
      */
-    List<Order> findByOrderStatus(OrderStatus orderStatus);
+    @Query(SELECT_SUMMARY + "WHERE o.orderStatus = :orderStatus")
+    Page<OrderSummary> findByOrderStatus(@Param("orderStatus") OrderStatus orderStatus, Pageable pageable);
 
     /**
      * Finds orders placed within a specified date range.
      *
      * @param startDate the start date of the range
      * @param endDate the end date of the range
-     * @return a list of orders placed within the specified date range
+     * @param pageable the page to return, sorted by the caller
+     * @return a page of orders placed within the specified date range
+     */
+    @Query(SELECT_SUMMARY + "WHERE o.orderDate BETWEEN :startDate AND :endDate")
+    Page<OrderSummary> findByOrderDateBetween(@Param("startDate") LocalDateTime startDate,
+                                              @Param("endDate") LocalDateTime endDate, Pageable pageable);
+
+    /**
+     * Finds orders that contain any of the given products, each order once.
+     * Uses the index on the product ID of the order items.
+     *
+     * @param productIds the IDs of the products
+     * @param pageable the page to return, sorted by the caller
+     * @return a page of orders containing one of the products
      */
-    List<Order> findByOrderDateBetween(LocalDateTime startDate, LocalDateTime endDate);
+    @Query(SELECT_SUMMARY + "WHERE o.id IN (SELECT oi.order.id FROM OrderItem oi WHERE oi.itemOrdered.productId IN :productIds)")
+    Page<OrderSummary> findByProductIdInOrderItems(@Param("productIds") Collection<Integer> productIds, Pageable pageable);
 
     /**
      * Finds orders that contain a product with a specified name.
-     *@Query Defines custom JPQL queries for more complex database operations.
+     * The leading wildcard prevents index use, so this only serves while the product search index is loading.
+     *
      * @param productName the name of the product
-     * @return a list of orders containing the specified product name
+     * @param pageable the page to return, sorted by the caller
+     * @return a page of orders containing the specified product name
      */
-    @Query("SELECT o FROM Order o JOIN o.orderItems oi WHERE oi.itemOrdered.name LIKE %:productName%")
-    List<Order> findByProductNameInOrderItems(@Param("productName") String productName);
+    @Query(SELECT_SUMMARY + "WHERE o.id IN (SELECT oi.order.id FROM OrderItem oi WHERE oi.itemOrdered.name LIKE %:productName%)")
+    Page<OrderSummary> findByProductNameInOrderItems(@Param("productName") String productName, Pageable pageable);
 
     /**
      * Finds orders shipped to a specified city.
      *
      * @param city the city to which the orders are shipped
-     * @return a list of orders shipped to the specified city
+     * @param pageable the page to return, sorted by the caller
+     * @return a page of orders shipped to the specified city
+     */
+    @Query(SELECT_SUMMARY + "WHERE o.shippingAddress.city = :city")
+    Page<OrderSummary> findByShippingAddressCity(@Param("city") String city, Pageable pageable);
+
+    /**
+     * Sums the units sold per product over all order items. Reads the whole OrderItem table, so it
+     * is meant for periodic background use such as weighting search suggestions.
+     *
+     * @return the units sold of every product that has been ordered
      */
-    @Query("SELECT o FROM Order o WHERE o.shippingAddress.city = :city")
-    List<Order> findByShippingAddressCity(@Param("city") String city);
+    @Query("SELECT new com.ecommerce.productmanager.model.ProductSales(oi.itemOrdered.productId, SUM(oi.quantity))"
+            + " FROM OrderItem oi WHERE oi.itemOrdered.productId IS NOT NULL GROUP BY oi.itemOrdered.productId")
+    List<ProductSales> findProductSales();
 }
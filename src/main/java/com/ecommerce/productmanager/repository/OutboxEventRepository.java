@@ -0,0 +1,18 @@
+package com.ecommerce.productmanager.repository;
+
+import com.ecommerce.productmanager.entity.OutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /**
+     * Finds the oldest pending outbox events.
+     *
+     * @return up to 100 events in the order they were written
+     */
+    List<OutboxEvent> findTop100ByOrderByIdAsc();
+}
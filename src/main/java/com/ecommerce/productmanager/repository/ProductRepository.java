@@ -1,26 +1,59 @@
 package com.ecommerce.productmanager.repository;
 
 import com.ecommerce.productmanager.entity.Product;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+import java.util.Optional;
+
 /**
  * ProductRepository is a repository interface for managing Product entities.
- * It extends JpaRepository to provide standard CRUD operations and adds custom query methods.
+ * It extends JpaRepository to provide standard CRUD operations and JpaSpecificationExecutor for
+ * fluent specification queries, and adds custom query methods.
  */
 @Repository
-public interface ProductRepository extends JpaRepository<Product, Integer> {
+public interface ProductRepository extends JpaRepository<Product, Integer>, JpaSpecificationExecutor<Product> {
+
+    /**
+     * Finds a product by its ID, fetching its brand and type in the same query.
+     *
+     * @param id the ID of the product
+     * @return the product, if it exists
+     */
+    @Override
+    @EntityGraph(attributePaths = {"brand", "type"})
+    Optional<Product> findById(Integer id);
+
+    /**
+     * Finds the products with the given IDs, fetching their brands and types in the same query.
+     *
+     * @param ids the IDs of the products
+     * @return the products that exist, in no particular order
+     */
+    @Override
+    @EntityGraph(attributePaths = {"brand", "type"})
+    List<Product> findAllById(Iterable<Integer> ids);
 
     /**
      * Finds all products that match the given specification and returns them in a paginated format.
+     * The brand and type of each product are fetched in the same query, so mapping a page to
+     * ProductResponse objects does not issue a query per row.
      *
      * @param spec the specification to filter the products
      * @param pageable the pagination information
      * @return a paginated list of products matching the specification
      */
+    @Override
+    @EntityGraph(attributePaths = {"brand", "type"})
     Page<Product> findAll(Specification<Product> spec, Pageable pageable);
 
     /**
@@ -55,4 +88,26 @@ public interface ProductRepository extends JpaRepository<Product, Integer> {
      * @return a specification for filtering products by both brand ID and type ID
      */
     Specification<Product> findByBrandIdAndTypeId(Integer brandId, Integer typeId);
+
+    /**
+     * Finds the IDs of the best-matching products whose name or description matches a boolean-mode
+     * full-text query, using the FULLTEXT index on Name and Description. Only available on MySQL.
+     *
+     * @param query the query in MySQL boolean mode syntax, e.g. "+badminton* +shoe*"
+     * @param limit the maximum number of IDs to return
+     * @return the IDs of the matching products, best match first
+     */
+    @Query(value = "SELECT Id FROM Product WHERE MATCH(Name, Description) AGAINST (:query IN BOOLEAN MODE)"
+            + " ORDER BY MATCH(Name, Description) AGAINST (:query IN BOOLEAN MODE) DESC LIMIT :limit", nativeQuery = true)
+    List<Integer> findIdsByFullText(@Param("query") String query, @Param("limit") int limit);
+
+    /**
+     * Finds the next products after the given ID in ID order, for scanning the whole catalog in batches.
+     * Each batch seeks on the primary key, so it costs the same however far the scan has progressed.
+     *
+     * @param id the ID of the last product of the previous batch, or 0 to start the scan
+     * @param limit the maximum number of products to return
+     * @return the products with a greater ID, in ascending ID order
+     */
+    List<Product> findByIdGreaterThanOrderByIdAsc(Integer id, Limit limit);
 }
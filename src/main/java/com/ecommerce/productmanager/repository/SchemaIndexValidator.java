@@ -0,0 +1,99 @@
+package com.ecommerce.productmanager.repository;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * SchemaIndexValidator stops the application from starting when an index that the queries rely on
+ * is missing. Without these indexes the product listing and the order history queries still work
+ * but scan whole tables, which only becomes visible under load. The indexes are created by the
+ * Flyway migrations in db/migration; a database that predates them has to be migrated first.
+ * Disabled with schema.validate-indexes=false, for example on an in-memory test database.
+ */
+@Component
+@ConditionalOnProperty(name = "schema.validate-indexes", havingValue = "true", matchIfMissing = true)
+@Log4j2
+public class SchemaIndexValidator {
+
+    // table -> indexes the queries on that table rely on
+    private static final Map<String, List<String>> REQUIRED_INDEXES = new LinkedHashMap<>();
+
+    static {
+        REQUIRED_INDEXES.put("Product", List.of(
+                "IX_Product_Name", "IX_Product_Price",
+                "IX_Product_Brand", "IX_Product_Brand_Name", "IX_Product_Brand_Price",
+                "IX_Product_Type", "IX_Product_Type_Name", "IX_Product_Type_Price",
+                "IX_Product_Brand_Type", "IX_Product_Brand_Type_Name", "IX_Product_Brand_Type_Price",
+                "FT_Product_Name_Description"));
+        REQUIRED_INDEXES.put("Orders", List.of(
+                "IX_Orders_Status_Date", "IX_Orders_Date", "IX_Orders_Basket_Date", "IX_Orders_City_Date"));
+        REQUIRED_INDEXES.put("OrderItem", List.of("IX_OrderItem_Product_Order"));
+    }
+
+    private final DataSource dataSource;
+
+    // The EntityManagerFactory is injected so that the Flyway migrations have run first
+    public SchemaIndexValidator(DataSource dataSource, EntityManagerFactory entityManagerFactory) {
+        this.dataSource = dataSource;
+    }
+
+    /**
+     * Checks that every required index exists.
+     *
+     * @throws IllegalStateException listing the missing indexes, if there are any
+     * @throws SQLException if the database metadata cannot be read
+     */
+    @PostConstruct
+    public void validate() throws SQLException {
+        List<String> missing = new ArrayList<>();
+        try (Connection connection = dataSource.getConnection()) {
+            DatabaseMetaData metaData = connection.getMetaData();
+            for (Map.Entry<String, List<String>> table : REQUIRED_INDEXES.entrySet()) {
+                Set<String> existing = indexNames(metaData, connection.getCatalog(), table.getKey());
+                for (String index : table.getValue()) {
+                    if (!existing.contains(index.toLowerCase(Locale.ROOT))) {
+                        missing.add(table.getKey() + "." + index);
+                    }
+                }
+            }
+        }
+        if (!missing.isEmpty()) {
+            throw new IllegalStateException("Missing database indexes " + missing
+                    + "; run the Flyway migrations in db/migration before starting the application");
+        }
+        log.info("Validated the database indexes of {} tables", REQUIRED_INDEXES.size());
+    }
+
+    private static Set<String> indexNames(DatabaseMetaData metaData, String catalog, String table) throws SQLException {
+        // Table names are stored in lower case on MySQL with lower_case_table_names set
+        String storedName = metaData.storesLowerCaseIdentifiers() ? table.toLowerCase(Locale.ROOT)
+                : metaData.storesUpperCaseIdentifiers() ? table.toUpperCase(Locale.ROOT)
+                : table;
+        Set<String> names = new HashSet<>();
+        try (ResultSet indexes = metaData.getIndexInfo(catalog, null, storedName, false, false)) {
+            while (indexes.next()) {
+                String name = indexes.getString("INDEX_NAME");
+                if (name != null) {
+                    names.add(name.toLowerCase(Locale.ROOT));
+                }
+            }
+        }
+        return names;
+    }
+}
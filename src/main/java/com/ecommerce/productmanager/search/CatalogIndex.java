@@ -0,0 +1,31 @@
+package com.ecommerce.productmanager.search;
+
+import com.ecommerce.productmanager.entity.Product;
+
+import java.util.List;
+
+/**
+ * CatalogIndex is an in-memory structure built from the whole catalog. The {@link CatalogLoader}
+ * scans the Product table once and hands every batch to all indexes, so they share a single scan.
+ * A load calls {@link #beginLoad()}, then {@link #loadBatch(List)} for every batch in ID order,
+ * then {@link #endLoad()}, always from one thread at a time.
+ */
+public interface CatalogIndex {
+
+    /**
+     * Prepares a load of the whole catalog.
+     */
+    void beginLoad();
+
+    /**
+     * Adds or replaces a batch of products.
+     *
+     * @param products the products of the batch, in ascending ID order
+     */
+    void loadBatch(List<Product> products);
+
+    /**
+     * Completes a load once every batch has been handed over.
+     */
+    void endLoad();
+}
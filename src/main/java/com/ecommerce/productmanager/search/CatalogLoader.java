@@ -0,0 +1,77 @@
+package com.ecommerce.productmanager.search;
+
+import com.ecommerce.productmanager.entity.Product;
+import com.ecommerce.productmanager.event.CatalogReloadedEvent;
+import com.ecommerce.productmanager.repository.ProductRepository;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CatalogLoader fills every {@link CatalogIndex} from a single scan of the Product table once the
+ * application is ready, and again after a bulk import. The scan is keyset-paginated on the primary
+ * key, so every batch is an index seek and the last batch costs as much as the first.
+ */
+@Component
+@Log4j2
+public class CatalogLoader {
+
+    private static final int LOAD_BATCH_SIZE = 1000;
+
+    private final ProductRepository productRepository;
+    private final List<CatalogIndex> indexes;
+
+    private volatile boolean loaded;
+
+    public CatalogLoader(ProductRepository productRepository, List<CatalogIndex> indexes) {
+        this.productRepository = productRepository;
+        this.indexes = indexes;
+    }
+
+    /**
+     * Loads the whole catalog into every index once the application has started.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void load() {
+        long start = System.nanoTime();
+        indexes.forEach(CatalogIndex::beginLoad);
+        int lastId = 0;
+        long count = 0;
+        List<Product> batch;
+        do {
+            batch = productRepository.findByIdGreaterThanOrderByIdAsc(lastId, Limit.of(LOAD_BATCH_SIZE));
+            if (!batch.isEmpty()) {
+                for (CatalogIndex index : indexes) {
+                    index.loadBatch(batch);
+                }
+                lastId = batch.get(batch.size() - 1).getId();
+                count += batch.size();
+            }
+        } while (batch.size() == LOAD_BATCH_SIZE);
+        indexes.forEach(CatalogIndex::endLoad);
+        loaded = true;
+        log.info("Loaded {} products into {} catalog indexes in {} ms", count, indexes.size(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    /**
+     * Reloads the indexes after a bulk import, which writes products without publishing a
+     * ProductChangedEvent for each. Before the initial load the import is picked up by that load.
+     * Runs on the application task executor, so the import request returns without waiting for the scan.
+     *
+     * @param event the catalog reload
+     */
+    @Async
+    @EventListener
+    public void onCatalogReloaded(CatalogReloadedEvent event) {
+        if (loaded) {
+            load();
+        }
+    }
+}
@@ -0,0 +1,316 @@
+package com.ecommerce.productmanager.search;
+
+import com.ecommerce.productmanager.model.ProductSuggestion;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.PriorityQueue;
+
+/**
+ * CompletionIndex finds the heaviest names that have a word starting with a prefix. It is an
+ * immutable prefix structure in primitive arrays: every position where a word of a name starts is
+ * a key, and the keys are sorted by the text from that position on, as in a suffix array, so all
+ * keys sharing a prefix form one contiguous range found by two binary searches. A max-heap
+ * segment tree over the key weights then yields the heaviest keys of the range one at a time,
+ * which makes a top-k lookup O(log n + k log n) regardless of how many names match.
+ * Names are matched case-insensitively with runs of whitespace collapsed. Instances are built
+ * once with a {@link Builder} and replaced as a whole, so lookups need no locking.
+ */
+public final class CompletionIndex {
+
+    private static final CompletionIndex EMPTY = new Builder().build();
+
+    // per name
+    private final ProductSuggestion.Kind[] kinds;
+    private final int[] ids;
+    private final String[] texts;
+    private final String[] normalized;
+    private final long[] weights;
+    // per key, sorted by the normalized name from the key's offset on
+    private final int[] keyNames;
+    private final int[] keyOffsets;
+    // tree[1] is the heaviest key; tree[i] the heaviest of tree[2i] and tree[2i + 1]; leaves start at leafBase
+    private final int[] tree;
+    private final int leafBase;
+
+    private CompletionIndex(Builder builder, int[] keyNames, int[] keyOffsets) {
+        int size = builder.size;
+        this.kinds = Arrays.copyOf(builder.kinds, size);
+        this.ids = Arrays.copyOf(builder.ids, size);
+        this.texts = Arrays.copyOf(builder.texts, size);
+        this.normalized = Arrays.copyOf(builder.normalized, size);
+        this.weights = Arrays.copyOf(builder.weights, size);
+        this.keyNames = keyNames;
+        this.keyOffsets = keyOffsets;
+        int leaves = Integer.highestOneBit(Math.max(1, keyNames.length - 1)) << 1;
+        this.leafBase = leaves;
+        this.tree = new int[2 * leaves];
+        Arrays.fill(tree, -1);
+        for (int key = 0; key < keyNames.length; key++) {
+            tree[leaves + key] = key;
+        }
+        for (int node = leaves - 1; node >= 1; node--) {
+            tree[node] = heavier(tree[2 * node], tree[2 * node + 1]);
+        }
+    }
+
+    /**
+     * Returns an index without names.
+     *
+     * @return the empty index
+     */
+    public static CompletionIndex empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Returns the number of names in the index.
+     *
+     * @return the number of names
+     */
+    public int size() {
+        return texts.length;
+    }
+
+    /**
+     * Returns the heaviest names with a word starting with the prefix, heaviest first.
+     * Names of equal weight are returned in alphabetical order of the matching word.
+     *
+     * @param prefix the typed text
+     * @param limit the maximum number of names to return
+     * @return the matching names, at most limit of them
+     */
+    public List<ProductSuggestion> complete(String prefix, int limit) {
+        String query = normalize(prefix);
+        if (query.isEmpty() || limit <= 0 || keyNames.length == 0) {
+            return Collections.emptyList();
+        }
+        int from = firstKeyNotBefore(query);
+        int to = firstKeyAfterPrefix(query, from);
+        if (from >= to) {
+            return Collections.emptyList();
+        }
+
+        // Each candidate is a key range with the position of its heaviest key
+        PriorityQueue<int[]> candidates = new PriorityQueue<>((a, b) -> compareKeys(a[2], b[2]));
+        candidates.add(new int[]{from, to, heaviest(from, to)});
+        List<ProductSuggestion> suggestions = new ArrayList<>(limit);
+        // A name with several matching words has several keys in the range but is returned once
+        BitSet returned = new BitSet();
+        while (!candidates.isEmpty() && suggestions.size() < limit) {
+            int[] candidate = candidates.poll();
+            int key = candidate[2];
+            int name = keyNames[key];
+            if (!returned.get(name)) {
+                returned.set(name);
+                suggestions.add(ProductSuggestion.builder().kind(kinds[name]).id(ids[name]).text(texts[name]).build());
+            }
+            if (candidate[0] < key) {
+                candidates.add(new int[]{candidate[0], key, heaviest(candidate[0], key)});
+            }
+            if (key + 1 < candidate[1]) {
+                candidates.add(new int[]{key + 1, candidate[1], heaviest(key + 1, candidate[1])});
+            }
+        }
+        return suggestions;
+    }
+
+    /**
+     * Finds the heaviest key in [from, to).
+     */
+    private int heaviest(int from, int to) {
+        int best = -1;
+        for (int low = from + leafBase, high = to + leafBase; low < high; low >>= 1, high >>= 1) {
+            if ((low & 1) == 1) {
+                best = heavier(best, tree[low++]);
+            }
+            if ((high & 1) == 1) {
+                best = heavier(best, tree[--high]);
+            }
+        }
+        return best;
+    }
+
+    private int heavier(int a, int b) {
+        if (a < 0) {
+            return b;
+        }
+        if (b < 0) {
+            return a;
+        }
+        return compareKeys(a, b) <= 0 ? a : b;
+    }
+
+    /**
+     * Orders keys by descending weight, then by position, which is alphabetical.
+     */
+    private int compareKeys(int a, int b) {
+        int byWeight = Long.compare(weights[keyNames[b]], weights[keyNames[a]]);
+        return byWeight != 0 ? byWeight : Integer.compare(a, b);
+    }
+
+    private int firstKeyNotBefore(String query) {
+        int low = 0;
+        int high = keyNames.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (compareKeyTo(middle, query) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private int firstKeyAfterPrefix(String query, int from) {
+        int low = from;
+        int high = keyNames.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (normalized[keyNames[middle]].startsWith(query, keyOffsets[middle])) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private int compareKeyTo(int key, String query) {
+        String name = normalized[keyNames[key]];
+        return compareFrom(name, keyOffsets[key], query, 0);
+    }
+
+    /**
+     * Compares two strings from the given offsets on, without copying them.
+     */
+    private static int compareFrom(String a, int aOffset, String b, int bOffset) {
+        int aLength = a.length() - aOffset;
+        int bLength = b.length() - bOffset;
+        int length = Math.min(aLength, bLength);
+        for (int i = 0; i < length; i++) {
+            int difference = a.charAt(aOffset + i) - b.charAt(bOffset + i);
+            if (difference != 0) {
+                return difference;
+            }
+        }
+        return aLength - bLength;
+    }
+
+    /**
+     * Lower-cases a name and collapses its whitespace, the form names and prefixes are matched in.
+     *
+     * @param text the name or prefix
+     * @return the normalized text
+     */
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        return text.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Collects the names of a CompletionIndex. Not thread-safe.
+     */
+    public static final class Builder {
+        private ProductSuggestion.Kind[] kinds = new ProductSuggestion.Kind[1024];
+        private int[] ids = new int[1024];
+        private String[] texts = new String[1024];
+        private String[] normalized = new String[1024];
+        private long[] weights = new long[1024];
+        private int size;
+        private int keyCount;
+
+        /**
+         * Adds a name. Names without a letter or digit are skipped.
+         *
+         * @param kind what the name belongs to
+         * @param id the ID of the product, brand or type
+         * @param text the name as displayed
+         * @param weight the popularity of the name; heavier names are suggested first
+         * @return this builder
+         */
+        public Builder add(ProductSuggestion.Kind kind, int id, String text, long weight) {
+            String normalizedText = normalize(text);
+            int words = wordStarts(normalizedText, null);
+            if (words == 0) {
+                return this;
+            }
+            if (size == texts.length) {
+                int capacity = size + (size >> 1);
+                kinds = Arrays.copyOf(kinds, capacity);
+                ids = Arrays.copyOf(ids, capacity);
+                texts = Arrays.copyOf(texts, capacity);
+                normalized = Arrays.copyOf(normalized, capacity);
+                weights = Arrays.copyOf(weights, capacity);
+            }
+            kinds[size] = kind;
+            ids[size] = id;
+            texts[size] = text;
+            normalized[size] = normalizedText;
+            weights[size] = weight;
+            size++;
+            keyCount += words;
+            return this;
+        }
+
+        /**
+         * Sorts the keys and builds the index.
+         *
+         * @return the index
+         */
+        public CompletionIndex build() {
+            long[] keys = new long[keyCount];
+            int[] starts = new int[64];
+            int count = 0;
+            for (int name = 0; name < size; name++) {
+                if (starts.length < normalized[name].length()) {
+                    starts = new int[normalized[name].length()];
+                }
+                int words = wordStarts(normalized[name], starts);
+                for (int word = 0; word < words; word++) {
+                    keys[count++] = ((long) name << 32) | starts[word];
+                }
+            }
+            // Boxed for the comparator; only done while building
+            Long[] sorted = new Long[keys.length];
+            for (int i = 0; i < keys.length; i++) {
+                sorted[i] = keys[i];
+            }
+            Arrays.sort(sorted, (a, b) -> compareFrom(
+                    normalized[(int) (a >>> 32)], (int) (long) a, normalized[(int) (b >>> 32)], (int) (long) b));
+            int[] keyNames = new int[keys.length];
+            int[] keyOffsets = new int[keys.length];
+            for (int i = 0; i < sorted.length; i++) {
+                keyNames[i] = (int) (sorted[i] >>> 32);
+                keyOffsets[i] = (int) (long) sorted[i];
+            }
+            return new CompletionIndex(this, keyNames, keyOffsets);
+        }
+
+        /**
+         * Finds the offsets where a word starts, writing them to starts if it is not null.
+         *
+         * @return the number of words
+         */
+        private static int wordStarts(String text, int[] starts) {
+            int words = 0;
+            for (int i = 0; i < text.length(); i++) {
+                if (Character.isLetterOrDigit(text.charAt(i))
+                        && (i == 0 || !Character.isLetterOrDigit(text.charAt(i - 1)))) {
+                    if (starts != null) {
+                        starts[words] = i;
+                    }
+                    words++;
+                }
+            }
+            return words;
+        }
+    }
+}
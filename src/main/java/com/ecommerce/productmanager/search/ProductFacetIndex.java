@@ -0,0 +1,427 @@
+package com.ecommerce.productmanager.search;
+
+import com.ecommerce.productmanager.entity.Product;
+import com.ecommerce.productmanager.event.ProductChangedEvent;
+import com.ecommerce.productmanager.model.ProductSortKey;
+import lombok.extern.log4j.Log4j2;
+import org.roaringbitmap.FastAggregation;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * ProductFacetIndex keeps a compressed bitmap of product IDs for every brand, every type and every
+ * price bucket. A multi-select filter is resolved by a union of the selected bitmaps per facet and an
+ * intersection across facets, so filtering and counting never touch the database. Without a filter the
+ * counts are the bitmap cardinalities; with one, every value is counted by the cardinality of its
+ * bitmap's intersection with the filtered set, which works container by container on the compressed
+ * bitmaps and never visits the matching products one at a time.
+ * Counts follow the usual multi-select convention: the counts of a facet apply the selections of all
+ * other facets but not its own, so a client can see what selecting another value would add.
+ * The index is filled by the {@link CatalogLoader} once the application is ready and is kept
+ * current through {@link ProductChangedEvent}s.
+ */
+@Component
+@Log4j2
+public class ProductFacetIndex implements CatalogIndex {
+
+    // Below this share of the catalog a filter result is sorted directly instead of walking a sort order
+    private static final int SORT_MATCHES_RATIO = 8;
+
+    private static final Comparator<FacetedProduct> NAME_ORDER = Comparator
+            .comparing(FacetedProduct::name, Comparator.nullsFirst(String.CASE_INSENSITIVE_ORDER))
+            .thenComparingInt(FacetedProduct::id);
+    private static final Comparator<FacetedProduct> PRICE_ORDER = Comparator
+            .comparingLong(FacetedProduct::price)
+            .thenComparingInt(FacetedProduct::id);
+
+    // lower bounds of the price buckets after the first; bucket 0 holds every price below priceBoundaries[0]
+    private final long[] priceBoundaries;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final RoaringBitmap allProducts = new RoaringBitmap();
+    private final Facet brands = new Facet();
+    private final Facet types = new Facet();
+    private final Facet priceBuckets = new Facet();
+    // product ID -> indexed product, used for sorting and for removing stale entries
+    private final Map<Integer, FacetedProduct> documents = new HashMap<>();
+    private final NavigableSet<FacetedProduct> byName = new TreeSet<>(NAME_ORDER);
+    private final NavigableSet<FacetedProduct> byPrice = new TreeSet<>(PRICE_ORDER);
+
+    private volatile boolean ready;
+
+    public ProductFacetIndex(@Value("${product.facets.price-boundaries:1000,2500,5000,10000,25000}") long[] priceBoundaries) {
+        this.priceBoundaries = Arrays.stream(priceBoundaries).sorted().distinct().toArray();
+    }
+
+    /**
+     * A product as seen by the index: its facet values and the attributes it can be sorted by.
+     */
+    private record FacetedProduct(int id, String name, long price, Integer brandId, Integer typeId, int priceBucket) {
+    }
+
+    /**
+     * One facet: a bitmap of product IDs per value.
+     */
+    private static final class Facet {
+
+        private final Map<Integer, RoaringBitmap> bitmaps = new HashMap<>();
+
+        void add(int productId, Integer value) {
+            if (value == null) {
+                return;
+            }
+            bitmaps.computeIfAbsent(value, key -> new RoaringBitmap()).add(productId);
+        }
+
+        void remove(int productId, Integer value) {
+            if (value == null) {
+                return;
+            }
+            RoaringBitmap bitmap = bitmaps.get(value);
+            if (bitmap != null) {
+                bitmap.remove(productId);
+                if (bitmap.isEmpty()) {
+                    bitmaps.remove(value);
+                }
+            }
+        }
+
+        /**
+         * Unites the bitmaps of the selected values, or returns null if nothing is selected.
+         */
+        RoaringBitmap union(Set<Integer> selected) {
+            if (selected == null || selected.isEmpty()) {
+                return null;
+            }
+            List<RoaringBitmap> parts = new ArrayList<>(selected.size());
+            for (Integer value : selected) {
+                RoaringBitmap bitmap = bitmaps.get(value);
+                if (bitmap != null) {
+                    parts.add(bitmap);
+                }
+            }
+            return FastAggregation.or(parts.iterator());
+        }
+
+        /**
+         * Counts the products of the base per value, omitting values without products.
+         */
+        Map<Integer, Long> count(RoaringBitmap base, boolean wholeCatalog) {
+            Map<Integer, Long> counts = new HashMap<>();
+            bitmaps.forEach((value, bitmap) -> {
+                long count = wholeCatalog ? bitmap.getLongCardinality() : RoaringBitmap.andCardinality(base, bitmap);
+                if (count > 0) {
+                    counts.put(value, count);
+                }
+            });
+            return counts;
+        }
+
+        int size() {
+            return bitmaps.size();
+        }
+
+        void runOptimize() {
+            bitmaps.values().forEach(RoaringBitmap::runOptimize);
+        }
+    }
+
+    /**
+     * The selected values of every facet, plus an optional list of candidate products.
+     * An empty set leaves its facet unfiltered.
+     *
+     * @param brandIds the selected brands; a product matches if it has any of them
+     * @param typeIds the selected types; a product matches if it has any of them
+     * @param priceBuckets the selected price buckets; a product matches if its price falls in any of them
+     * @param candidateIds the only products that may match, e.g. the result of a keyword search in rank order,
+     *                     or null for the whole catalog
+     */
+    public record Selection(Set<Integer> brandIds, Set<Integer> typeIds, Set<Integer> priceBuckets,
+                            List<Integer> candidateIds) {
+    }
+
+    /**
+     * One page of a filter result together with the facet counts.
+     *
+     * @param pageIds the IDs of the products on the requested page, in sort order
+     * @param totalMatches the number of products matching every selection
+     * @param brandCounts brand ID -> matching products, applying every selection except the brands
+     * @param typeCounts type ID -> matching products, applying every selection except the types
+     * @param priceBucketCounts matching products per price bucket, applying every selection except the prices
+     */
+    public record Result(List<Integer> pageIds, long totalMatches, Map<Integer, Long> brandCounts,
+                         Map<Integer, Long> typeCounts, long[] priceBucketCounts) {
+    }
+
+    /**
+     * A price bucket, from its inclusive lower bound to its exclusive upper bound.
+     *
+     * @param bucket the index of the bucket, used to select it
+     * @param min the lowest price in the bucket, or null for the first bucket
+     * @param max the first price above the bucket, or null for the last bucket
+     */
+    public record PriceRange(int bucket, Long min, Long max) {
+    }
+
+    @Override
+    public void beginLoad() {
+        log.info("Building product facet index");
+    }
+
+    @Override
+    public void loadBatch(List<Product> products) {
+        lock.writeLock().lock();
+        try {
+            for (Product product : products) {
+                removeProduct(product.getId());
+                addProduct(product);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void endLoad() {
+        lock.writeLock().lock();
+        try {
+            // Collapses runs of consecutive IDs into run containers
+            allProducts.runOptimize();
+            brands.runOptimize();
+            types.runOptimize();
+            priceBuckets.runOptimize();
+            log.info("Built product facet index with {} products, {} brands and {} types",
+                    documents.size(), brands.size(), types.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+        ready = true;
+    }
+
+    /**
+     * Applies a product change to the index after the surrounding transaction has committed.
+     *
+     * @param event the product change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        Product product = event.getProduct();
+        lock.writeLock().lock();
+        try {
+            removeProduct(product.getId());
+            if (event.getChangeType() == ProductChangedEvent.ChangeType.SAVED) {
+                addProduct(product);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Indicates whether the initial load has completed and the index can answer queries.
+     *
+     * @return true when the index is ready
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Lists the price buckets that can be selected.
+     *
+     * @return the price buckets, cheapest first
+     */
+    public List<PriceRange> getPriceRanges() {
+        List<PriceRange> ranges = new ArrayList<>(priceBoundaries.length + 1);
+        for (int bucket = 0; bucket <= priceBoundaries.length; bucket++) {
+            Long min = bucket == 0 ? null : priceBoundaries[bucket - 1];
+            Long max = bucket == priceBoundaries.length ? null : priceBoundaries[bucket];
+            ranges.add(new PriceRange(bucket, min, max));
+        }
+        return ranges;
+    }
+
+    /**
+     * Filters the catalog by the selection, counts every facet value and returns one page of the matches.
+     *
+     * @param selection the selected facet values and candidate products
+     * @param sortKey the attribute to sort by, or null to keep the order of the candidate IDs
+     * @param direction the sort direction
+     * @param offset the number of matches to skip
+     * @param limit the maximum number of matches to return
+     * @return the page of matching product IDs and the facet counts
+     */
+    public Result search(Selection selection, ProductSortKey sortKey, Sort.Direction direction, int offset, int limit) {
+        lock.readLock().lock();
+        try {
+            RoaringBitmap candidates = selection.candidateIds() == null
+                    ? allProducts
+                    : RoaringBitmap.and(allProducts, toBitmap(selection.candidateIds()));
+            RoaringBitmap brandFilter = brands.union(selection.brandIds());
+            RoaringBitmap typeFilter = types.union(selection.typeIds());
+            RoaringBitmap priceFilter = priceBuckets.union(selection.priceBuckets());
+
+            RoaringBitmap brandBase = intersect(candidates, typeFilter, priceFilter);
+            RoaringBitmap matches = intersect(brandBase, brandFilter);
+            Map<Integer, Long> brandCounts = count(brands, brandBase);
+            Map<Integer, Long> typeCounts = count(types, intersect(candidates, brandFilter, priceFilter));
+            Map<Integer, Long> priceCounts = count(priceBuckets, intersect(candidates, brandFilter, typeFilter));
+            long[] priceBucketCounts = new long[priceBoundaries.length + 1];
+            priceCounts.forEach((bucket, count) -> priceBucketCounts[bucket] = count);
+
+            List<Integer> pageIds = page(matches, selection.candidateIds(), sortKey, direction, offset, limit);
+            return new Result(pageIds, matches.getLongCardinality(), brandCounts, typeCounts, priceBucketCounts);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Selects one page of the matches in sort order. ID order is read from the bitmap itself; name and
+     * price order either walk the sorted catalog, skipping non-matches, or sort the matches directly when
+     * they are a small share of the catalog, whichever touches fewer products.
+     */
+    private List<Integer> page(RoaringBitmap matches, List<Integer> candidateIds, ProductSortKey sortKey,
+                               Sort.Direction direction, int offset, int limit) {
+        int total = matches.getCardinality();
+        if (offset >= total || limit <= 0) {
+            return Collections.emptyList();
+        }
+        int count = Math.min(limit, total - offset);
+        List<Integer> pageIds = new ArrayList<>(count);
+        if (sortKey == null && candidateIds != null) {
+            // Relevance order, as ranked by the keyword search
+            walk(candidateIds.iterator(), matches, offset, count, pageIds);
+        } else if (sortKey == null || sortKey == ProductSortKey.ID) {
+            for (int i = 0; i < count; i++) {
+                int rank = direction.isAscending() ? offset + i : total - 1 - offset - i;
+                pageIds.add(matches.select(rank));
+            }
+        } else {
+            Comparator<FacetedProduct> order = sortKey == ProductSortKey.PRICE ? PRICE_ORDER : NAME_ORDER;
+            if ((long) total * SORT_MATCHES_RATIO < documents.size()) {
+                List<FacetedProduct> matching = new ArrayList<>(total);
+                matches.forEach((int id) -> matching.add(documents.get(id)));
+                matching.sort(direction.isAscending() ? order : order.reversed());
+                matching.subList(offset, offset + count).forEach(product -> pageIds.add(product.id()));
+            } else {
+                NavigableSet<FacetedProduct> sorted = sortKey == ProductSortKey.PRICE ? byPrice : byName;
+                Iterator<FacetedProduct> products = direction.isAscending() ? sorted.iterator() : sorted.descendingIterator();
+                walk(new Iterator<>() {
+                    @Override
+                    public boolean hasNext() {
+                        return products.hasNext();
+                    }
+
+                    @Override
+                    public Integer next() {
+                        return products.next().id();
+                    }
+                }, matches, offset, count, pageIds);
+            }
+        }
+        return pageIds;
+    }
+
+    /**
+     * Collects the matching IDs from an ordered sequence, skipping the first offset matches.
+     */
+    private static void walk(Iterator<Integer> ids, RoaringBitmap matches, int offset, int count, List<Integer> pageIds) {
+        int skipped = 0;
+        while (ids.hasNext() && pageIds.size() < count) {
+            int id = ids.next();
+            if (matches.contains(id)) {
+                if (skipped < offset) {
+                    skipped++;
+                } else {
+                    pageIds.add(id);
+                }
+            }
+        }
+    }
+
+    private static RoaringBitmap toBitmap(Collection<Integer> ids) {
+        RoaringBitmap bitmap = new RoaringBitmap();
+        ids.forEach(bitmap::add);
+        return bitmap;
+    }
+
+    /**
+     * Intersects the candidates with every filter that is not null. The filters only hold indexed products,
+     * so the whole catalog as candidates is left out of the intersection, and returned as is without filters.
+     */
+    private RoaringBitmap intersect(RoaringBitmap candidates, RoaringBitmap... filters) {
+        List<RoaringBitmap> operands = new ArrayList<>(filters.length + 1);
+        if (candidates != allProducts) {
+            operands.add(candidates);
+        }
+        for (RoaringBitmap filter : filters) {
+            if (filter != null) {
+                operands.add(filter);
+            }
+        }
+        if (operands.isEmpty()) {
+            return allProducts;
+        }
+        return operands.size() == 1 ? operands.get(0) : FastAggregation.and(operands.iterator());
+    }
+
+    private Map<Integer, Long> count(Facet facet, RoaringBitmap base) {
+        return facet.count(base, base == allProducts);
+    }
+
+    private void addProduct(Product product) {
+        Integer brandId = product.getBrand() != null ? product.getBrand().getId() : null;
+        Integer typeId = product.getType() != null ? product.getType().getId() : null;
+        long price = product.getPrice() != null ? product.getPrice() : 0L;
+        FacetedProduct document = new FacetedProduct(product.getId(), product.getName(), price, brandId, typeId,
+                priceBucket(price));
+        documents.put(document.id(), document);
+        byName.add(document);
+        byPrice.add(document);
+
+        allProducts.add(document.id());
+        brands.add(document.id(), brandId);
+        types.add(document.id(), typeId);
+        priceBuckets.add(document.id(), document.priceBucket());
+    }
+
+    private void removeProduct(Integer productId) {
+        FacetedProduct document = documents.remove(productId);
+        if (document == null) {
+            return;
+        }
+        byName.remove(document);
+        byPrice.remove(document);
+        allProducts.remove(document.id());
+        brands.remove(document.id(), document.brandId());
+        types.remove(document.id(), document.typeId());
+        priceBuckets.remove(document.id(), document.priceBucket());
+    }
+
+    private int priceBucket(long price) {
+        int bucket = 0;
+        while (bucket < priceBoundaries.length && price >= priceBoundaries[bucket]) {
+            bucket++;
+        }
+        return bucket;
+    }
+}
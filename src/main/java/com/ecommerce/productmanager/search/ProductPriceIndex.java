@@ -0,0 +1,531 @@
+package com.ecommerce.productmanager.search;
+
+import com.ecommerce.productmanager.entity.Product;
+import com.ecommerce.productmanager.event.ProductChangedEvent;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntPredicate;
+
+/**
+ * ProductPriceIndex keeps every product ordered by price, then ID, once for the whole catalog and once
+ * per brand and per type. Each order is a list of blocks of primitive arrays with a bounded number of
+ * entries, so a change shifts the entries of one block rather than of the whole catalog, and the write
+ * lock is held for a time that does not grow with the catalog.
+ * A price range is two binary searches, and a window of the range in either direction is read straight
+ * from the blocks. A brand or type filter reads the order of that brand or type; with both, the smaller
+ * of the two ranges is scanned and checked against the other filter. Price-sorted listings therefore
+ * need the database only to load the products on the page.
+ * The index is filled by the {@link CatalogLoader} once the application is ready and is kept
+ * current through {@link ProductChangedEvent}s.
+ */
+@Component
+@Log4j2
+public class ProductPriceIndex implements CatalogIndex {
+
+    private static final int DEFAULT_BLOCK_CAPACITY = 1024;
+    // marks product IDs without an entry in priceById
+    private static final long NOT_INDEXED = Long.MIN_VALUE;
+    // brand and type IDs are assigned by the database starting at 1
+    private static final int NONE = 0;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final int blockCapacity;
+
+    private PriceList all;
+    private Map<Integer, PriceList> byBrand = new HashMap<>();
+    private Map<Integer, PriceList> byType = new HashMap<>();
+    // product ID -> indexed price, brand and type, used to find the entries of a changed product
+    private long[] priceById = new long[0];
+    private int[] brandById = new int[0];
+    private int[] typeById = new int[0];
+    // changes applied while a load is running, replayed on the loaded lists; null when no load runs
+    private List<ProductChangedEvent> changesDuringLoad;
+    // products read by the running load, only touched by the loading thread
+    private List<PricedProduct> loadedProducts;
+
+    private volatile boolean ready;
+
+    public ProductPriceIndex() {
+        this(DEFAULT_BLOCK_CAPACITY);
+    }
+
+    ProductPriceIndex(int blockCapacity) {
+        this.blockCapacity = blockCapacity;
+        this.all = new PriceList(blockCapacity);
+    }
+
+    /**
+     * A product as read during the load, before it is sorted into the lists.
+     */
+    private record PricedProduct(int id, long price, int brandId, int typeId) {
+    }
+
+    /**
+     * One window of the products in a price range, in price order.
+     *
+     * @param ids the IDs of the products in the window
+     * @param totalMatches the number of products in the range that match the filters
+     */
+    public record Window(List<Integer> ids, long totalMatches) {
+    }
+
+    /**
+     * Starts a load. The lists are built aside from the loaded batches and swapped in at the end;
+     * changes that arrive in the meantime are applied again to the new lists.
+     */
+    @Override
+    public void beginLoad() {
+        log.info("Building product price index");
+        loadedProducts = new ArrayList<>();
+        lock.writeLock().lock();
+        try {
+            changesDuringLoad = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void loadBatch(List<Product> batch) {
+        batch.forEach(product -> loadedProducts.add(toPricedProduct(product)));
+    }
+
+    @Override
+    public void endLoad() {
+        List<PricedProduct> products = loadedProducts;
+        loadedProducts = null;
+        products.sort(Comparator.comparingLong(PricedProduct::price).thenComparingInt(PricedProduct::id));
+
+        PriceList loadedAll = new PriceList(blockCapacity);
+        Map<Integer, PriceList> loadedByBrand = new HashMap<>();
+        Map<Integer, PriceList> loadedByType = new HashMap<>();
+        int maxId = 0;
+        for (PricedProduct product : products) {
+            loadedAll.append(product.price(), product.id());
+            if (product.brandId() != NONE) {
+                loadedByBrand.computeIfAbsent(product.brandId(), key -> new PriceList(blockCapacity))
+                        .append(product.price(), product.id());
+            }
+            if (product.typeId() != NONE) {
+                loadedByType.computeIfAbsent(product.typeId(), key -> new PriceList(blockCapacity))
+                        .append(product.price(), product.id());
+            }
+            maxId = Math.max(maxId, product.id());
+        }
+        long[] loadedPriceById = new long[maxId + 1];
+        int[] loadedBrandById = new int[maxId + 1];
+        int[] loadedTypeById = new int[maxId + 1];
+        Arrays.fill(loadedPriceById, NOT_INDEXED);
+        for (PricedProduct product : products) {
+            loadedPriceById[product.id()] = product.price();
+            loadedBrandById[product.id()] = product.brandId();
+            loadedTypeById[product.id()] = product.typeId();
+        }
+
+        lock.writeLock().lock();
+        try {
+            all = loadedAll;
+            byBrand = loadedByBrand;
+            byType = loadedByType;
+            priceById = loadedPriceById;
+            brandById = loadedBrandById;
+            typeById = loadedTypeById;
+            // The loaded batches may predate these changes; applying a change twice is harmless
+            changesDuringLoad.forEach(this::apply);
+            changesDuringLoad = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        ready = true;
+        log.info("Built product price index with {} products", products.size());
+    }
+
+    /**
+     * Applies a product change to the index after the surrounding transaction has committed.
+     *
+     * @param event the product change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            apply(event);
+            if (changesDuringLoad != null) {
+                changesDuringLoad.add(event);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Indicates whether the initial load has completed and the index can answer queries.
+     *
+     * @return true when the index is ready
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Returns one window of the products within a price range, ordered by price and then ID.
+     * Without a filter, or with a brand or a type alone, the window and the total are read off the
+     * range of the matching order directly; with both, the smaller of the brand's and the type's
+     * ranges is scanned once to count the matches and collect the window.
+     *
+     * @param minPrice the lowest price to include (optional)
+     * @param maxPrice the highest price to include (optional)
+     * @param brandId the ID of the brand to filter by (optional)
+     * @param typeId the ID of the type to filter by (optional)
+     * @param direction the sort direction, applied to the price and the ID
+     * @param offset the number of matches to skip
+     * @param limit the maximum number of matches to return
+     * @return the window of product IDs and the number of matches in the range
+     */
+    public Window search(Long minPrice, Long maxPrice, Integer brandId, Integer typeId,
+                         Sort.Direction direction, long offset, int limit) {
+        lock.readLock().lock();
+        try {
+            PriceList list = all;
+            IntPredicate filter = null;
+            if (brandId != null && typeId != null) {
+                int brand = brandId;
+                int type = typeId;
+                PriceList brandList = byBrand.get(brandId);
+                PriceList typeList = byType.get(typeId);
+                if (brandList == null || typeList == null) {
+                    return new Window(Collections.emptyList(), 0);
+                }
+                if (rangeSize(brandList, minPrice, maxPrice) <= rangeSize(typeList, minPrice, maxPrice)) {
+                    list = brandList;
+                    filter = id -> typeById[id] == type;
+                } else {
+                    list = typeList;
+                    filter = id -> brandById[id] == brand;
+                }
+            } else if (brandId != null) {
+                list = byBrand.get(brandId);
+            } else if (typeId != null) {
+                list = byType.get(typeId);
+            }
+            if (list == null) {
+                return new Window(Collections.emptyList(), 0);
+            }
+            int from = minPrice == null ? 0 : list.firstAtLeast(minPrice);
+            int to = maxPrice == null || maxPrice == Long.MAX_VALUE ? list.size() : list.firstAtLeast(maxPrice + 1);
+            if (from >= to) {
+                return new Window(Collections.emptyList(), 0);
+            }
+            List<Integer> window = new ArrayList<>(Math.max(0, limit));
+            long matches = list.scan(from, to, direction.isAscending(), filter, offset, limit, window);
+            return new Window(window, matches);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static int rangeSize(PriceList list, Long minPrice, Long maxPrice) {
+        int from = minPrice == null ? 0 : list.firstAtLeast(minPrice);
+        int to = maxPrice == null || maxPrice == Long.MAX_VALUE ? list.size() : list.firstAtLeast(maxPrice + 1);
+        return to - from;
+    }
+
+    private void apply(ProductChangedEvent event) {
+        Product product = event.getProduct();
+        removeProduct(product.getId());
+        if (event.getChangeType() == ProductChangedEvent.ChangeType.SAVED) {
+            addProduct(toPricedProduct(product));
+        }
+    }
+
+    private void addProduct(PricedProduct product) {
+        all.add(product.price(), product.id());
+        if (product.brandId() != NONE) {
+            byBrand.computeIfAbsent(product.brandId(), key -> new PriceList(blockCapacity))
+                    .add(product.price(), product.id());
+        }
+        if (product.typeId() != NONE) {
+            byType.computeIfAbsent(product.typeId(), key -> new PriceList(blockCapacity))
+                    .add(product.price(), product.id());
+        }
+
+        if (product.id() >= priceById.length) {
+            int length = priceById.length;
+            int capacity = Math.max(product.id() + 1, length + (length >> 1));
+            priceById = Arrays.copyOf(priceById, capacity);
+            brandById = Arrays.copyOf(brandById, capacity);
+            typeById = Arrays.copyOf(typeById, capacity);
+            Arrays.fill(priceById, length, capacity, NOT_INDEXED);
+        }
+        priceById[product.id()] = product.price();
+        brandById[product.id()] = product.brandId();
+        typeById[product.id()] = product.typeId();
+    }
+
+    private void removeProduct(Integer productId) {
+        if (productId == null || productId >= priceById.length || priceById[productId] == NOT_INDEXED) {
+            return;
+        }
+        long price = priceById[productId];
+        all.remove(price, productId);
+        removeFrom(byBrand, brandById[productId], price, productId);
+        removeFrom(byType, typeById[productId], price, productId);
+        priceById[productId] = NOT_INDEXED;
+    }
+
+    private static void removeFrom(Map<Integer, PriceList> lists, int key, long price, int productId) {
+        PriceList list = lists.get(key);
+        if (list != null) {
+            list.remove(price, productId);
+            if (list.size() == 0) {
+                lists.remove(key);
+            }
+        }
+    }
+
+    private static PricedProduct toPricedProduct(Product product) {
+        int brandId = product.getBrand() != null ? product.getBrand().getId() : NONE;
+        int typeId = product.getType() != null ? product.getType().getId() : NONE;
+        long price = product.getPrice() != null ? product.getPrice() : 0L;
+        return new PricedProduct(product.getId(), price, brandId, typeId);
+    }
+
+    private static boolean isBefore(long price, int id, long otherPrice, int otherId) {
+        return price < otherPrice || (price == otherPrice && id < otherId);
+    }
+
+    /**
+     * Entries of a price and a product ID ordered by price, then ID, split into blocks of at most a fixed
+     * number of entries. An insert or a removal shifts the entries of one block; a full block is split in
+     * two and a block that has become small is merged with its successor. Must be used while holding the lock.
+     */
+    private static final class PriceList {
+
+        private final int blockCapacity;
+        private final List<Block> blocks = new ArrayList<>();
+        private int size;
+
+        PriceList(int blockCapacity) {
+            this.blockCapacity = blockCapacity;
+        }
+
+        int size() {
+            return size;
+        }
+
+        /**
+         * Adds an entry ordered after every other entry, used to build a list from sorted input.
+         */
+        void append(long price, int id) {
+            Block last = blocks.isEmpty() ? null : blocks.get(blocks.size() - 1);
+            if (last == null || last.size == blockCapacity) {
+                last = new Block(blockCapacity);
+                blocks.add(last);
+            }
+            last.insert(last.size, price, id);
+            size++;
+        }
+
+        void add(long price, int id) {
+            if (blocks.isEmpty()) {
+                append(price, id);
+                return;
+            }
+            int blockIndex = blockFor(price, id);
+            Block block = blocks.get(blockIndex);
+            if (block.size == blockCapacity) {
+                Block upper = block.split();
+                blocks.add(blockIndex + 1, upper);
+                if (!isBefore(price, id, upper.prices[0], upper.ids[0])) {
+                    block = upper;
+                }
+            }
+            block.insert(block.position(price, id), price, id);
+            size++;
+        }
+
+        void remove(long price, int id) {
+            if (blocks.isEmpty()) {
+                return;
+            }
+            int blockIndex = blockFor(price, id);
+            Block block = blocks.get(blockIndex);
+            int index = block.position(price, id);
+            if (index == block.size || block.prices[index] != price || block.ids[index] != id) {
+                return;
+            }
+            block.delete(index);
+            size--;
+            if (block.size == 0) {
+                blocks.remove(blockIndex);
+            } else if (block.size < blockCapacity / 4 && blockIndex + 1 < blocks.size()
+                    && block.size + blocks.get(blockIndex + 1).size <= blockCapacity / 2) {
+                block.absorb(blocks.remove(blockIndex + 1));
+            }
+        }
+
+        /**
+         * Counts the entries priced below the given price.
+         */
+        int firstAtLeast(long price) {
+            if (blocks.isEmpty()) {
+                return 0;
+            }
+            int blockIndex = blockFor(price, Integer.MIN_VALUE);
+            int rank = 0;
+            for (int i = 0; i < blockIndex; i++) {
+                rank += blocks.get(i).size;
+            }
+            return rank + blocks.get(blockIndex).position(price, Integer.MIN_VALUE);
+        }
+
+        /**
+         * Visits the entries with a rank in [from, to) in the given direction and collects the IDs of the
+         * matches after the first offset ones into the window, up to the limit. Without a filter every entry
+         * matches, so the scan starts at the offset and stops once the window is full.
+         *
+         * @return the number of matches in the range
+         */
+        long scan(int from, int to, boolean ascending, IntPredicate filter, long offset, int limit,
+                  List<Integer> window) {
+            long skipped = filter == null ? offset : 0;
+            if (skipped >= to - from) {
+                return filter == null ? to - from : 0;
+            }
+            int first = ascending ? from + (int) skipped : to - 1 - (int) skipped;
+            int remaining = to - from - (int) skipped;
+            long matches = 0;
+
+            int blockIndex = 0;
+            int index = first;
+            while (index >= blocks.get(blockIndex).size) {
+                index -= blocks.get(blockIndex).size;
+                blockIndex++;
+            }
+            Block block = blocks.get(blockIndex);
+            while (remaining > 0) {
+                int id = block.ids[index];
+                if (filter == null) {
+                    if (window.size() >= limit) {
+                        break;
+                    }
+                    window.add(id);
+                } else if (filter.test(id)) {
+                    if (matches >= offset && window.size() < limit) {
+                        window.add(id);
+                    }
+                    matches++;
+                }
+                if (--remaining == 0) {
+                    break;
+                }
+                if (ascending && ++index == block.size) {
+                    block = blocks.get(++blockIndex);
+                    index = 0;
+                } else if (!ascending && --index < 0) {
+                    block = blocks.get(--blockIndex);
+                    index = block.size - 1;
+                }
+            }
+            return filter == null ? to - from : matches;
+        }
+
+        /**
+         * Finds the last block whose first entry is not ordered after the given price and ID, or the first block.
+         */
+        private int blockFor(long price, int id) {
+            int low = 0;
+            int high = blocks.size() - 1;
+            while (low < high) {
+                int middle = (low + high + 1) >>> 1;
+                Block block = blocks.get(middle);
+                if (isBefore(price, id, block.prices[0], block.ids[0])) {
+                    high = middle - 1;
+                } else {
+                    low = middle;
+                }
+            }
+            return low;
+        }
+    }
+
+    /**
+     * A sorted run of entries in parallel arrays; never empty while it belongs to a list.
+     */
+    private static final class Block {
+
+        private final long[] prices;
+        private final int[] ids;
+        private int size;
+
+        Block(int capacity) {
+            prices = new long[capacity];
+            ids = new int[capacity];
+        }
+
+        /**
+         * Finds the first entry that is not ordered before the given price and ID.
+         */
+        int position(long price, int id) {
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (isBefore(prices[middle], ids[middle], price, id)) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+
+        void insert(int index, long price, int id) {
+            System.arraycopy(prices, index, prices, index + 1, size - index);
+            System.arraycopy(ids, index, ids, index + 1, size - index);
+            prices[index] = price;
+            ids[index] = id;
+            size++;
+        }
+
+        void delete(int index) {
+            System.arraycopy(prices, index + 1, prices, index, size - index - 1);
+            System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+            size--;
+        }
+
+        /**
+         * Moves the upper half of the entries into a new block and returns it.
+         */
+        Block split() {
+            Block upper = new Block(prices.length);
+            int half = size / 2;
+            upper.size = size - half;
+            System.arraycopy(prices, half, upper.prices, 0, upper.size);
+            System.arraycopy(ids, half, upper.ids, 0, upper.size);
+            size = half;
+            return upper;
+        }
+
+        /**
+         * Appends the entries of the following block.
+         */
+        void absorb(Block next) {
+            System.arraycopy(next.prices, 0, prices, size, next.size);
+            System.arraycopy(next.ids, 0, ids, size, next.size);
+            size += next.size;
+        }
+    }
+}
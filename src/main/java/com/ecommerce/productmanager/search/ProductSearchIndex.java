@@ -0,0 +1,315 @@
+package com.ecommerce.productmanager.search;
+
+import com.ecommerce.productmanager.entity.Product;
+import com.ecommerce.productmanager.event.ProductChangedEvent;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * ProductSearchIndex is an in-process inverted index over product names and descriptions.
+ * Every product is tokenized into lower-case words; each word maps to the products containing it,
+ * and every word is further split into trigrams so that substring queries can be answered
+ * without scanning the Product table.
+ * The index is filled by the {@link CatalogLoader} once the application is ready and is kept
+ * current through {@link ProductChangedEvent}s.
+ */
+@Component
+@Log4j2
+public class ProductSearchIndex implements CatalogIndex {
+
+    private static final int NAME_WEIGHT = 3;
+    private static final int DESCRIPTION_WEIGHT = 1;
+    private static final int NGRAM_SIZE = 3;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // token -> (product ID -> weight of the token in that product)
+    private final Map<String, Map<Integer, Integer>> postings = new HashMap<>();
+    // trigram -> tokens containing the trigram
+    private final Map<String, Set<String>> ngrams = new HashMap<>();
+    // sorted vocabulary, used for prefix lookups of terms shorter than a trigram
+    private final NavigableSet<String> vocabulary = new TreeSet<>();
+    // product ID -> indexed document, used for filtering and for removing stale postings
+    private final Map<Integer, IndexedProduct> documents = new HashMap<>();
+
+    private volatile boolean ready;
+
+    /**
+     * A product as seen by the index: its tokens and the filterable attributes.
+     */
+    private record IndexedProduct(Map<String, Integer> tokens, Integer brandId, Integer typeId, Long price) {
+    }
+
+    @Override
+    public void beginLoad() {
+        log.info("Building product search index");
+    }
+
+    @Override
+    public void loadBatch(List<Product> products) {
+        lock.writeLock().lock();
+        try {
+            for (Product product : products) {
+                removeProduct(product.getId());
+                addProduct(product);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void endLoad() {
+        ready = true;
+        lock.readLock().lock();
+        try {
+            log.info("Built product search index with {} products and {} tokens", documents.size(), postings.size());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Applies a product change to the index after the surrounding transaction has committed.
+     *
+     * @param event the product change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        Product product = event.getProduct();
+        lock.writeLock().lock();
+        try {
+            removeProduct(product.getId());
+            if (event.getChangeType() == ProductChangedEvent.ChangeType.SAVED) {
+                addProduct(product);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Indicates whether the initial load has completed and the index can answer queries.
+     *
+     * @return true when the index is ready
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Searches the index for products matching every term of the keyword.
+     * Terms of three or more characters match any word containing them; shorter terms match word prefixes.
+     *
+     * @param keyword the keyword entered by the user
+     * @param brandId the ID of the brand to filter by (optional)
+     * @param typeId the ID of the type to filter by (optional)
+     * @return the matching product IDs, best match first
+     */
+    public List<Integer> search(String keyword, Integer brandId, Integer typeId) {
+        return search(keyword, brandId, typeId, null, null);
+    }
+
+    /**
+     * Searches the index for products matching every term of the keyword within a price range.
+     *
+     * @param keyword the keyword entered by the user
+     * @param brandId the ID of the brand to filter by (optional)
+     * @param typeId the ID of the type to filter by (optional)
+     * @param minPrice the lowest price to include (optional)
+     * @param maxPrice the highest price to include (optional)
+     * @return the matching product IDs, best match first
+     */
+    public List<Integer> search(String keyword, Integer brandId, Integer typeId, Long minPrice, Long maxPrice) {
+        lock.readLock().lock();
+        try {
+            Map<Integer, Integer> scores = match(keyword, DESCRIPTION_WEIGHT);
+            List<Map.Entry<Integer, Integer>> ranked = new ArrayList<>(scores.size());
+            for (Map.Entry<Integer, Integer> entry : scores.entrySet()) {
+                IndexedProduct document = documents.get(entry.getKey());
+                if ((brandId == null || brandId.equals(document.brandId()))
+                        && (typeId == null || typeId.equals(document.typeId()))
+                        && (minPrice == null || (document.price() != null && document.price() >= minPrice))
+                        && (maxPrice == null || (document.price() != null && document.price() <= maxPrice))) {
+                    ranked.add(entry);
+                }
+            }
+            ranked.sort(Map.Entry.<Integer, Integer>comparingByValue(Comparator.reverseOrder())
+                    .thenComparing(Map.Entry.comparingByKey()));
+            List<Integer> ids = new ArrayList<>(ranked.size());
+            ranked.forEach(entry -> ids.add(entry.getKey()));
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Searches the index for products whose name matches every term of the keyword; descriptions are ignored.
+     *
+     * @param keyword the keyword entered by the user
+     * @return the IDs of the matching products, in ascending order
+     */
+    public List<Integer> searchNames(String keyword) {
+        lock.readLock().lock();
+        try {
+            List<Integer> ids = new ArrayList<>(match(keyword, NAME_WEIGHT).keySet());
+            Collections.sort(ids);
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Scores the products matching every term of the keyword, counting only words whose weight in a
+     * product reaches the minimum weight. Must be called while holding the read lock.
+     */
+    private Map<Integer, Integer> match(String keyword, int minimumWeight) {
+        Map<Integer, Integer> scores = null;
+        for (String term : tokenize(keyword)) {
+            Map<Integer, Integer> termScores = scoreTerm(term, minimumWeight);
+            if (scores == null) {
+                scores = termScores;
+            } else {
+                // Every term has to match, so keep only products present in both maps
+                scores.keySet().retainAll(termScores.keySet());
+                scores.replaceAll((id, score) -> score + termScores.get(id));
+            }
+            if (scores.isEmpty()) {
+                break;
+            }
+        }
+        return scores != null ? scores : Collections.emptyMap();
+    }
+
+    /**
+     * Scores all products containing a word that matches the given term with at least the minimum weight.
+     * Exact word matches score twice as high as partial matches.
+     */
+    private Map<Integer, Integer> scoreTerm(String term, int minimumWeight) {
+        Map<Integer, Integer> scores = new HashMap<>();
+        for (String token : matchingTokens(term)) {
+            int multiplier = token.equals(term) ? 2 : 1;
+            postings.get(token).forEach((id, weight) -> {
+                // Name words weigh at least NAME_WEIGHT, words found only in the description less
+                if (weight >= minimumWeight) {
+                    scores.merge(id, weight * multiplier, Integer::sum);
+                }
+            });
+        }
+        return scores;
+    }
+
+    /**
+     * Resolves the indexed words matching a term, using the trigram index for longer terms
+     * and the sorted vocabulary for short prefixes.
+     */
+    private Set<String> matchingTokens(String term) {
+        if (term.length() < NGRAM_SIZE) {
+            return vocabulary.subSet(term, true, term + Character.MAX_VALUE, true);
+        }
+        Set<String> candidates = null;
+        for (String ngram : ngrams(term)) {
+            Set<String> tokens = ngrams.get(ngram);
+            if (tokens == null) {
+                return Collections.emptySet();
+            }
+            if (candidates == null) {
+                candidates = new HashSet<>(tokens);
+            } else {
+                candidates.retainAll(tokens);
+            }
+        }
+        // Trigrams may occur in a different order, so confirm the substring match
+        candidates.removeIf(token -> !token.contains(term));
+        return candidates;
+    }
+
+    private void addProduct(Product product) {
+        Map<String, Integer> tokens = new HashMap<>();
+        tokenize(product.getName()).forEach(token -> tokens.merge(token, NAME_WEIGHT, Integer::sum));
+        tokenize(product.getDescription()).forEach(token -> tokens.merge(token, DESCRIPTION_WEIGHT, Integer::sum));
+        Integer brandId = product.getBrand() != null ? product.getBrand().getId() : null;
+        Integer typeId = product.getType() != null ? product.getType().getId() : null;
+        documents.put(product.getId(), new IndexedProduct(tokens, brandId, typeId, product.getPrice()));
+
+        tokens.forEach((token, weight) -> {
+            Map<Integer, Integer> products = postings.get(token);
+            if (products == null) {
+                products = new HashMap<>();
+                postings.put(token, products);
+                vocabulary.add(token);
+                for (String ngram : ngrams(token)) {
+                    ngrams.computeIfAbsent(ngram, key -> new HashSet<>()).add(token);
+                }
+            }
+            products.put(product.getId(), weight);
+        });
+    }
+
+    private void removeProduct(Integer productId) {
+        IndexedProduct document = documents.remove(productId);
+        if (document == null) {
+            return;
+        }
+        for (String token : document.tokens().keySet()) {
+            Map<Integer, Integer> products = postings.get(token);
+            products.remove(productId);
+            if (products.isEmpty()) {
+                postings.remove(token);
+                vocabulary.remove(token);
+                for (String ngram : ngrams(token)) {
+                    Set<String> tokens = ngrams.get(ngram);
+                    tokens.remove(token);
+                    if (tokens.isEmpty()) {
+                        ngrams.remove(ngram);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Splits text into lower-case words made of letters and digits.
+     */
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return Collections.emptyList();
+        }
+        Set<String> tokens = new LinkedHashSet<>();
+        for (String token : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return new ArrayList<>(tokens);
+    }
+
+    /**
+     * Splits a word into its overlapping trigrams. Words shorter than a trigram have none.
+     */
+    private static Set<String> ngrams(String token) {
+        Set<String> result = new HashSet<>();
+        for (int i = 0; i + NGRAM_SIZE <= token.length(); i++) {
+            result.add(token.substring(i, i + NGRAM_SIZE));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,241 @@
+package com.ecommerce.productmanager.search;
+
+import com.ecommerce.productmanager.entity.Brand;
+import com.ecommerce.productmanager.entity.Product;
+import com.ecommerce.productmanager.entity.Type;
+import com.ecommerce.productmanager.event.ProductChangedEvent;
+import com.ecommerce.productmanager.event.ReferenceDataChangedEvent;
+import com.ecommerce.productmanager.model.ProductSales;
+import com.ecommerce.productmanager.model.ProductSuggestion;
+import com.ecommerce.productmanager.repository.BrandRepository;
+import com.ecommerce.productmanager.repository.OrderRepository;
+import com.ecommerce.productmanager.repository.TypeRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * ProductSuggestIndex serves search suggestions for product, brand and type names from a
+ * {@link CompletionIndex}. Products are weighted by the units sold over all orders, brands and
+ * types by the units sold of their products, so popular names are suggested first.
+ * The product names are filled by the {@link CatalogLoader} once the application is ready and kept
+ * current through {@link ProductChangedEvent}s, so the index is rebuilt from memory as a whole on a
+ * background thread: after product, brand or type changes, which are coalesced over the rebuild delay,
+ * and when the sales figures are refreshed. Lookups keep using the previous index until the new one is swapped in.
+ */
+@Component
+@Log4j2
+public class ProductSuggestIndex implements CatalogIndex {
+
+    private final BrandRepository brandRepository;
+    private final TypeRepository typeRepository;
+    private final OrderRepository orderRepository;
+    private final Duration rebuildDelay;
+    private final Duration salesRefreshInterval;
+    private final ScheduledExecutorService executor =
+            Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("product-suggest").daemon().factory());
+    // set while a rebuild is scheduled but has not started yet
+    private final AtomicBoolean rebuildScheduled = new AtomicBoolean();
+    // product ID -> the attributes the index is built from
+    private final Map<Integer, SuggestedProduct> products = new ConcurrentHashMap<>();
+    // changes applied while a load is running, replayed once it has read every batch
+    private final Queue<ProductChangedEvent> changesDuringLoad = new ConcurrentLinkedQueue<>();
+
+    private volatile CompletionIndex index = CompletionIndex.empty();
+    private volatile boolean ready;
+    private volatile boolean loading;
+    // product ID -> units sold, guarded by this
+    private Map<Integer, Long> unitsSold = Map.of();
+
+    public ProductSuggestIndex(BrandRepository brandRepository, TypeRepository typeRepository,
+                               OrderRepository orderRepository,
+                               @Value("${product.suggest.rebuild-delay:5s}") Duration rebuildDelay,
+                               @Value("${product.suggest.sales-refresh-interval:15m}") Duration salesRefreshInterval) {
+        this.brandRepository = brandRepository;
+        this.typeRepository = typeRepository;
+        this.orderRepository = orderRepository;
+        this.rebuildDelay = rebuildDelay;
+        this.salesRefreshInterval = salesRefreshInterval;
+    }
+
+    /**
+     * A product as seen by the index.
+     */
+    private record SuggestedProduct(String name, Integer brandId, Integer typeId) {
+    }
+
+    @Override
+    public void beginLoad() {
+        loading = true;
+    }
+
+    @Override
+    public void loadBatch(List<Product> batch) {
+        batch.forEach(this::putProduct);
+    }
+
+    /**
+     * Builds the index from the loaded products and, after the initial load, schedules the
+     * refreshes of the sales figures.
+     */
+    @Override
+    public void endLoad() {
+        loading = false;
+        // The loaded batches may predate these changes; applying a change twice is harmless
+        for (ProductChangedEvent event; (event = changesDuringLoad.poll()) != null; ) {
+            apply(event);
+        }
+        boolean initialLoad = !ready;
+        refreshSales();
+        ready = true;
+        if (initialLoad) {
+            executor.scheduleWithFixedDelay(this::refreshSales, salesRefreshInterval.toMillis(),
+                    salesRefreshInterval.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Applies a product change and schedules a rebuild once the change has been committed.
+     *
+     * @param event the product change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        // Recorded before it is applied, so a load that misses it has already read its last batch
+        if (loading) {
+            changesDuringLoad.add(event);
+        }
+        apply(event);
+        scheduleRebuild();
+    }
+
+    /**
+     * Schedules a rebuild once a brand or type change has been committed.
+     *
+     * @param event the reference data change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReferenceDataChanged(ReferenceDataChangedEvent event) {
+        scheduleRebuild();
+    }
+
+    /**
+     * Indicates whether the initial build has completed and the index can answer lookups.
+     *
+     * @return true when the index is ready
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Returns the most popular product, brand and type names with a word starting with the prefix.
+     *
+     * @param prefix the typed text
+     * @param limit the maximum number of suggestions
+     * @return the suggestions, most popular first
+     */
+    public List<ProductSuggestion> suggest(String prefix, int limit) {
+        return index.complete(prefix, limit);
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Schedules a rebuild after the rebuild delay unless one is already pending, so a burst of
+     * changes causes a single rebuild. Before the initial build the change is picked up by that build.
+     */
+    private void scheduleRebuild() {
+        if (ready && rebuildScheduled.compareAndSet(false, true)) {
+            executor.schedule(() -> {
+                // Changes from here on schedule another rebuild
+                rebuildScheduled.set(false);
+                rebuild();
+            }, rebuildDelay.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private synchronized void refreshSales() {
+        try {
+            Map<Integer, Long> sales = new HashMap<>();
+            for (ProductSales productSales : orderRepository.findProductSales()) {
+                sales.put(productSales.getProductId(), productSales.getUnitsSold());
+            }
+            unitsSold = sales;
+        } catch (RuntimeException ex) {
+            // Keeps the previous figures; the scheduled refresh would stop for good if this escaped
+            log.warn("Could not refresh product sales for suggestions: {}", ex.getMessage());
+        }
+        rebuild();
+    }
+
+    private synchronized void rebuild() {
+        try {
+            long start = System.nanoTime();
+            Map<Integer, String> brandNames = new HashMap<>();
+            for (Brand brand : brandRepository.findAll()) {
+                brandNames.put(brand.getId(), brand.getName());
+            }
+            Map<Integer, String> typeNames = new HashMap<>();
+            for (Type type : typeRepository.findAll()) {
+                typeNames.put(type.getId(), type.getName());
+            }
+            Map<Integer, Long> brandWeights = new HashMap<>();
+            Map<Integer, Long> typeWeights = new HashMap<>();
+
+            CompletionIndex.Builder builder = new CompletionIndex.Builder();
+            products.forEach((id, product) -> {
+                long weight = unitsSold.getOrDefault(id, 0L);
+                builder.add(ProductSuggestion.Kind.PRODUCT, id, product.name(), weight);
+                if (product.brandId() != null) {
+                    brandWeights.merge(product.brandId(), weight, Long::sum);
+                }
+                if (product.typeId() != null) {
+                    typeWeights.merge(product.typeId(), weight, Long::sum);
+                }
+            });
+            brandNames.forEach((id, name) ->
+                    builder.add(ProductSuggestion.Kind.BRAND, id, name, brandWeights.getOrDefault(id, 0L)));
+            typeNames.forEach((id, name) ->
+                    builder.add(ProductSuggestion.Kind.TYPE, id, name, typeWeights.getOrDefault(id, 0L)));
+
+            CompletionIndex built = builder.build();
+            index = built;
+            log.info("Built product suggestion index with {} names in {} ms", built.size(),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        } catch (RuntimeException ex) {
+            log.warn("Could not rebuild product suggestion index, keeping the previous one: {}", ex.getMessage());
+        }
+    }
+
+    private void apply(ProductChangedEvent event) {
+        if (event.getChangeType() == ProductChangedEvent.ChangeType.SAVED) {
+            putProduct(event.getProduct());
+        } else {
+            products.remove(event.getProduct().getId());
+        }
+    }
+
+    private void putProduct(Product product) {
+        Integer brandId = product.getBrand() != null ? product.getBrand().getId() : null;
+        Integer typeId = product.getType() != null ? product.getType().getId() : null;
+        products.put(product.getId(), new SuggestedProduct(product.getName(), brandId, typeId));
+    }
+}
@@ -1,14 +1,15 @@
 package com.ecommerce.productmanager.security;
 
-import io.jsonwebtoken.ExpiredJwtException;
-import io.jsonwebtoken.MalformedJwtException;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import lombok.extern.log4j.Log4j2;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
@@ -16,27 +17,32 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.List;
 
 /**
  * Filter to handle JWT authentication for incoming requests.
  * This filter intercepts each request and checks for a valid JWT token in the Authorization header.
  * If a valid token is found, the user is authenticated and the request proceeds.
+ * The principal is built from the token's claims; the UserDetailsService is only consulted
+ * for tokens issued before the roles claim was added.
  */
 @Component
-@Log4j2
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private final JwtHelper jwtHelper;
     private final UserDetailsService userDetailsService;
+    private final SecurityEventLogger securityEventLogger;
 
     /**
-     * Constructor to initialize JwtAuthenticationFilter with JwtHelper and UserDetailsService.
+     * Constructor to initialize JwtAuthenticationFilter with JwtHelper, UserDetailsService and SecurityEventLogger.
      *
      * @param jwtHelper utility class to work with JWT tokens
      * @param userDetailsService service to load user-specific data
+     * @param securityEventLogger records rejected tokens as metrics and rate-limited log lines
      */
-    public JwtAuthenticationFilter(JwtHelper jwtHelper, UserDetailsService userDetailsService) {
+    public JwtAuthenticationFilter(JwtHelper jwtHelper, UserDetailsService userDetailsService, SecurityEventLogger securityEventLogger) {
         this.jwtHelper = jwtHelper;
         this.userDetailsService = userDetailsService;
+        this.securityEventLogger = securityEventLogger;
     }
 
     /**
@@ -50,44 +56,58 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
      */
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
-        // Get the Authorization header from the request
+        // Get the Authorization header from the request; it is never logged, as it carries a credential
         String requestHeader = request.getHeader("Authorization");
-        log.info("Header: {}", requestHeader);
 
-        String userName = null;
-        String token = null;
+        Claims claims = null;
 
         // Check if the Authorization header contains a Bearer token
         if (requestHeader != null && requestHeader.startsWith("Bearer ")) {
-            token = requestHeader.substring(7); // Extract the token from the header
+            String token = requestHeader.substring(7); // Extract the token from the header
             try {
-                // Extract the username from the token
-                userName = this.jwtHelper.getUserNameFromToken(token);
-            } catch (IllegalArgumentException | ExpiredJwtException | MalformedJwtException e) {
-                log.info("Jwt Token Processing Error");
-                e.printStackTrace();
+                // Verify the token once; repeated requests with the same token are served from the claims cache
+                claims = this.jwtHelper.getAllClaimsFromToken(token);
+            } catch (IllegalArgumentException | JwtException e) {
+                securityEventLogger.tokenRejected(SecurityEventLogger.TokenFailure.of(e), request);
             }
-        } else {
-            log.warn("JWT token doesn't start with Bearer String");
         }
+        // Requests without a bearer token are anonymous, which is normal for public endpoints
 
         // Validate the token and set the authentication if the token is valid
-        if (userName != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            // Fetch user details using the username extracted from the token
-            UserDetails userDetails = this.userDetailsService.loadUserByUsername(userName);
-            Boolean validateToken = this.jwtHelper.validateToken(token, userDetails);
+        if (claims != null && claims.getSubject() != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+            UserDetails userDetails = buildUserDetails(claims);
 
-            if (validateToken) {
+            if (!this.jwtHelper.isTokenExpired(claims)) {
                 // Create an authentication token and set it in the security context
                 UsernamePasswordAuthenticationToken authenticationToken = new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
                 authenticationToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                 SecurityContextHolder.getContext().setAuthentication(authenticationToken);
             } else {
-                log.info("Token is not valid");
+                // Claims cached just before the token expired
+                securityEventLogger.tokenRejected(SecurityEventLogger.TokenFailure.EXPIRED, request);
             }
         }
 
         // Proceed with the filter chain
         filterChain.doFilter(request, response);
     }
+
+    /**
+     * Builds the authenticated principal from verified claims.
+     *
+     * @param claims the verified claims of the token
+     * @return the user details of the token's subject
+     */
+    @SuppressWarnings("unchecked")
+    private UserDetails buildUserDetails(Claims claims) {
+        List<String> roles = claims.get(JwtHelper.ROLES_CLAIM, List.class);
+        if (roles == null) {
+            // Tokens issued before the roles claim existed carry no authorities
+            return this.userDetailsService.loadUserByUsername(claims.getSubject());
+        }
+        return User.withUsername(claims.getSubject())
+                .password("")
+                .authorities(roles.stream().map(SimpleGrantedAuthority::new).toList())
+                .build();
+    }
 }
@@ -1,17 +1,38 @@
 package com.ecommerce.productmanager.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jws;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.MissingClaimException;
 import io.jsonwebtoken.security.Keys;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
+/**
+ * Issues and verifies JWT tokens.
+ * Verified claims are cached by the SHA-256 hash of the token until the token expires, so a token
+ * is parsed and its signature checked once rather than on every request that presents it.
+ * A cache size of 0 turns the cache off, so every call parses and verifies the token.
+ * Tokens without an expiration are rejected, as they would otherwise stay valid forever.
+ */
 @Component
 public class JwtHelper {
     // Token validity time in seconds (5 hours)
@@ -20,9 +41,47 @@ public class JwtHelper {
     // Secret key for signing the JWT
     private String secret = "f27dacd186810e78c0fd8ba65ecf3f1524ff087c5e86773d5172d424b3fd201f";
 
+    // Name of the claim that carries the user's granted authorities
+    public static final String ROLES_CLAIM = "roles";
+
     // Create a SecretKey instance from the secret string
     private SecretKey key = Keys.hmacShaKeyFor(secret.getBytes());
 
+    // Parsers are immutable and thread-safe, so one instance serves every request
+    private final JwtParser parser = Jwts.parser().verifyWith(key).build();
+
+    // SHA-256 of the token -> verified claims, each entry expiring together with its token; null when disabled
+    private final Cache<String, Claims> claimsCache;
+
+    public JwtHelper(@Value("${security.jwt.claims-cache.maximum-size:10000}") long claimsCacheSize) {
+        if (claimsCacheSize == 0) {
+            // A Caffeine cache of size 0 still serves hits until its asynchronous eviction runs
+            this.claimsCache = null;
+            return;
+        }
+        this.claimsCache = Caffeine.newBuilder()
+                .maximumSize(claimsCacheSize)
+                .expireAfter(new Expiry<String, Claims>() {
+                    @Override
+                    public long expireAfterCreate(String tokenHash, Claims claims, long currentTime) {
+                        // verify() only returns claims that carry an expiration
+                        long millisLeft = claims.getExpiration().getTime() - System.currentTimeMillis();
+                        return TimeUnit.MILLISECONDS.toNanos(Math.max(millisLeft, 0));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String tokenHash, Claims claims, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String tokenHash, Claims claims, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
     /**
      * Retrieve username from JWT token
      */
@@ -38,10 +97,19 @@ public class JwtHelper {
     }
 
     /**
-     * Generate token for user
+     * Retrieve the granted authorities from JWT token, or null for tokens issued without them
+     */
+    @SuppressWarnings("unchecked")
+    public List<String> getRolesFromToken(String token) {
+        return getClaimFromToken(token, claims -> claims.get(ROLES_CLAIM, List.class));
+    }
+
+    /**
+     * Generate token for user; the user's authorities are included so requests can be authenticated from the token alone
      */
     public String generateToken(UserDetails userDetails) {
         Map<String, Object> claims = new HashMap<>();
+        claims.put(ROLES_CLAIM, userDetails.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList());
         return generateToken(claims, userDetails.getUsername());
     }
 
@@ -49,16 +117,29 @@ public class JwtHelper {
      * Validate token
      */
     public Boolean validateToken(String token, UserDetails userDetails) {
-        final String username = getUserNameFromToken(token);
-        return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+        final Claims claims = getAllClaimsFromToken(token);
+        return (claims.getSubject().equals(userDetails.getUsername()) && !isTokenExpired(claims));
+    }
+
+    /**
+     * Check if the token has expired; cached claims may outlive their token by a few milliseconds
+     */
+    public boolean isTokenExpired(Claims claims) {
+        return claims.getExpiration().before(new Date());
     }
 
     /**
-     * Check if the token has expired
+     * Sign a short-lived token with the signing key and verify it again, bypassing the claims cache
+     *
+     * @return the JWS algorithm of the signing key
      */
-    private boolean isTokenExpired(String token) {
-        final Date expiration = getExpirationDateFromToken(token);
-        return expiration.before(new Date());
+    public String verifySigningKey() {
+        String token = Jwts.builder()
+                .subject("key-check")
+                .expiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(key)
+                .compact();
+        return parser.parseSignedClaims(token).getHeader().getAlgorithm();
     }
 
     /**
@@ -83,13 +164,38 @@ public class JwtHelper {
     }
 
     /**
-     * For retrieving any information from token we will need the secret key
+     * Retrieve the verified claims of a token, parsing and verifying it only on the first call.
+     * Invalid tokens are not cached; the parser's exception is thrown on every call.
+     */
+    public Claims getAllClaimsFromToken(String token) {
+        if (claimsCache == null) {
+            return verify(token);
+        }
+        return claimsCache.get(hash(token), tokenHash -> verify(token));
+    }
+
+    /**
+     * Parse the token and check its signature and expiration claim
+     */
+    private Claims verify(String token) {
+        Jws<Claims> jws = parser.parseSignedClaims(token);
+        Claims claims = jws.getPayload();
+        if (claims.getExpiration() == null) {
+            throw new MissingClaimException(jws.getHeader(), claims, Claims.EXPIRATION, null,
+                    "JWT has no expiration claim");
+        }
+        return claims;
+    }
+
+    /**
+     * Hash the token so the cache does not keep usable credentials in memory
      */
-    private Claims getAllClaimsFromToken(String token) {
-        return Jwts.parser()
-                .verifyWith(key)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,126 @@
+package com.ecommerce.productmanager.security;
+
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.MalformedJwtException;
+import io.jsonwebtoken.UnsupportedJwtException;
+import io.jsonwebtoken.security.SignatureException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * SecurityEventLogger records rejected tokens without putting the request path on the console I/O path.
+ * Every rejection is counted in the security.token.failures metric, tagged by reason.
+ * Log lines are structured as key=value pairs, never contain the token, are sampled, and are limited
+ * to a fixed number per second; lines over the limit are dropped and their number is reported with
+ * the next line that is written. The security.events logger is written by an asynchronous appender
+ * (see logback-spring.xml).
+ */
+@Component
+@Log4j2(topic = "security.events")
+public class SecurityEventLogger {
+
+    /**
+     * Why a token was rejected; the value is used as the reason tag and in log lines.
+     */
+    public enum TokenFailure {
+        EXPIRED("expired"),
+        MALFORMED("malformed"),
+        BAD_SIGNATURE("bad_signature"),
+        UNSUPPORTED("unsupported"),
+        INVALID("invalid");
+
+        private final String tag;
+
+        TokenFailure(String tag) {
+            this.tag = tag;
+        }
+
+        /**
+         * Classifies an exception thrown while parsing a token.
+         *
+         * @param ex the exception
+         * @return the matching failure reason
+         */
+        public static TokenFailure of(RuntimeException ex) {
+            if (ex instanceof ExpiredJwtException) {
+                return EXPIRED;
+            }
+            if (ex instanceof MalformedJwtException) {
+                return MALFORMED;
+            }
+            if (ex instanceof SignatureException) {
+                return BAD_SIGNATURE;
+            }
+            if (ex instanceof UnsupportedJwtException) {
+                return UNSUPPORTED;
+            }
+            return INVALID;
+        }
+    }
+
+    private final Map<TokenFailure, Counter> failureCounters = new EnumMap<>(TokenFailure.class);
+    private final double sampleRate;
+    private final int maxPerSecond;
+
+    // Start of the current one-second window, the lines written in it, and the lines dropped since the last one written
+    private final AtomicLong windowStart = new AtomicLong();
+    private final AtomicLong writtenInWindow = new AtomicLong();
+    private final AtomicLong suppressed = new AtomicLong();
+
+    public SecurityEventLogger(MeterRegistry meterRegistry,
+                               @Value("${security.event-log.sample-rate:1.0}") double sampleRate,
+                               @Value("${security.event-log.max-per-second:20}") int maxPerSecond) {
+        this.sampleRate = sampleRate;
+        this.maxPerSecond = maxPerSecond;
+        for (TokenFailure failure : TokenFailure.values()) {
+            failureCounters.put(failure, Counter.builder("security.token.failures")
+                    .tag("reason", failure.tag)
+                    .description("The number of requests whose bearer token was rejected")
+                    .register(meterRegistry));
+        }
+    }
+
+    /**
+     * Records a rejected token.
+     *
+     * @param failure why the token was rejected
+     * @param request the request that carried the token
+     */
+    public void tokenRejected(TokenFailure failure, HttpServletRequest request) {
+        failureCounters.get(failure).increment();
+        if (!log.isInfoEnabled()) {
+            return;
+        }
+        if (!shouldWrite()) {
+            suppressed.incrementAndGet();
+            return;
+        }
+        log.info("event=token_rejected reason={} method={} path={} remote={} suppressed={}",
+                failure.tag, request.getMethod(), request.getRequestURI(), request.getRemoteAddr(),
+                suppressed.getAndSet(0));
+    }
+
+    /**
+     * Decides whether a line is written, applying the sample rate and then the per-second limit.
+     */
+    private boolean shouldWrite() {
+        if (sampleRate < 1.0 && ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            return false;
+        }
+        long now = System.nanoTime();
+        long start = windowStart.get();
+        if (now - start >= 1_000_000_000L && windowStart.compareAndSet(start, now)) {
+            writtenInWindow.set(0);
+        }
+        return writtenInWindow.incrementAndGet() <= maxPerSecond;
+    }
+}
@@ -1,22 +1,24 @@
 package com.ecommerce.productmanager.service;
 
 import com.ecommerce.productmanager.entity.Basket;
+import com.ecommerce.productmanager.entity.BasketItem;
 import com.ecommerce.productmanager.model.BasketResponse;
 
-import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * BasketService defines the contract for managing Basket entities.
- * It declares methods to retrieve, delete, and create baskets, and to retrieve all baskets.
+ * It declares methods to retrieve, delete, and create baskets, to change single basket items,
+ * and to stream all baskets.
  */
 public interface BasketService {
 
     /**
-     * Retrieves a list of all baskets in the system.
+     * Streams all baskets in the system to the given consumer, one basket at a time.
      *
-     * @return A list of BasketResponse objects representing all baskets.
+     * @param consumer Receives a BasketResponse for every basket.
      */
-    List<BasketResponse> getAllBaskets();
+    void streamAllBaskets(Consumer<BasketResponse> consumer);
 
     /**
      * Retrieves a specific basket by its unique identifier.
@@ -40,4 +42,35 @@ public interface BasketService {
      * @return A BasketResponse object representing the newly created basket.
      */
     BasketResponse createBasket(Basket basket);
+
+    /**
+     * Adds an item to a basket, creating the basket if it does not exist yet.
+     * If the basket already contains the item, its quantity is increased instead.
+     *
+     * @param basketId The unique identifier of the basket.
+     * @param item The item to add.
+     * @return A BasketResponse object representing the updated basket.
+     * @throws com.ecommerce.productmanager.exceptions.InvalidBasketItemException if the item has no ID
+     *         or a quantity that is not positive.
+     */
+    BasketResponse addItem(String basketId, BasketItem item);
+
+    /**
+     * Sets the quantity of an item in a basket. A quantity of zero or less removes the item.
+     *
+     * @param basketId The unique identifier of the basket.
+     * @param itemId The unique identifier of the item.
+     * @param quantity The new quantity.
+     * @return A BasketResponse object representing the updated basket.
+     */
+    BasketResponse updateItemQuantity(String basketId, Integer itemId, int quantity);
+
+    /**
+     * Removes an item from a basket.
+     *
+     * @param basketId The unique identifier of the basket.
+     * @param itemId The unique identifier of the item.
+     * @return A BasketResponse object representing the updated basket.
+     */
+    BasketResponse removeItem(String basketId, Integer itemId);
 }
@@ -4,12 +4,15 @@ import com.ecommerce.productmanager.entity.Basket;
 import com.ecommerce.productmanager.entity.BasketItem;
 import com.ecommerce.productmanager.model.BasketItemResponse;
 import com.ecommerce.productmanager.model.BasketResponse;
-import com.ecommerce.productmanager.repository.BasketRepository;
+import com.ecommerce.productmanager.repository.BasketStore;
+import io.micrometer.observation.annotation.Observed;
 import lombok.extern.log4j.Log4j2;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 /**
@@ -20,27 +23,27 @@ import java.util.stream.Collectors;
 @Log4j2
 public class BasketServiceImpl implements BasketService {
 
-    private final BasketRepository basketRepository;
+    private final BasketStore basketStore;
 
-    public BasketServiceImpl(BasketRepository basketRepository) {
-        this.basketRepository = basketRepository;
+    public BasketServiceImpl(BasketStore basketStore) {
+        this.basketStore = basketStore;
     }
 
     /**
-     * Retrieves a list of all baskets in the system.
+     * Streams all baskets in the system to the given consumer.
+     * Baskets are read incrementally from Redis, so they are never held in memory all at once.
      *
-     * @return A list of BasketResponse objects representing all baskets.
+     * @param consumer Receives a BasketResponse for every basket.
      */
     @Override
-    public List<BasketResponse> getAllBaskets() {
-        log.info("Fetching All Baskets");
-        List<Basket> basketList = (List<Basket>) basketRepository.findAll();
-        // Mapping baskets to response DTOs
-        List<BasketResponse> basketResponses = basketList.stream()
-                .map(this::convertToBasketResponse)
-                .collect(Collectors.toList());
-        log.info("Fetched all Baskets");
-        return basketResponses;
+    public void streamAllBaskets(Consumer<BasketResponse> consumer) {
+        log.info("Streaming All Baskets");
+        AtomicLong count = new AtomicLong();
+        basketStore.forEach(basket -> {
+            consumer.accept(convertToBasketResponse(basket));
+            count.incrementAndGet();
+        });
+        log.info("Streamed {} Baskets", count.get());
     }
 
     /**
@@ -50,9 +53,10 @@ public class BasketServiceImpl implements BasketService {
      * @return A BasketResponse object representing the retrieved basket, or null if not found.
      */
     @Override
+    @Observed(name = "service.baskets.get", contextualName = "get-basket")
     public BasketResponse getBasketById(String basketId) {
         log.info("Fetching Basket by Id: {}", basketId);
-        Optional<Basket> basketOptional = basketRepository.findById(basketId);
+        Optional<Basket> basketOptional = basketStore.findById(basketId);
         if (basketOptional.isPresent()) {
             Basket basket = basketOptional.get();
             log.info("Fetched Basket by Id: {}", basketId);
@@ -71,7 +75,7 @@ public class BasketServiceImpl implements BasketService {
     @Override
     public void deleteBasketById(String basketId) {
         log.info("Deleting Basket by Id: {}", basketId);
-        basketRepository.deleteById(basketId);
+        basketStore.deleteById(basketId);
         log.info("Deleted Basket by Id: {}", basketId);
     }
 
@@ -82,13 +86,58 @@ public class BasketServiceImpl implements BasketService {
      * @return A BasketResponse object representing the newly created basket.
      */
     @Override
+    @Observed(name = "service.baskets.save", contextualName = "save-basket")
     public BasketResponse createBasket(Basket basket) {
         log.info("Creating Basket");
-        Basket savedBasket = basketRepository.save(basket);
+        Basket savedBasket = basketStore.save(basket);
         log.info("Basket created with Id: {}", savedBasket.getId());
         return convertToBasketResponse(savedBasket);
     }
 
+    /**
+     * Adds an item to a basket, creating the basket if it does not exist yet.
+     * The change is applied atomically inside Redis.
+     *
+     * @param basketId The unique identifier of the basket.
+     * @param item The item to add.
+     * @return A BasketResponse object representing the updated basket.
+     */
+    @Override
+    @Observed(name = "service.baskets.items.add", contextualName = "add-basket-item")
+    public BasketResponse addItem(String basketId, BasketItem item) {
+        log.info("Adding item {} to Basket {}", item.getId(), basketId);
+        return convertToBasketResponse(basketStore.addItem(basketId, item));
+    }
+
+    /**
+     * Sets the quantity of an item in a basket. The change is applied atomically inside Redis.
+     *
+     * @param basketId The unique identifier of the basket.
+     * @param itemId The unique identifier of the item.
+     * @param quantity The new quantity; zero or less removes the item.
+     * @return A BasketResponse object representing the updated basket.
+     */
+    @Override
+    @Observed(name = "service.baskets.items.update", contextualName = "update-basket-item")
+    public BasketResponse updateItemQuantity(String basketId, Integer itemId, int quantity) {
+        log.info("Setting quantity of item {} in Basket {} to {}", itemId, basketId, quantity);
+        return convertToBasketResponse(basketStore.updateItemQuantity(basketId, itemId, quantity));
+    }
+
+    /**
+     * Removes an item from a basket. The change is applied atomically inside Redis.
+     *
+     * @param basketId The unique identifier of the basket.
+     * @param itemId The unique identifier of the item.
+     * @return A BasketResponse object representing the updated basket.
+     */
+    @Override
+    @Observed(name = "service.baskets.items.remove", contextualName = "remove-basket-item")
+    public BasketResponse removeItem(String basketId, Integer itemId) {
+        log.info("Removing item {} from Basket {}", itemId, basketId);
+        return convertToBasketResponse(basketStore.removeItem(basketId, itemId));
+    }
+
     /**
      * Converts a Basket entity to a BasketResponse DTO.
      *
@@ -1,12 +1,13 @@
 package com.ecommerce.productmanager.service;
 
 import com.ecommerce.productmanager.model.BrandResponse;
+import com.ecommerce.productmanager.model.ReferenceDataSnapshot;
 
 import java.util.List;
 
 /**
  * BrandService defines the contract for managing Brand entities.
- * It declares a method to retrieve all brands.
+ * It declares methods to retrieve all brands, either as DTOs or as a pre-serialized snapshot.
  */
 public interface BrandService {
 
@@ -16,4 +17,11 @@ public interface BrandService {
      * @return A list of BrandResponse objects representing all brands.
      */
     List<BrandResponse> getAllBrands();
+
+    /**
+     * Retrieves the current snapshot of all brands, including its JSON encoding and ETag.
+     *
+     * @return The brands snapshot.
+     */
+    ReferenceDataSnapshot<BrandResponse> getBrandsSnapshot();
 }
@@ -1,35 +1,91 @@
 package com.ecommerce.productmanager.service;
 
 import com.ecommerce.productmanager.entity.Brand;
+import com.ecommerce.productmanager.event.ReferenceDataChangedEvent;
 import com.ecommerce.productmanager.model.BrandResponse;
+import com.ecommerce.productmanager.model.ReferenceDataSnapshot;
 import com.ecommerce.productmanager.repository.BrandRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.log4j.Log4j2;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
 
 import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.stream.Collectors;
 
 /**
  * BrandServiceImpl is the implementation of BrandService interface.
- * It provides methods to fetch and manage Brand entities.
+ * It keeps an immutable snapshot of all brands in memory, loaded at startup and refreshed
+ * whenever a brand changes or the refresh interval elapses, so reads never touch the database.
  */
 @Service
 @Log4j2
 public class BrandServiceImpl implements BrandService {
 
     private final BrandRepository brandRepository;
+    private final ObjectMapper objectMapper;
 
-    public BrandServiceImpl(BrandRepository brandRepository) {
+    // A lock rather than synchronized, so a virtual thread waiting on the database does not pin its carrier
+    private final ReentrantLock loadLock = new ReentrantLock();
+
+    private volatile ReferenceDataSnapshot<BrandResponse> snapshot;
+
+    public BrandServiceImpl(BrandRepository brandRepository, ObjectMapper objectMapper) {
         this.brandRepository = brandRepository;
+        this.objectMapper = objectMapper;
     }
 
     /**
-     * Retrieves all brands from the database.
+     * Retrieves all brands from the in-memory snapshot.
      *
-     * @return A list of BrandResponse objects representing all brands.
+     * @return An unmodifiable list of BrandResponse objects representing all brands.
      */
     @Override
     public List<BrandResponse> getAllBrands() {
+        return getBrandsSnapshot().getItems();
+    }
+
+    /**
+     * Retrieves the current snapshot of all brands, loading it on first use.
+     *
+     * @return The brands snapshot, including its JSON encoding and ETag.
+     */
+    @Override
+    public ReferenceDataSnapshot<BrandResponse> getBrandsSnapshot() {
+        ReferenceDataSnapshot<BrandResponse> current = snapshot;
+        return current != null ? current : loadSnapshot();
+    }
+
+    /**
+     * Reloads all brands from the database and replaces the snapshot.
+     * Runs at startup, on a schedule and after every committed brand change.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${reference-data.refresh-interval:300000}",
+            fixedDelayString = "${reference-data.refresh-interval:300000}")
+    public void refresh() {
+        loadSnapshot();
+    }
+
+    /**
+     * Loads all brands from the database and replaces the snapshot if the brands have changed.
+     *
+     * @return The current brands snapshot.
+     */
+    private ReferenceDataSnapshot<BrandResponse> loadSnapshot() {
+        loadLock.lock();
+        try {
+            return reloadSnapshot();
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    private ReferenceDataSnapshot<BrandResponse> reloadSnapshot() {
         log.info("Fetching All Brands!!!");
 
         // Fetch all brands from repository
@@ -40,8 +96,24 @@ public class BrandServiceImpl implements BrandService {
                 .map(this::convertToBrandResponse)
                 .collect(Collectors.toList());
 
-        log.info("Fetched All Brands!!!");
-        return brandResponses;
+        ReferenceDataSnapshot<BrandResponse> refreshed = ReferenceDataSnapshot.of(brandResponses, objectMapper);
+        if (snapshot == null || !snapshot.getEtag().equals(refreshed.getEtag())) {
+            snapshot = refreshed;
+            log.info("Fetched All Brands!!! New snapshot {}", refreshed.getEtag());
+        }
+        return snapshot;
+    }
+
+    /**
+     * Refreshes the snapshot once a brand change has been committed.
+     *
+     * @param event the reference data change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReferenceDataChanged(ReferenceDataChangedEvent event) {
+        if (event.getEntity() instanceof Brand) {
+            refresh();
+        }
     }
 
     /**
@@ -0,0 +1,52 @@
+package com.ecommerce.productmanager.service;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+
+/**
+ * CsvExportRecordWriter writes rows as comma-separated values with a header row. Values that
+ * contain a comma, a quote or a line break are quoted as in RFC 4180; null values are left empty.
+ */
+class CsvExportRecordWriter implements ExportRecordWriter {
+
+    private final Writer writer;
+
+    CsvExportRecordWriter(Writer writer, List<String> columns) throws IOException {
+        this.writer = writer;
+        write(columns.toArray());
+    }
+
+    @Override
+    public void write(Object[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            if (values[i] != null) {
+                writeValue(values[i].toString());
+            }
+        }
+        writer.write('\n');
+    }
+
+    private void writeValue(String value) throws IOException {
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+}
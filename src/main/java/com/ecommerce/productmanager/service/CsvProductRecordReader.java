@@ -0,0 +1,118 @@
+package com.ecommerce.productmanager.service;
+
+import com.ecommerce.productmanager.exceptions.InvalidImportException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads CSV product records as described in RFC 4180: fields are separated by commas, and a field
+ * enclosed in double quotes may contain commas, line breaks and doubled double quotes. The first
+ * record is the header naming the fields. Input is read a line at a time; a quoted field that spans
+ * lines pulls in the following lines.
+ */
+class CsvProductRecordReader implements ProductRecordReader {
+
+    private static final char BYTE_ORDER_MARK = '\uFEFF';
+
+    private final BufferedReader reader;
+    private final String[] header;
+    private long row;
+
+    CsvProductRecordReader(BufferedReader reader) throws IOException {
+        this.reader = reader;
+        String line = reader.readLine();
+        if (line == null) {
+            throw new InvalidImportException("The CSV input is empty, expected a header row");
+        }
+        if (!line.isEmpty() && line.charAt(0) == BYTE_ORDER_MARK) {
+            line = line.substring(1);
+        }
+        List<String> columns = new ArrayList<>();
+        if (parse(line, columns) != null) {
+            throw new InvalidImportException("The CSV header row is malformed");
+        }
+        this.header = columns.stream().map(String::trim).toArray(String[]::new);
+    }
+
+    @Override
+    public ProductRecord next() throws IOException {
+        String line = reader.readLine();
+        while (line != null && line.isBlank()) {
+            line = reader.readLine();
+        }
+        if (line == null) {
+            return null;
+        }
+        row++;
+        List<String> values = new ArrayList<>(header.length);
+        String error = parse(line, values);
+        if (error != null) {
+            return ProductRecord.malformed(row, error);
+        }
+        if (values.size() != header.length) {
+            return ProductRecord.malformed(row, "Expected " + header.length + " fields but found " + values.size());
+        }
+        Map<String, String> fields = new HashMap<>();
+        for (int i = 0; i < header.length; i++) {
+            if (!values.get(i).isEmpty()) {
+                fields.put(header[i], values.get(i));
+            }
+        }
+        return new ProductRecord(row, fields, null);
+    }
+
+    /**
+     * Splits a record into its fields, reading further lines while a quoted field is open.
+     *
+     * @return null if the record was parsed, otherwise what is wrong with it
+     */
+    private String parse(String line, List<String> values) throws IOException {
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        int i = 0;
+        while (true) {
+            if (i == line.length()) {
+                if (!quoted) {
+                    values.add(field.toString());
+                    return null;
+                }
+                // The quoted field continues on the next line
+                line = reader.readLine();
+                if (line == null) {
+                    return "Quoted field is not closed before the end of the input";
+                }
+                field.append('\n');
+                i = 0;
+                continue;
+            }
+            char c = line.charAt(i++);
+            if (quoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i < line.length() && line.charAt(i) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == ',') {
+                values.add(field.toString());
+                field.setLength(0);
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else {
+                field.append(c);
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
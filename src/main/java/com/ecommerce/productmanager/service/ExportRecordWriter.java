@@ -0,0 +1,46 @@
+package com.ecommerce.productmanager.service;
+
+import com.ecommerce.productmanager.model.ImportFormat;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * ExportRecordWriter writes the rows of an export one at a time to an output stream, in the same
+ * formats the product import reads. Nothing but the current row and the output buffer is held in
+ * memory, so exports of any size run in constant memory.
+ */
+interface ExportRecordWriter extends Closeable {
+
+    /**
+     * Writes one row.
+     *
+     * @param values the values of the row, in the order of the columns; null values are left out
+     * @throws IOException if the output cannot be written
+     */
+    void write(Object[] values) throws IOException;
+
+    /**
+     * Opens a writer for the given format and writes the CSV header. The output is encoded as UTF-8.
+     *
+     * @param format the format of the output
+     * @param output the output, closed together with the writer
+     * @param columns the names of the columns, used as the CSV header and the NDJSON field names
+     * @param objectMapper the mapper used to write NDJSON lines
+     * @return the writer
+     */
+    static ExportRecordWriter open(ImportFormat format, OutputStream output, List<String> columns,
+                                   ObjectMapper objectMapper) throws IOException {
+        return switch (format) {
+            case CSV -> new CsvExportRecordWriter(
+                    new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8), 64 * 1024), columns);
+            case NDJSON -> new NdjsonExportRecordWriter(output, columns, objectMapper);
+        };
+    }
+}
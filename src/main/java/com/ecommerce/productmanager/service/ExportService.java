@@ -0,0 +1,35 @@
+package com.ecommerce.productmanager.service;
+
+import com.ecommerce.productmanager.model.ImportFormat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+
+/**
+ * ExportService writes the catalog and the order history to an output stream in bulk.
+ */
+public interface ExportService {
+
+    /**
+     * Writes every product in ID order, with the fields read by the product import.
+     *
+     * @param output the output, closed when the export is complete
+     * @param format the format to write
+     * @return the number of products written
+     * @throws IOException if the output cannot be written
+     */
+    long exportProducts(OutputStream output, ImportFormat format) throws IOException;
+
+    /**
+     * Writes the orders placed within a date range, oldest first, one row per order item.
+     *
+     * @param output the output, closed when the export is complete
+     * @param format the format to write
+     * @param from the earliest order date to include (optional)
+     * @param to the latest order date to include (optional)
+     * @return the number of rows written
+     * @throws IOException if the output cannot be written
+     */
+    long exportOrders(OutputStream output, ImportFormat format, LocalDateTime from, LocalDateTime to) throws IOException;
+}
@@ -0,0 +1,124 @@
+package com.ecommerce.productmanager.service;
+
+import com.ecommerce.productmanager.model.ImportFormat;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ExportServiceImpl streams query results straight from a forward-only JDBC cursor into the output.
+ * Each row is written as soon as it is read and then dropped; no entities, DTOs or pages are built,
+ * and no count query is run. The fetch size makes MySQL (with useCursorFetch) send the result in
+ * chunks from a server-side cursor, so neither the application nor the driver holds the whole result.
+ * The connection stays checked out until the client has received the last row.
+ */
+@Service
+@Log4j2
+public class ExportServiceImpl implements ExportService {
+
+    private static final List<String> PRODUCT_COLUMNS = List.of(
+            "id", "name", "description", "price", "pictureUrl", "brand", "type");
+    private static final String PRODUCT_SQL = "SELECT p.Id, p.Name, p.Description, p.Price, p.PictureUrl, b.Name, t.Name"
+            + " FROM Product p JOIN Brand b ON b.Id = p.ProductBrandId JOIN Type t ON t.Id = p.ProductTypeId ORDER BY p.Id";
+    private static final List<String> ORDER_COLUMNS = List.of(
+            "orderId", "orderDate", "orderStatus", "basketId", "subTotal", "deliveryFee", "name", "city", "country",
+            "productId", "productName", "price", "quantity");
+    // Ordered by the IX_Orders_Date index, which ends in the ID; the items of an order follow it through the join
+    private static final String ORDER_SQL = "SELECT o.Id, o.Order_Date, o.Order_Status, o.Basket_Id, o.Sub_Total,"
+            + " o.Delivery_Fee, o.name, o.city, o.country, i.productId, i.name, i.Price, i.Quantity"
+            + " FROM Orders o LEFT JOIN OrderItem i ON i.order_id = o.Id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    // Constructor to inject the DataSource the exports read from and the ObjectMapper used for NDJSON
+    public ExportServiceImpl(DataSource dataSource, ObjectMapper objectMapper,
+                             @Value("${export.fetch-size:1000}") int fetchSize) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public long exportProducts(OutputStream output, ImportFormat format) throws IOException {
+        return export("products", output, format, PRODUCT_COLUMNS, PRODUCT_SQL, List.of(), resultSet -> new Object[]{
+                resultSet.getInt(1),
+                resultSet.getString(2),
+                resultSet.getString(3),
+                // Read as a whole number, like Product.price, whatever the column type
+                resultSet.getLong(4),
+                resultSet.getString(5),
+                resultSet.getString(6),
+                resultSet.getString(7)
+        });
+    }
+
+    @Override
+    public long exportOrders(OutputStream output, ImportFormat format, LocalDateTime from, LocalDateTime to) throws IOException {
+        StringBuilder sql = new StringBuilder(ORDER_SQL);
+        List<Object> args = new ArrayList<>();
+        if (from != null) {
+            sql.append(args.isEmpty() ? " WHERE" : " AND").append(" o.Order_Date >= ?");
+            args.add(Timestamp.valueOf(from));
+        }
+        if (to != null) {
+            sql.append(args.isEmpty() ? " WHERE" : " AND").append(" o.Order_Date <= ?");
+            args.add(Timestamp.valueOf(to));
+        }
+        sql.append(" ORDER BY o.Order_Date, o.Id");
+        return export("orders", output, format, ORDER_COLUMNS, sql.toString(), args, resultSet -> {
+            Object[] values = new Object[ORDER_COLUMNS.size()];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = resultSet.getObject(i + 1);
+            }
+            if (values[1] instanceof Timestamp orderDate) {
+                values[1] = orderDate.toLocalDateTime();
+            }
+            return values;
+        });
+    }
+
+    /**
+     * Maps the current row of the result set to the values of an export row.
+     */
+    @FunctionalInterface
+    private interface RowValues {
+        Object[] read(ResultSet resultSet) throws SQLException;
+    }
+
+    private long export(String name, OutputStream output, ImportFormat format, List<String> columns, String sql,
+                        List<Object> args, RowValues rowValues) throws IOException {
+        log.info("Exporting {} as {}", name, format);
+        long start = System.nanoTime();
+        long[] rows = new long[1];
+        try (ExportRecordWriter writer = ExportRecordWriter.open(format, output, columns, objectMapper)) {
+            jdbcTemplate.query(sql, resultSet -> {
+                try {
+                    writer.write(rowValues.read(resultSet));
+                } catch (IOException ex) {
+                    // Usually the client went away; stops reading the cursor
+                    throw new UncheckedIOException(ex);
+                }
+                rows[0]++;
+            }, args.toArray());
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause();
+        }
+        log.info("Exported {} {} rows in {} ms", rows[0], name, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return rows[0];
+    }
+}
@@ -0,0 +1,50 @@
+package com.ecommerce.productmanager.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+/**
+ * NdjsonExportRecordWriter writes every row as a JSON object on its own line. Values are written
+ * with the ObjectMapper, so numbers stay numbers and dates use the application's date format;
+ * null values are left out.
+ */
+class NdjsonExportRecordWriter implements ExportRecordWriter {
+
+    private final JsonGenerator generator;
+    private final SerializedString[] fieldNames;
+    private boolean empty = true;
+
+    NdjsonExportRecordWriter(OutputStream output, List<String> columns, ObjectMapper objectMapper) throws IOException {
+        this.generator = objectMapper.getFactory().createGenerator(output);
+        // One object per line instead of the default space between root values
+        this.generator.setRootValueSeparator(new SerializedString("\n"));
+        this.fieldNames = columns.stream().map(SerializedString::new).toArray(SerializedString[]::new);
+    }
+
+    @Override
+    public void write(Object[] values) throws IOException {
+        generator.writeStartObject();
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] != null) {
+                generator.writeFieldName(fieldNames[i]);
+                generator.writeObject(values[i]);
+            }
+        }
+        generator.writeEndObject();
+        empty = false;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (!empty) {
+            // Ends the last line like every other
+            generator.writeRaw('\n');
+        }
+        generator.close();
+    }
+}
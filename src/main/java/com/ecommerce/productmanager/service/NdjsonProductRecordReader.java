@@ -0,0 +1,66 @@
+package com.ecommerce.productmanager.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Reads newline-delimited JSON product records: every non-blank line holds one JSON object whose
+ * fields are strings or numbers. A line that is not such an object is returned as a malformed record.
+ */
+class NdjsonProductRecordReader implements ProductRecordReader {
+
+    private final BufferedReader reader;
+    private final ObjectMapper objectMapper;
+    private long row;
+
+    NdjsonProductRecordReader(BufferedReader reader, ObjectMapper objectMapper) {
+        this.reader = reader;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public ProductRecord next() throws IOException {
+        String line = reader.readLine();
+        while (line != null && line.isBlank()) {
+            line = reader.readLine();
+        }
+        if (line == null) {
+            return null;
+        }
+        row++;
+        JsonNode node;
+        try {
+            node = objectMapper.readTree(line);
+        } catch (JsonProcessingException ex) {
+            return ProductRecord.malformed(row, "Line is not valid JSON: " + ex.getOriginalMessage());
+        }
+        if (!node.isObject()) {
+            return ProductRecord.malformed(row, "Line is not a JSON object");
+        }
+        Map<String, String> fields = new HashMap<>();
+        for (Iterator<Map.Entry<String, JsonNode>> it = node.fields(); it.hasNext(); ) {
+            Map.Entry<String, JsonNode> field = it.next();
+            JsonNode value = field.getValue();
+            if (value.isNull()) {
+                continue;
+            }
+            if (!value.isValueNode()) {
+                return ProductRecord.malformed(row, "Field " + field.getKey() + " must be a string or a number");
+            }
+            fields.put(field.getKey(), value.asText());
+        }
+        return new ProductRecord(row, fields, null);
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
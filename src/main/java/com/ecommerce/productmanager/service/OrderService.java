@@ -1,16 +1,28 @@
 package com.ecommerce.productmanager.service;
 
+import com.ecommerce.productmanager.entity.OrderAggregate.OrderStatus;
 import com.ecommerce.productmanager.model.OrderDto;
 import com.ecommerce.productmanager.model.OrderResponse;
+import com.ecommerce.productmanager.model.OrderSummary;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
-import java.util.List;
+import java.time.LocalDateTime;
+import java.util.function.Consumer;
 
 public interface OrderService {
     OrderResponse getOrderById(Integer orderId);
-    List<OrderResponse> getAllOrders();
+    void streamAllOrders(Consumer<OrderResponse> consumer);
     Page<OrderResponse> getAllOrders(Pageable pageable);
     Integer createOrder(OrderDto order);
+    // Places an order at most once per idempotency key; a repeated key returns the original order ID,
+    // or throws IdempotencyKeyMismatchException if it comes with a different request
+    Integer createOrder(OrderDto order, String idempotencyKey);
     void deleteOrder(Integer orderId);
+    // Order history queries; each page is sorted newest first and served by an index on the filtered column
+    Page<OrderSummary> getOrdersByBasketId(String basketId, Pageable pageable);
+    Page<OrderSummary> getOrdersByStatus(OrderStatus orderStatus, Pageable pageable);
+    Page<OrderSummary> getOrdersByDateRange(LocalDateTime from, LocalDateTime to, Pageable pageable);
+    Page<OrderSummary> getOrdersByProductName(String productName, Pageable pageable);
+    Page<OrderSummary> getOrdersByCity(String city, Pageable pageable);
 }
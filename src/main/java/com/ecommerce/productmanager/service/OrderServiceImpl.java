@@ -2,44 +2,92 @@ package com.ecommerce.productmanager.service;
 
 import com.ecommerce.productmanager.entity.OrderAggregate.Order;
 import com.ecommerce.productmanager.entity.OrderAggregate.OrderItem;
+import com.ecommerce.productmanager.entity.OrderAggregate.OrderStatus;
 import com.ecommerce.productmanager.entity.OrderAggregate.ProductItemOrdered;
+import com.ecommerce.productmanager.entity.OutboxEvent;
+import com.ecommerce.productmanager.exceptions.IdempotencyKeyMismatchException;
+import com.ecommerce.productmanager.exceptions.InvalidOrderQueryException;
+import com.ecommerce.productmanager.exceptions.OrderInProgressException;
 import com.ecommerce.productmanager.mapper.OrderMapper;
 import com.ecommerce.productmanager.model.BasketItemResponse;
 import com.ecommerce.productmanager.model.BasketResponse;
 import com.ecommerce.productmanager.model.OrderDto;
 import com.ecommerce.productmanager.model.OrderResponse;
+import com.ecommerce.productmanager.model.OrderSummary;
 import com.ecommerce.productmanager.repository.BrandRepository;
+import com.ecommerce.productmanager.repository.IdempotencyStore;
 import com.ecommerce.productmanager.repository.OrderRepository;
+import com.ecommerce.productmanager.repository.OutboxEventRepository;
 import com.ecommerce.productmanager.repository.TypeRepository;
+import com.ecommerce.productmanager.search.ProductSearchIndex;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.observation.annotation.Observed;
+import jakarta.persistence.EntityManager;
 import lombok.extern.log4j.Log4j2;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HexFormat;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service // Marks this class as a Spring service component
 @Log4j2 // Enables logging using Log4j2
 public class OrderServiceImpl implements OrderService {
 
+    // Newest first; the ID breaks ties so that pages never overlap
+    private static final Sort HISTORY_SORT = Sort.by(Sort.Order.desc("orderDate"), Sort.Order.desc("id"));
+    // Upper bound on the products a product-name query may resolve to
+    private static final int MAX_PRODUCT_MATCHES = 1000;
+    // Orders loaded per query while streaming all orders; matches the fetch size of the ID stream
+    private static final int STREAM_CHUNK_SIZE = 500;
+
     private final OrderRepository orderRepository;
     private final BrandRepository brandRepository;
     private final TypeRepository typeRepository;
     private final BasketService basketService;
     private final OrderMapper orderMapper;
+    private final EntityManager entityManager;
+    private final OutboxEventRepository outboxEventRepository;
+    private final IdempotencyStore idempotencyStore;
+    private final TransactionTemplate transactionTemplate;
+    private final ProductSearchIndex productSearchIndex;
+    private final ObjectMapper objectMapper;
 
     // Constructor injection for dependencies
-    public OrderServiceImpl(OrderRepository orderRepository, BrandRepository brandRepository, TypeRepository typeRepository, BasketService basketService, OrderMapper orderMapper) {
+    public OrderServiceImpl(OrderRepository orderRepository, BrandRepository brandRepository, TypeRepository typeRepository, BasketService basketService, OrderMapper orderMapper, EntityManager entityManager,
+                            OutboxEventRepository outboxEventRepository, IdempotencyStore idempotencyStore, PlatformTransactionManager transactionManager,
+                            ProductSearchIndex productSearchIndex, ObjectMapper objectMapper) {
         this.orderRepository = orderRepository;
         this.brandRepository = brandRepository;
         this.typeRepository = typeRepository;
         this.basketService = basketService;
         this.orderMapper = orderMapper;
+        this.entityManager = entityManager;
+        this.outboxEventRepository = outboxEventRepository;
+        this.idempotencyStore = idempotencyStore;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.productSearchIndex = productSearchIndex;
+        this.objectMapper = objectMapper;
     }
 
     @Override
+    @Observed(name = "service.orders.get", contextualName = "get-order")
     public OrderResponse getOrderById(Integer orderId) {
         // Fetch order by ID and map it to OrderResponse if present
         Optional<Order> optionalOrder = orderRepository.findById(orderId);
@@ -47,10 +95,31 @@ public class OrderServiceImpl implements OrderService {
     }
 
     @Override
-    public List<OrderResponse> getAllOrders() {
-        // Fetch all orders and map them to OrderResponse
-        List<Order> orders = orderRepository.findAll();
-        return orders.stream().map(orderMapper::OrderToOrderResponse).collect(Collectors.toList());
+    @Transactional(readOnly = true) // Keeps the connection and cursor open while the stream is consumed
+    public void streamAllOrders(Consumer<OrderResponse> consumer) {
+        // Stream the order IDs from a database cursor and load the orders with their items one chunk at a time:
+        // one query per chunk instead of one per order, and memory stays bounded by the chunk size
+        List<Integer> chunk = new ArrayList<>(STREAM_CHUNK_SIZE);
+        try (Stream<Integer> orderIds = orderRepository.streamAllIds()) {
+            orderIds.forEach(orderId -> {
+                chunk.add(orderId);
+                if (chunk.size() == STREAM_CHUNK_SIZE) {
+                    streamChunk(chunk, consumer);
+                }
+            });
+        }
+        if (!chunk.isEmpty()) {
+            streamChunk(chunk, consumer);
+        }
+    }
+
+    private void streamChunk(List<Integer> orderIds, Consumer<OrderResponse> consumer) {
+        for (Order order : orderRepository.findAllWithItemsByIdIn(orderIds)) {
+            consumer.accept(orderMapper.OrderToOrderResponse(order));
+        }
+        // Detach the mapped orders and items before the next chunk
+        entityManager.clear();
+        orderIds.clear();
     }
 
     @Override
@@ -65,8 +134,140 @@ public class OrderServiceImpl implements OrderService {
         orderRepository.deleteById(orderId);
     }
 
+    @Override
+    @Observed(name = "service.orders.history", contextualName = "get-orders-by-basket")
+    public Page<OrderSummary> getOrdersByBasketId(String basketId, Pageable pageable) {
+        return orderRepository.findByBasketId(basketId, historyPage(pageable));
+    }
+
+    @Override
+    @Observed(name = "service.orders.history", contextualName = "get-orders-by-status")
+    public Page<OrderSummary> getOrdersByStatus(OrderStatus orderStatus, Pageable pageable) {
+        return orderRepository.findByOrderStatus(orderStatus, historyPage(pageable));
+    }
+
+    @Override
+    @Observed(name = "service.orders.history", contextualName = "get-orders-by-date")
+    public Page<OrderSummary> getOrdersByDateRange(LocalDateTime from, LocalDateTime to, Pageable pageable) {
+        if (from.isAfter(to)) {
+            throw new InvalidOrderQueryException("The date range starts at " + from + ", after its end " + to);
+        }
+        return orderRepository.findByOrderDateBetween(from, to, historyPage(pageable));
+    }
+
+    @Override
+    @Observed(name = "service.orders.history", contextualName = "get-orders-by-product")
+    public Page<OrderSummary> getOrdersByProductName(String productName, Pageable pageable) {
+        if (productName == null || productName.isBlank()) {
+            throw new InvalidOrderQueryException("A product name is required");
+        }
+        if (!productSearchIndex.isReady()) {
+            // Scans every order item; only used until the search index has been built after startup
+            return orderRepository.findByProductNameInOrderItems(productName, historyPage(pageable));
+        }
+        // Resolve the name to product IDs in memory, then look the orders up through the product ID index
+        List<Integer> productIds = productSearchIndex.searchNames(productName);
+        if (productIds.isEmpty()) {
+            return Page.empty(historyPage(pageable));
+        }
+        if (productIds.size() > MAX_PRODUCT_MATCHES) {
+            throw new InvalidOrderQueryException("The product name " + productName + " matches " + productIds.size()
+                    + " products, at most " + MAX_PRODUCT_MATCHES + " are supported; use a more specific name");
+        }
+        return orderRepository.findByProductIdInOrderItems(productIds, historyPage(pageable));
+    }
+
+    @Override
+    @Observed(name = "service.orders.history", contextualName = "get-orders-by-city")
+    public Page<OrderSummary> getOrdersByCity(String city, Pageable pageable) {
+        return orderRepository.findByShippingAddressCity(city, historyPage(pageable));
+    }
+
+    // Replaces any client-supplied sort with the order the history indexes are built for
+    private static Pageable historyPage(Pageable pageable) {
+        return PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), HISTORY_SORT);
+    }
+
     @Override
     public Integer createOrder(OrderDto orderDto) {
+        return createOrder(orderDto, null);
+    }
+
+    @Override
+    @Observed(name = "service.orders.create", contextualName = "create-order")
+    public Integer createOrder(OrderDto orderDto, String idempotencyKey) {
+        if (idempotencyKey == null) {
+            return placeOrder(orderDto, null, null);
+        }
+        String requestHash = requestHash(orderDto);
+
+        // A repeated submission is answered from Redis without touching the basket or the database
+        Integer existingOrderId = idempotencyStore.findOrderId(idempotencyKey, requestHash);
+        if (existingOrderId != null) {
+            log.info("Returning order {} for repeated idempotency key {}", existingOrderId, idempotencyKey);
+            return existingOrderId;
+        }
+        if (!idempotencyStore.reserve(idempotencyKey)) {
+            // Another request reserved the key in the meantime; it has either finished or is still running
+            existingOrderId = idempotencyStore.findOrderId(idempotencyKey, requestHash);
+            if (existingOrderId != null) {
+                return existingOrderId;
+            }
+            throw new OrderInProgressException("An order with idempotency key " + idempotencyKey + " is already being placed");
+        }
+
+        try {
+            // The Redis entry may have expired or been lost; the unique column is the source of truth
+            Integer orderId = orderRepository.findByIdempotencyKey(idempotencyKey)
+                    .map(order -> matchingOrderId(order, requestHash))
+                    .orElseGet(() -> placeOrder(orderDto, idempotencyKey, requestHash));
+            if (orderId == null) {
+                idempotencyStore.release(idempotencyKey);
+            } else {
+                idempotencyStore.complete(idempotencyKey, orderId, requestHash);
+            }
+            return orderId;
+        } catch (DataIntegrityViolationException ex) {
+            // A concurrent submission without a Redis reservation inserted the order first
+            Integer orderId;
+            try {
+                orderId = orderRepository.findByIdempotencyKey(idempotencyKey)
+                        .map(order -> matchingOrderId(order, requestHash))
+                        .orElseThrow(() -> ex);
+            } catch (RuntimeException lookupFailure) {
+                idempotencyStore.release(idempotencyKey);
+                throw lookupFailure;
+            }
+            idempotencyStore.complete(idempotencyKey, orderId, requestHash);
+            return orderId;
+        } catch (RuntimeException ex) {
+            idempotencyStore.release(idempotencyKey);
+            throw ex;
+        }
+    }
+
+    // Returns the ID of an order placed with the idempotency key, unless it was placed for a different request
+    private static Integer matchingOrderId(Order order, String requestHash) {
+        // Orders placed before request hashes were stored cannot be compared
+        if (order.getRequestHash() != null && !order.getRequestHash().equals(requestHash)) {
+            throw new IdempotencyKeyMismatchException("Idempotency key " + order.getIdempotencyKey()
+                    + " was already used for a different order request");
+        }
+        return order.getId();
+    }
+
+    // SHA-256 of the order request in its JSON form, which identifies a retry of the same request
+    private String requestHash(OrderDto orderDto) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(orderDto));
+            return HexFormat.of().formatHex(digest);
+        } catch (JsonProcessingException | NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("Could not hash order request", ex);
+        }
+    }
+
+    // Saves the order, its items and the basket removal in one transaction; the basket itself is removed by the OutboxRelay
+    private Integer placeOrder(OrderDto orderDto, String idempotencyKey, String requestHash) {
         // Fetch basket details by ID
         BasketResponse basketResponse = basketService.getBasketById(orderDto.getBasketId());
         if (basketResponse == null) {
@@ -88,15 +289,23 @@ public class OrderServiceImpl implements OrderService {
         Order order = orderMapper.orderResponseToOrder(orderDto);
         order.setOrderItems(orderItems);
         order.setSubTotal(subTotal);
+        order.setIdempotencyKey(idempotencyKey);
+        order.setRequestHash(requestHash);
+        // Link each item to its order, which owns the order_id foreign key
+        orderItems.forEach(orderItem -> orderItem.setOrder(order));
 
-        // Save the order
-        Order savedOrder = orderRepository.save(order);
-
-        // Delete the basket by ID
-        basketService.deleteBasketById(orderDto.getBasketId());
+        OutboxEvent basketCheckedOut = OutboxEvent.builder()
+                .eventType(OutboxEvent.EventType.BASKET_CHECKED_OUT)
+                .payload(orderDto.getBasketId())
+                .createdAt(LocalDateTime.now())
+                .build();
 
-        // Return the order ID
-        return savedOrder.getId();
+        // Save the order and the outbox event atomically; its items are inserted in a single JDBC batch
+        return transactionTemplate.execute(status -> {
+            Order savedOrder = orderRepository.save(order);
+            outboxEventRepository.save(basketCheckedOut);
+            return savedOrder.getId();
+        });
     }
 
     // Maps a BasketItemResponse to an OrderItem
@@ -0,0 +1,61 @@
+package com.ecommerce.productmanager.service;
+
+import com.ecommerce.productmanager.entity.OutboxEvent;
+import com.ecommerce.productmanager.repository.OutboxEventRepository;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * OutboxRelay carries out the side effects recorded in the Outbox_Event table.
+ * Events are written in the same transaction as the change that caused them, so a side effect
+ * is never lost when the application stops between the commit and the side effect, and never
+ * happens for a change that was rolled back.
+ * Handlers must be idempotent: an event is deleted only after it has been handled, so it may be
+ * handled again after a crash, or by several instances polling at the same time.
+ */
+@Component
+@Log4j2
+public class OutboxRelay {
+
+    private static final int MAX_ATTEMPTS = 10;
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final BasketService basketService;
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository, BasketService basketService) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.basketService = basketService;
+    }
+
+    /**
+     * Handles pending outbox events, oldest first.
+     */
+    @Scheduled(fixedDelayString = "${checkout.outbox.poll-interval:1000}")
+    public void relay() {
+        List<OutboxEvent> events = outboxEventRepository.findTop100ByOrderByIdAsc();
+        for (OutboxEvent event : events) {
+            try {
+                handle(event);
+                outboxEventRepository.delete(event);
+            } catch (RuntimeException ex) {
+                event.setAttempts(event.getAttempts() + 1);
+                if (event.getAttempts() >= MAX_ATTEMPTS) {
+                    log.error("Giving up on outbox event {} after {} attempts", event.getId(), event.getAttempts(), ex);
+                    outboxEventRepository.delete(event);
+                } else {
+                    log.warn("Outbox event {} failed, will retry: {}", event.getId(), ex.getMessage());
+                    outboxEventRepository.save(event);
+                }
+            }
+        }
+    }
+
+    private void handle(OutboxEvent event) {
+        switch (event.getEventType()) {
+            case BASKET_CHECKED_OUT -> basketService.deleteBasketById(event.getPayload());
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.ecommerce.productmanager.service;
+
+import com.ecommerce.productmanager.exceptions.InvalidImportException;
+import com.ecommerce.productmanager.model.ImportFormat;
+import com.ecommerce.productmanager.model.ImportRejection;
+import com.ecommerce.productmanager.model.ProductImportReport;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * ProductImportRunner imports a product file from the command line and exits, for example:
+ * java -jar product-manager.jar --product.import.file=products.csv --spring.main.web-application-type=none
+ * The format follows from the file extension (.csv, .ndjson or .jsonl). The exit code is 0 when
+ * every row was imported and 2 when rows were rejected; the rejected rows are logged.
+ */
+@Component
+@ConditionalOnProperty(name = "product.import.file")
+@Log4j2
+public class ProductImportRunner implements ApplicationRunner {
+
+    private static final int EXIT_ROWS_REJECTED = 2;
+
+    private final ProductImportService productImportService;
+    private final ConfigurableApplicationContext context;
+    private final Path file;
+
+    // Constructor to inject the import service, the application context to close when done and the file to import
+    public ProductImportRunner(ProductImportService productImportService, ConfigurableApplicationContext context,
+                               @Value("${product.import.file}") Path file) {
+        this.productImportService = productImportService;
+        this.context = context;
+        this.file = file;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        ImportFormat format = ImportFormat.fromFileName(file.getFileName().toString());
+        if (format == null) {
+            throw new InvalidImportException("Cannot tell the format of " + file + "; name it .csv, .ndjson or .jsonl");
+        }
+        ProductImportReport report = productImportService.importProducts(Files.newInputStream(file), format);
+        for (ImportRejection rejection : report.getRejections()) {
+            log.warn("Rejected row {}: {}", rejection.getRow(), rejection.getReason());
+        }
+        if (report.getRowsRejected() > report.getRejections().size()) {
+            log.warn("{} more rejected rows not listed", report.getRowsRejected() - report.getRejections().size());
+        }
+        int exitCode = SpringApplication.exit(context,
+                () -> report.getRowsRejected() == 0 ? 0 : EXIT_ROWS_REJECTED);
+        System.exit(exitCode);
+    }
+}
@@ -0,0 +1,26 @@
+package com.ecommerce.productmanager.service;
+
+import com.ecommerce.productmanager.model.ImportFormat;
+import com.ecommerce.productmanager.model.ProductImportReport;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * ProductImportService loads products in bulk from CSV or NDJSON input.
+ */
+public interface ProductImportService {
+
+    /**
+     * Imports every product of the input. Rows with an id are inserted or, if the ID exists, updated;
+     * rows without one are inserted with a generated ID. Invalid rows are rejected and reported
+     * without stopping the import. Batches are written concurrently, so when an ID appears more than
+     * once in the input it is undefined which of its rows is kept.
+     *
+     * @param input the input, read to its end and closed
+     * @param format the format of the input
+     * @return the report of the import
+     * @throws IOException if the input cannot be read
+     */
+    ProductImportReport importProducts(InputStream input, ImportFormat format) throws IOException;
+}
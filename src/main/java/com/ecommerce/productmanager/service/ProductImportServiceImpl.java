@@ -0,0 +1,362 @@
+package com.ecommerce.productmanager.service;
+
+import com.ecommerce.productmanager.entity.Brand;
+import com.ecommerce.productmanager.entity.Type;
+import com.ecommerce.productmanager.event.CatalogReloadedEvent;
+import com.ecommerce.productmanager.model.ImportFormat;
+import com.ecommerce.productmanager.model.ImportRejection;
+import com.ecommerce.productmanager.model.ProductImportReport;
+import com.ecommerce.productmanager.repository.BrandRepository;
+import com.ecommerce.productmanager.repository.TypeRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * ProductImportServiceImpl streams an import file through a bounded queue into JDBC batches.
+ * The calling thread parses and validates rows and hands full batches to a fixed number of writer
+ * threads; when the writers fall behind the queue fills up and reading pauses, so memory stays
+ * bounded by the queue capacity however large the file is, and an HTTP upload slows down to the
+ * pace of the database. Every batch is written in its own transaction with a single JDBC batch
+ * per statement, bypassing JPA, and brand and type names are resolved through maps loaded once
+ * per import. A batch that fails for any reason is rejected as a whole and the writer moves on to
+ * the next, so the queue keeps draining and the reading thread never waits on a writer that has died.
+ * Once the import has written rows a {@link CatalogReloadedEvent} is published; the in-memory
+ * indexes are rebuilt in the background, so the report does not wait for them.
+ */
+@Service
+@Log4j2
+public class ProductImportServiceImpl implements ProductImportService {
+
+    private static final String INSERT_SQL = "INSERT INTO Product (Name, Description, Price, PictureUrl, ProductBrandId, ProductTypeId)"
+            + " VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String UPSERT_SQL = "INSERT INTO Product (Id, Name, Description, Price, PictureUrl, ProductBrandId, ProductTypeId)"
+            + " VALUES (?, ?, ?, ?, ?, ?, ?) ON DUPLICATE KEY UPDATE Name = VALUES(Name), Description = VALUES(Description),"
+            + " Price = VALUES(Price), PictureUrl = VALUES(PictureUrl), ProductBrandId = VALUES(ProductBrandId),"
+            + " ProductTypeId = VALUES(ProductTypeId)";
+    private static final int MAX_VARCHAR_LENGTH = 255;
+    // Largest whole price the DECIMAL(10, 2) Price column can hold
+    private static final long MAX_PRICE = 99_999_999L;
+    private static final long PROGRESS_LOG_INTERVAL = 100_000;
+    // Tells a writer that no more batches follow
+    private static final List<ProductRow> END_OF_INPUT = Collections.emptyList();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final BrandRepository brandRepository;
+    private final TypeRepository typeRepository;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int batchSize;
+    private final int queueCapacity;
+    private final int writerThreads;
+    private final int maxReportedRejections;
+
+    // Constructor to inject the JDBC and transaction templates, the reference data repositories, the ObjectMapper and the event publisher
+    public ProductImportServiceImpl(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                                    BrandRepository brandRepository, TypeRepository typeRepository,
+                                    ObjectMapper objectMapper, ApplicationEventPublisher eventPublisher,
+                                    @Value("${product.import.batch-size:1000}") int batchSize,
+                                    @Value("${product.import.queue-capacity:8}") int queueCapacity,
+                                    @Value("${product.import.writer-threads:2}") int writerThreads,
+                                    @Value("${product.import.max-reported-rejections:100}") int maxReportedRejections) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.brandRepository = brandRepository;
+        this.typeRepository = typeRepository;
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+        this.batchSize = batchSize;
+        this.queueCapacity = queueCapacity;
+        this.writerThreads = writerThreads;
+        this.maxReportedRejections = maxReportedRejections;
+    }
+
+    /**
+     * A validated row, ready to be written.
+     */
+    private record ProductRow(long row, Integer id, String name, String description, long price,
+                              String pictureUrl, int brandId, int typeId) {
+    }
+
+    /**
+     * The counters of one import, shared by the reading thread and the writers.
+     */
+    private final class ImportProgress {
+        private final AtomicLong rowsRead = new AtomicLong();
+        private final AtomicLong rowsImported = new AtomicLong();
+        private final AtomicLong rowsRejected = new AtomicLong();
+        private final AtomicLong batches = new AtomicLong();
+        private final List<ImportRejection> rejections = new ArrayList<>();
+        private long durationNanos;
+
+        void reject(long row, String reason, long rows) {
+            rowsRejected.addAndGet(rows);
+            synchronized (rejections) {
+                if (rejections.size() < maxReportedRejections) {
+                    rejections.add(ImportRejection.builder().row(row).reason(reason).build());
+                }
+            }
+        }
+
+        List<ImportRejection> rejections() {
+            synchronized (rejections) {
+                return List.copyOf(rejections);
+            }
+        }
+    }
+
+    /**
+     * Imports every product of the input through the writer threads and reports the outcome.
+     *
+     * @param input the input, read to its end and closed
+     * @param format the format of the input
+     * @return the report of the import
+     * @throws IOException if the input cannot be read
+     * @throws com.ecommerce.productmanager.exceptions.InvalidImportException if the CSV header is missing or lacks a required column
+     */
+    @Override
+    public ProductImportReport importProducts(InputStream input, ImportFormat format) throws IOException {
+        log.info("Importing products from {} input", format);
+        Map<String, Integer> brandIds = new HashMap<>();
+        for (Brand brand : brandRepository.findAll()) {
+            brandIds.put(normalize(brand.getName()), brand.getId());
+        }
+        Map<String, Integer> typeIds = new HashMap<>();
+        for (Type type : typeRepository.findAll()) {
+            typeIds.put(normalize(type.getName()), type.getId());
+        }
+
+        ImportProgress progress = new ImportProgress();
+        BlockingQueue<List<ProductRow>> queue = new ArrayBlockingQueue<>(queueCapacity);
+        ExecutorService writers = Executors.newFixedThreadPool(writerThreads,
+                Thread.ofPlatform().name("product-import-writer-", 1).factory());
+        for (int i = 0; i < writerThreads; i++) {
+            writers.execute(() -> writeBatches(queue, progress));
+        }
+
+        long start = System.nanoTime();
+        try (ProductRecordReader reader = ProductRecordReader.open(format, input, objectMapper)) {
+            List<ProductRow> batch = new ArrayList<>(batchSize);
+            ProductRecord record;
+            while ((record = reader.next()) != null) {
+                long rowsRead = progress.rowsRead.incrementAndGet();
+                ProductRow row = validate(record, brandIds, typeIds, progress);
+                if (row != null) {
+                    batch.add(row);
+                    if (batch.size() == batchSize) {
+                        enqueue(queue, batch);
+                        batch = new ArrayList<>(batchSize);
+                    }
+                }
+                if (rowsRead % PROGRESS_LOG_INTERVAL == 0) {
+                    log.info("Read {} rows, {} imported, {} rejected", rowsRead,
+                            progress.rowsImported.get(), progress.rowsRejected.get());
+                }
+            }
+            if (!batch.isEmpty()) {
+                enqueue(queue, batch);
+            }
+        } finally {
+            // Let the writers drain the queue and stop, also when reading failed
+            for (int i = 0; i < writerThreads; i++) {
+                enqueue(queue, END_OF_INPUT);
+            }
+            writers.shutdown();
+            awaitWriters(writers);
+            // Measured before the listeners invalidate the cache and schedule the index rebuild
+            progress.durationNanos = System.nanoTime() - start;
+            if (progress.rowsImported.get() > 0) {
+                eventPublisher.publishEvent(new CatalogReloadedEvent(progress.rowsImported.get()));
+            }
+        }
+
+        long durationNanos = progress.durationNanos;
+        ProductImportReport report = ProductImportReport.builder()
+                .format(format)
+                .rowsRead(progress.rowsRead.get())
+                .rowsImported(progress.rowsImported.get())
+                .rowsRejected(progress.rowsRejected.get())
+                .batches(progress.batches.get())
+                .durationMs(TimeUnit.NANOSECONDS.toMillis(durationNanos))
+                .rowsPerSecond(durationNanos > 0 ? progress.rowsRead.get() * 1e9 / durationNanos : 0.0)
+                .rejections(progress.rejections())
+                .build();
+        log.info("Imported {} of {} products in {} ms ({} rows/s), {} rejected", report.getRowsImported(),
+                report.getRowsRead(), report.getDurationMs(), Math.round(report.getRowsPerSecond()), report.getRowsRejected());
+        return report;
+    }
+
+    /**
+     * Checks a record and resolves its brand and type, or rejects it.
+     *
+     * @return the row to write, or null if the record was rejected
+     */
+    private ProductRow validate(ProductRecord record, Map<String, Integer> brandIds, Map<String, Integer> typeIds,
+                                ImportProgress progress) {
+        if (record.error() != null) {
+            return reject(record, record.error(), progress);
+        }
+        Map<String, String> fields = record.fields();
+        Integer id;
+        long price;
+        try {
+            id = fields.get("id") != null ? Integer.valueOf(fields.get("id").trim()) : null;
+            price = fields.get("price") != null ? Long.parseLong(fields.get("price").trim()) : -1;
+        } catch (NumberFormatException ex) {
+            return reject(record, "id and price must be whole numbers", progress);
+        }
+        String name = fields.get("name");
+        String pictureUrl = fields.get("pictureUrl");
+        Integer brandId = fields.get("brand") != null ? brandIds.get(normalize(fields.get("brand"))) : null;
+        Integer typeId = fields.get("type") != null ? typeIds.get(normalize(fields.get("type"))) : null;
+        if (id != null && id <= 0) {
+            return reject(record, "id must be positive", progress);
+        }
+        if (name == null || name.isBlank()) {
+            return reject(record, "name is required", progress);
+        }
+        if (name.length() > MAX_VARCHAR_LENGTH) {
+            return reject(record, "name is longer than " + MAX_VARCHAR_LENGTH + " characters", progress);
+        }
+        if (price < 0) {
+            return reject(record, fields.get("price") == null ? "price is required" : "price must not be negative", progress);
+        }
+        if (price > MAX_PRICE) {
+            return reject(record, "price must not exceed " + MAX_PRICE, progress);
+        }
+        if (pictureUrl != null && pictureUrl.length() > MAX_VARCHAR_LENGTH) {
+            return reject(record, "pictureUrl is longer than " + MAX_VARCHAR_LENGTH + " characters", progress);
+        }
+        if (brandId == null) {
+            return reject(record, fields.get("brand") == null ? "brand is required" : "Unknown brand " + fields.get("brand"), progress);
+        }
+        if (typeId == null) {
+            return reject(record, fields.get("type") == null ? "type is required" : "Unknown type " + fields.get("type"), progress);
+        }
+        return new ProductRow(record.row(), id, name, fields.get("description"), price, pictureUrl, brandId, typeId);
+    }
+
+    private static ProductRow reject(ProductRecord record, String reason, ImportProgress progress) {
+        progress.reject(record.row(), reason, 1);
+        return null;
+    }
+
+    /**
+     * Takes batches off the queue and writes them until the end of the input.
+     */
+    private void writeBatches(BlockingQueue<List<ProductRow>> queue, ImportProgress progress) {
+        try {
+            List<ProductRow> batch;
+            while ((batch = queue.take()) != END_OF_INPUT) {
+                writeBatch(batch, progress);
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Writes one batch in a transaction: rows without an ID as plain inserts, rows with one as upserts.
+     * If the batch fails, whether in the database or in the transaction handling, all of its rows are
+     * rejected together.
+     */
+    private void writeBatch(List<ProductRow> batch, ImportProgress progress) {
+        List<ProductRow> inserts = new ArrayList<>();
+        List<ProductRow> upserts = new ArrayList<>();
+        for (ProductRow row : batch) {
+            (row.id() == null ? inserts : upserts).add(row);
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                if (!inserts.isEmpty()) {
+                    jdbcTemplate.batchUpdate(INSERT_SQL, inserts, inserts.size(), productSetter(false));
+                }
+                if (!upserts.isEmpty()) {
+                    jdbcTemplate.batchUpdate(UPSERT_SQL, upserts, upserts.size(), productSetter(true));
+                }
+            });
+            progress.rowsImported.addAndGet(batch.size());
+            progress.batches.incrementAndGet();
+        } catch (RuntimeException ex) {
+            // Any failure is contained here; a writer that died would leave the reading thread blocked on a full queue
+            long first = batch.get(0).row();
+            long last = batch.get(batch.size() - 1).row();
+            String cause = ex instanceof DataAccessException dataAccessException
+                    ? dataAccessException.getMostSpecificCause().getMessage()
+                    : ex.toString();
+            log.warn("Could not write rows {} to {}: {}", first, last, cause);
+            progress.reject(first, "Batch of rows " + first + " to " + last + " failed: " + cause, batch.size());
+        }
+    }
+
+    private static ParameterizedPreparedStatementSetter<ProductRow> productSetter(boolean withId) {
+        return (statement, row) -> {
+            int index = 1;
+            if (withId) {
+                statement.setInt(index++, row.id());
+            }
+            statement.setString(index++, row.name());
+            if (row.description() != null) {
+                statement.setString(index++, row.description());
+            } else {
+                statement.setNull(index++, Types.VARCHAR);
+            }
+            statement.setLong(index++, row.price());
+            if (row.pictureUrl() != null) {
+                statement.setString(index++, row.pictureUrl());
+            } else {
+                statement.setNull(index++, Types.VARCHAR);
+            }
+            statement.setInt(index++, row.brandId());
+            statement.setInt(index, row.typeId());
+        };
+    }
+
+    private static void enqueue(BlockingQueue<List<ProductRow>> queue, List<ProductRow> batch) {
+        try {
+            // Blocks while the writers are behind, which pauses reading the input
+            queue.put(batch);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the import writers", ex);
+        }
+    }
+
+    private static void awaitWriters(ExecutorService writers) {
+        try {
+            while (!writers.awaitTermination(1, TimeUnit.MINUTES)) {
+                log.info("Waiting for the import writers to finish");
+            }
+        } catch (InterruptedException ex) {
+            writers.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static String normalize(String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,17 @@
+package com.ecommerce.productmanager.service;
+
+import java.util.Map;
+
+/**
+ * One record of a product import file, before validation.
+ *
+ * @param row the 1-based number of the record in the file, not counting a CSV header
+ * @param fields field name -> text value; fields that are missing or null are absent
+ * @param error why the record could not be parsed, or null if it was parsed
+ */
+record ProductRecord(long row, Map<String, String> fields, String error) {
+
+    static ProductRecord malformed(long row, String error) {
+        return new ProductRecord(row, Map.of(), error);
+    }
+}
@@ -0,0 +1,44 @@
+package com.ecommerce.productmanager.service;
+
+import com.ecommerce.productmanager.model.ImportFormat;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * ProductRecordReader reads the records of a product import file one at a time, so files of any
+ * size are processed in constant memory. A record that cannot be parsed is returned with an error
+ * instead of ending the import; only an unreadable input or a CSV header without the required
+ * columns stops it.
+ */
+interface ProductRecordReader extends Closeable {
+
+    /**
+     * Reads the next record.
+     *
+     * @return the next record, or null at the end of the input
+     * @throws IOException if the input cannot be read
+     */
+    ProductRecord next() throws IOException;
+
+    /**
+     * Opens a reader for the given format. The input is decoded as UTF-8.
+     *
+     * @param format the format of the input
+     * @param input the input, closed together with the reader
+     * @param objectMapper the mapper used to parse NDJSON lines
+     * @return the reader
+     */
+    static ProductRecordReader open(ImportFormat format, InputStream input, ObjectMapper objectMapper) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8), 64 * 1024);
+        return switch (format) {
+            case CSV -> new CsvProductRecordReader(reader);
+            case NDJSON -> new NdjsonProductRecordReader(reader, objectMapper);
+        };
+    }
+}
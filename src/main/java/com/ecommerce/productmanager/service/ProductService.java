@@ -1,10 +1,25 @@
 package com.ecommerce.productmanager.service;
 
+import com.ecommerce.productmanager.model.FacetedProductPage;
 import com.ecommerce.productmanager.model.ProductResponse;
+import com.ecommerce.productmanager.model.ProductSliceResponse;
+import com.ecommerce.productmanager.model.ProductSortKey;
+import com.ecommerce.productmanager.model.ProductSuggestion;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+import java.util.Set;
 
 public interface ProductService {
     ProductResponse getProductById(Integer productId);
-    Page<ProductResponse> getProducts(Pageable pageable, Integer brandId, Integer typeId, String keyword);
+    Page<ProductResponse> getProducts(Pageable pageable, Integer brandId, Integer typeId, String keyword,
+                                      Long minPrice, Long maxPrice);
+    ProductSliceResponse scrollProducts(String cursor, int size, Integer brandId, Integer typeId, String keyword,
+                                        ProductSortKey sortKey, Sort.Direction direction);
+    FacetedProductPage getFacetedProducts(int page, int size, Set<Integer> brandIds, Set<Integer> typeIds,
+                                          Set<Integer> priceBuckets, String keyword,
+                                          ProductSortKey sortKey, Sort.Direction direction);
+    List<ProductSuggestion> getSuggestions(String prefix, int limit);
 }
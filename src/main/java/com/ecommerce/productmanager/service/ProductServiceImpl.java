@@ -1,15 +1,48 @@
 package com.ecommerce.productmanager.service;
 
+import com.ecommerce.productmanager.cache.CachedProductPage;
+import com.ecommerce.productmanager.cache.ProductCache;
 import com.ecommerce.productmanager.entity.Product;
+import com.ecommerce.productmanager.exceptions.IndexNotReadyException;
+import com.ecommerce.productmanager.exceptions.InvalidCursorException;
 import com.ecommerce.productmanager.exceptions.ProductNotFoundException;
+import com.ecommerce.productmanager.model.FacetCount;
+import com.ecommerce.productmanager.model.FacetedProductPage;
+import com.ecommerce.productmanager.model.PriceBucketCount;
 import com.ecommerce.productmanager.model.ProductResponse;
+import com.ecommerce.productmanager.model.ProductSliceResponse;
+import com.ecommerce.productmanager.model.ProductSortKey;
+import com.ecommerce.productmanager.model.ProductSuggestion;
 import com.ecommerce.productmanager.repository.ProductRepository;
+import com.ecommerce.productmanager.search.ProductFacetIndex;
+import com.ecommerce.productmanager.search.ProductPriceIndex;
+import com.ecommerce.productmanager.search.ProductSearchIndex;
+import com.ecommerce.productmanager.search.ProductSuggestIndex;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.observation.annotation.Observed;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
 import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
 /**
  * ProductServiceImpl is a service class that implements the ProductService interface.
  * It provides methods for fetching products by their ID and for fetching paginated lists
@@ -19,22 +52,60 @@ import org.springframework.stereotype.Service;
 @Log4j2
 public class ProductServiceImpl implements ProductService {
 
+    // Upper bound on the keyword matches a database query restricts by ID, which keeps its IN list bounded
+    private static final int MAX_KEYWORD_MATCHES = 1000;
+
     private final ProductRepository productRepository;
+    private final ProductSearchIndex productSearchIndex;
+    private final ProductFacetIndex productFacetIndex;
+    private final ProductPriceIndex productPriceIndex;
+    private final ProductSuggestIndex productSuggestIndex;
+    private final BrandService brandService;
+    private final TypeService typeService;
+    private final ProductCache productCache;
+    private final MeterRegistry meterRegistry;
+    private final boolean fullTextFallback;
 
-    // Constructor to inject the ProductRepository dependency
-    public ProductServiceImpl(ProductRepository productRepository) {
+    // Constructor to inject the repository, the in-memory indexes, the reference data services, the cache and the MeterRegistry
+    public ProductServiceImpl(ProductRepository productRepository, ProductSearchIndex productSearchIndex,
+                              ProductFacetIndex productFacetIndex, ProductPriceIndex productPriceIndex,
+                              ProductSuggestIndex productSuggestIndex, BrandService brandService, TypeService typeService,
+                              ProductCache productCache, MeterRegistry meterRegistry,
+                              @Value("${product.search.fulltext-fallback:false}") boolean fullTextFallback) {
         this.productRepository = productRepository;
+        this.productSearchIndex = productSearchIndex;
+        this.productFacetIndex = productFacetIndex;
+        this.productPriceIndex = productPriceIndex;
+        this.productSuggestIndex = productSuggestIndex;
+        this.brandService = brandService;
+        this.typeService = typeService;
+        this.productCache = productCache;
+        this.meterRegistry = meterRegistry;
+        this.fullTextFallback = fullTextFallback;
     }
 
     /**
      * Fetches a product by its ID and converts it to a ProductResponse.
+     * Responses are served from the ProductCache and loaded from the database on a miss.
      *
      * @param productId the ID of the product to fetch
      * @return the ProductResponse for the fetched product
      * @throws ProductNotFoundException if the product with the given ID does not exist
      */
     @Override
+    @Observed(name = "service.products.get", contextualName = "get-product")
     public ProductResponse getProductById(Integer productId) {
+        return productCache.get("product:" + productId, ProductResponse.class, () -> loadProductById(productId));
+    }
+
+    /**
+     * Loads a product by its ID from the database and converts it to a ProductResponse.
+     *
+     * @param productId the ID of the product to fetch
+     * @return the ProductResponse for the fetched product
+     * @throws ProductNotFoundException if the product with the given ID does not exist
+     */
+    private ProductResponse loadProductById(Integer productId) {
         log.info("Fetching Product by Id: {}", productId);
         Product product = productRepository.findById(productId)
                 .orElseThrow(() -> new ProductNotFoundException("Product doesn't exist"));
@@ -46,17 +117,57 @@ public class ProductServiceImpl implements ProductService {
     }
 
     /**
-     * Fetches a paginated list of products with optional filtering by brand ID, type ID, and keyword.
+     * Fetches a paginated list of products with optional filtering by brand ID, type ID, keyword and price range.
+     * Pages are served from the ProductCache, keyed by every filter, sort and paging parameter.
      *
      * @param pageable the pagination information
      * @param brandId the ID of the brand to filter by (optional)
      * @param typeId the ID of the type to filter by (optional)
      * @param keyword the keyword to filter by (optional)
+     * @param minPrice the lowest price to include (optional)
+     * @param maxPrice the highest price to include (optional)
      * @return a paginated list of ProductResponse objects
      */
     @Override
-    public Page<ProductResponse> getProducts(Pageable pageable, Integer brandId, Integer typeId, String keyword) {
+    @Observed(name = "service.products.search", contextualName = "search-products")
+    public Page<ProductResponse> getProducts(Pageable pageable, Integer brandId, Integer typeId, String keyword,
+                                             Long minPrice, Long maxPrice) {
+        String key = "list:p" + pageable.getPageNumber() + ":s" + pageable.getPageSize()
+                + ":o" + pageable.getSort().toString().replace(" ", "")
+                + ":b" + brandId + ":t" + typeId + ":k" + keyword + ":min" + minPrice + ":max" + maxPrice;
+        CachedProductPage cachedPage = productCache.get(key, CachedProductPage.class, () -> {
+            Page<ProductResponse> page = loadProducts(pageable, brandId, typeId, keyword, minPrice, maxPrice);
+            return new CachedProductPage(page.getContent(), page.getTotalElements());
+        });
+        return new PageImpl<>(cachedPage.content(), pageable, cachedPage.totalElements());
+    }
+
+    /**
+     * Loads a paginated list of products with optional filtering by brand ID, type ID, keyword and price range.
+     * Keywords are resolved through the in-memory ProductSearchIndex; when the pageable is unsorted
+     * the results are returned in relevance order, otherwise the matches are sorted by the in-memory
+     * ProductFacetIndex, or by the database while that index is loading.
+     * Listings sorted by price without a keyword are ordered by the in-memory ProductPriceIndex.
+     *
+     * @param pageable the pagination information
+     * @param brandId the ID of the brand to filter by (optional)
+     * @param typeId the ID of the type to filter by (optional)
+     * @param keyword the keyword to filter by (optional)
+     * @param minPrice the lowest price to include (optional)
+     * @param maxPrice the highest price to include (optional)
+     * @return a paginated list of ProductResponse objects
+     */
+    private Page<ProductResponse> loadProducts(Pageable pageable, Integer brandId, Integer typeId, String keyword,
+                                               Long minPrice, Long maxPrice) {
         log.info("Fetching all products");
+        boolean priceRange = minPrice != null || maxPrice != null;
+        Sort.Order firstOrder = pageable.getSort().stream().findFirst().orElse(null);
+        if ((keyword == null || keyword.isEmpty()) && firstOrder != null
+                && ProductSortKey.fromProperty(firstOrder.getProperty()) == ProductSortKey.PRICE
+                && productPriceIndex.isReady()) {
+            return timeQuery("price-index", pageable.getSort(), brandId, typeId, keyword, priceRange,
+                    () -> getProductsByPrice(pageable, firstOrder.getDirection(), brandId, typeId, minPrice, maxPrice));
+        }
         Specification<Product> spec = Specification.where(null);
 
         // Add brand filter if brandId is provided
@@ -71,15 +182,405 @@ public class ProductServiceImpl implements ProductService {
                     criteriaBuilder.equal(root.get("type").get("id"), typeId));
         }
 
+        // Add price range filter if minPrice or maxPrice is provided
+        if (minPrice != null) {
+            spec = spec.and((root, query, criteriaBuilder) ->
+                    criteriaBuilder.greaterThanOrEqualTo(root.get("price"), minPrice));
+        }
+        if (maxPrice != null) {
+            spec = spec.and((root, query, criteriaBuilder) ->
+                    criteriaBuilder.lessThanOrEqualTo(root.get("price"), maxPrice));
+        }
+
         // Add keyword filter if keyword is provided
         if (keyword != null && !keyword.isEmpty()) {
-            spec = spec.and((root, query, criteriaBuilder) ->
-                    criteriaBuilder.like(root.get("name"), "%" + keyword + "%"));
+            if (productSearchIndex.isReady()) {
+                List<Integer> rankedIds = productSearchIndex.search(keyword, brandId, typeId, minPrice, maxPrice);
+                if (rankedIds.isEmpty()) {
+                    return Page.empty(pageable);
+                }
+                if (pageable.getSort().isUnsorted()) {
+                    return timeQuery("page", pageable.getSort(), brandId, typeId, keyword, priceRange,
+                            () -> getProductsByRank(rankedIds, pageable));
+                }
+                ProductSortKey sortKey = ProductSortKey.fromProperty(firstOrder.getProperty());
+                if (sortKey != null && productFacetIndex.isReady()) {
+                    return timeQuery("facet-index", pageable.getSort(), brandId, typeId, keyword, priceRange,
+                            () -> getSortedMatches(rankedIds, pageable, sortKey, firstOrder.getDirection()));
+                }
+                // The facet index is still loading, the database sorts the best matches
+                List<Integer> bestIds = rankedIds.subList(0, Math.min(rankedIds.size(), MAX_KEYWORD_MATCHES));
+                spec = spec.and((root, query, criteriaBuilder) -> root.get("id").in(bestIds));
+            } else {
+                // The index is still loading, fall back to the database
+                spec = spec.and(keywordFallback(keyword));
+            }
         }
         log.info("Fetched all products");
 
         // Fetch products from the repository and convert them to ProductResponse objects
-        return productRepository.findAll(spec, pageable).map(this::convertToProductResponse);
+        Specification<Product> pageSpec = spec;
+        return timeQuery("page", pageable.getSort(), brandId, typeId, keyword, priceRange,
+                () -> productRepository.findAll(pageSpec, pageable).map(this::convertToProductResponse));
+    }
+
+    /**
+     * Fetches a window of products using keyset (seek) pagination.
+     * Instead of an OFFSET the query seeks past the last row of the previous window, and no count
+     * query is issued, so every window costs the same no matter how deep the client has scrolled.
+     *
+     * @param cursor the continuation token returned with the previous window (optional)
+     * @param size the number of products per window
+     * @param brandId the ID of the brand to filter by (optional)
+     * @param typeId the ID of the type to filter by (optional)
+     * @param keyword the keyword to filter by (optional)
+     * @param sortKey the attribute to sort by
+     * @param direction the sort direction
+     * @return the window of products together with the cursor for the next one
+     * @throws InvalidCursorException if the cursor cannot be decoded or was issued for another sort order
+     */
+    @Override
+    @Observed(name = "service.products.scroll", contextualName = "scroll-products")
+    public ProductSliceResponse scrollProducts(String cursor, int size, Integer brandId, Integer typeId, String keyword,
+                                               ProductSortKey sortKey, Sort.Direction direction) {
+        log.info("Scrolling products sorted by {} {}", sortKey.getProperty(), direction);
+        Specification<Product> spec = Specification.where(null);
+        if (brandId != null) {
+            spec = spec.and((root, query, criteriaBuilder) ->
+                    criteriaBuilder.equal(root.get("brand").get("id"), brandId));
+        }
+        if (typeId != null) {
+            spec = spec.and((root, query, criteriaBuilder) ->
+                    criteriaBuilder.equal(root.get("type").get("id"), typeId));
+        }
+        if (keyword != null && !keyword.isEmpty()) {
+            if (productSearchIndex.isReady()) {
+                List<Integer> rankedIds = productSearchIndex.search(keyword, brandId, typeId);
+                if (rankedIds.isEmpty()) {
+                    return ProductSliceResponse.builder().content(List.of()).size(size).hasNext(false).build();
+                }
+                // Windows are seeked in the database, which scrolls through the best matches only
+                List<Integer> bestIds = rankedIds.subList(0, Math.min(rankedIds.size(), MAX_KEYWORD_MATCHES));
+                spec = spec.and((root, query, criteriaBuilder) -> root.get("id").in(bestIds));
+            } else {
+                spec = spec.and(keywordFallback(keyword));
+            }
+        }
+        if (cursor != null && !cursor.isEmpty()) {
+            spec = spec.and(seekAfter(cursor, sortKey, direction));
+        }
+
+        // Fetch one extra row to find out whether another window follows, together with brand and type
+        Sort sort = sortKey.toSort(direction);
+        Specification<Product> windowSpec = spec;
+        List<Product> products = timeQuery("scroll", sort, brandId, typeId, keyword, false,
+                () -> productRepository.findBy(windowSpec, query -> query.sortBy(sort)
+                        .project("brand", "type")
+                        .limit(size + 1)
+                        .all()));
+
+        boolean hasNext = products.size() > size;
+        List<Product> window = hasNext ? products.subList(0, size) : products;
+        String nextCursor = hasNext ? encodeCursor(sortKey, direction, window.get(window.size() - 1)) : null;
+        return ProductSliceResponse.builder()
+                .content(window.stream().map(this::convertToProductResponse).toList())
+                .size(size)
+                .hasNext(hasNext)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    /**
+     * Fetches one page of products filtered by any number of brands, types and price buckets, together
+     * with the number of products behind every facet value. Filtering, counting and paging are answered
+     * by the in-memory ProductFacetIndex; only the products on the page are loaded, by primary key.
+     * Values selected within one facet are combined with OR, the facets themselves with AND.
+     *
+     * @param page the page number, starting at 0
+     * @param size the page size
+     * @param brandIds the brands to filter by (optional)
+     * @param typeIds the types to filter by (optional)
+     * @param priceBuckets the price buckets to filter by (optional)
+     * @param keyword the keyword to filter by (optional)
+     * @param sortKey the attribute to sort by, or null to sort by relevance when a keyword is given and by ID otherwise
+     * @param direction the sort direction
+     * @return the page of products and the facet counts
+     * @throws IndexNotReadyException if the facet or search index is still loading
+     */
+    @Override
+    @Observed(name = "service.products.facets", contextualName = "facet-products")
+    public FacetedProductPage getFacetedProducts(int page, int size, Set<Integer> brandIds, Set<Integer> typeIds,
+                                                 Set<Integer> priceBuckets, String keyword,
+                                                 ProductSortKey sortKey, Sort.Direction direction) {
+        if (!productFacetIndex.isReady()) {
+            throw new IndexNotReadyException("Product facets are still being built, retry shortly");
+        }
+        List<Integer> candidateIds = null;
+        if (keyword != null && !keyword.isEmpty()) {
+            if (!productSearchIndex.isReady()) {
+                throw new IndexNotReadyException("Product search is still being built, retry shortly");
+            }
+            candidateIds = productSearchIndex.search(keyword, null, null);
+        }
+        ProductFacetIndex.Selection selection =
+                new ProductFacetIndex.Selection(brandIds, typeIds, priceBuckets, candidateIds);
+        // A page far beyond the catalog must not overflow into a negative offset; it is simply empty
+        int offset = (int) Math.min((long) page * size, Integer.MAX_VALUE);
+        ProductFacetIndex.Result result = productFacetIndex.search(selection, sortKey, direction, offset, size);
+
+        List<ProductResponse> content = result.pageIds().isEmpty() ? List.of() : findAllInOrder(result.pageIds());
+        List<FacetCount> brands = brandService.getBrandsSnapshot().getItems().stream()
+                .map(brand -> facetCount(brand.getId(), brand.getName(), result.brandCounts(), brandIds))
+                .filter(count -> count.getCount() > 0 || count.isSelected())
+                .toList();
+        List<FacetCount> types = typeService.getTypesSnapshot().getItems().stream()
+                .map(type -> facetCount(type.getId(), type.getName(), result.typeCounts(), typeIds))
+                .filter(count -> count.getCount() > 0 || count.isSelected())
+                .toList();
+        List<PriceBucketCount> prices = productFacetIndex.getPriceRanges().stream()
+                .map(range -> PriceBucketCount.builder()
+                        .bucket(range.bucket())
+                        .min(range.min())
+                        .max(range.max())
+                        .count(result.priceBucketCounts()[range.bucket()])
+                        .selected(priceBuckets != null && priceBuckets.contains(range.bucket()))
+                        .build())
+                .toList();
+        return FacetedProductPage.builder()
+                .content(content)
+                .page(page)
+                .size(size)
+                .totalElements(result.totalMatches())
+                .brands(brands)
+                .types(types)
+                .prices(prices)
+                .build();
+    }
+
+    /**
+     * Suggests product, brand and type names for a partly typed search, most popular first.
+     * Served from the in-memory suggestion index without touching the database.
+     *
+     * @param prefix the typed text; every word of a name can match
+     * @param limit the maximum number of suggestions
+     * @return the suggestions
+     * @throws IndexNotReadyException if the suggestion index is still being built
+     */
+    @Override
+    public List<ProductSuggestion> getSuggestions(String prefix, int limit) {
+        if (!productSuggestIndex.isReady()) {
+            throw new IndexNotReadyException("Product suggestions are still being built, retry shortly");
+        }
+        return productSuggestIndex.suggest(prefix, limit);
+    }
+
+    private static FacetCount facetCount(Integer id, String name, Map<Integer, Long> counts, Set<Integer> selected) {
+        return FacetCount.builder()
+                .id(id)
+                .name(name)
+                .count(counts.getOrDefault(id, 0L))
+                .selected(selected != null && selected.contains(id))
+                .build();
+    }
+
+    /**
+     * Runs a product listing query and records its duration in the product.listing.query timer, tagged
+     * with the sort key, its direction and the filters in use, so expensive combinations stand out.
+     * Sort keys outside the ProductSortKey registry are tagged "other" to keep the number of series bounded.
+     */
+    private <T> T timeQuery(String query, Sort sort, Integer brandId, Integer typeId, String keyword,
+                            boolean priceRange, Supplier<T> supplier) {
+        Sort.Order order = sort.stream().findFirst().orElse(null);
+        String sortTag;
+        if (order == null) {
+            sortTag = keyword != null && !keyword.isEmpty() ? "relevance" : "unsorted";
+        } else {
+            ProductSortKey sortKey = ProductSortKey.fromProperty(order.getProperty());
+            sortTag = sortKey != null ? sortKey.getProperty() : "other";
+        }
+        List<String> filters = new ArrayList<>(4);
+        if (brandId != null) {
+            filters.add("brand");
+        }
+        if (typeId != null) {
+            filters.add("type");
+        }
+        if (keyword != null && !keyword.isEmpty()) {
+            filters.add("keyword");
+        }
+        if (priceRange) {
+            filters.add("price");
+        }
+        return Timer.builder("product.listing.query")
+                .description("Time spent loading a product listing from the database, by sort key and filters")
+                .tag("query", query)
+                .tag("sort", sortTag)
+                .tag("direction", order != null ? order.getDirection().name().toLowerCase(Locale.ROOT) : "none")
+                .tag("filter", filters.isEmpty() ? "none" : String.join("+", filters))
+                .register(meterRegistry)
+                .record(supplier);
+    }
+
+    /**
+     * Restricts a query to the products matching a keyword while the ProductSearchIndex is still loading.
+     * With the full-text fallback enabled the FULLTEXT index on name and description finds the products
+     * by word prefix; otherwise product names are scanned with LIKE. The full-text matches are capped at
+     * the best MAX_KEYWORD_MATCHES, which keeps the IN list of the listing query bounded.
+     */
+    private Specification<Product> keywordFallback(String keyword) {
+        String fullTextQuery = fullTextFallback ? toBooleanQuery(keyword) : "";
+        if (fullTextQuery.isEmpty()) {
+            return (root, query, criteriaBuilder) -> criteriaBuilder.like(root.get("name"), "%" + keyword + "%");
+        }
+        List<Integer> matchingIds = productRepository.findIdsByFullText(fullTextQuery, MAX_KEYWORD_MATCHES);
+        return (root, query, criteriaBuilder) -> matchingIds.isEmpty()
+                ? criteriaBuilder.disjunction()
+                : root.get("id").in(matchingIds);
+    }
+
+    /**
+     * Turns a keyword into a MySQL boolean-mode query in which every word is required and matched as a prefix.
+     * Characters with a meaning in boolean mode are treated as word separators.
+     */
+    private static String toBooleanQuery(String keyword) {
+        StringBuilder query = new StringBuilder();
+        for (String word : keyword.split("[^\\p{L}\\p{N}]+")) {
+            if (!word.isEmpty()) {
+                query.append(query.isEmpty() ? "+" : " +").append(word).append('*');
+            }
+        }
+        return query.toString();
+    }
+
+    /**
+     * Builds the seek predicate that selects the rows following the position stored in a cursor:
+     * {@code key > :value OR (key = :value AND id > :id)}, mirrored for descending order.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Specification<Product> seekAfter(String cursor, ProductSortKey sortKey, Sort.Direction direction) {
+        String[] parts = decodeCursor(cursor);
+        if (!parts[0].equals(sortKey.name()) || !parts[1].equals(direction.name())) {
+            throw new InvalidCursorException("Cursor was issued for a different sort order");
+        }
+        Integer lastId;
+        Comparable lastValue;
+        try {
+            lastId = Integer.valueOf(parts[2]);
+            lastValue = sortKey.parse(parts[3]);
+        } catch (NumberFormatException ex) {
+            throw new InvalidCursorException("Cursor is malformed");
+        }
+        return (root, query, criteriaBuilder) -> {
+            Path<Integer> id = root.get("id");
+            Predicate afterId = direction.isAscending()
+                    ? criteriaBuilder.greaterThan(id, lastId)
+                    : criteriaBuilder.lessThan(id, lastId);
+            if (sortKey == ProductSortKey.ID) {
+                return afterId;
+            }
+            Path<Comparable> key = root.get(sortKey.getProperty());
+            Predicate afterKey = direction.isAscending()
+                    ? criteriaBuilder.greaterThan(key, lastValue)
+                    : criteriaBuilder.lessThan(key, lastValue);
+            return criteriaBuilder.or(afterKey, criteriaBuilder.and(criteriaBuilder.equal(key, lastValue), afterId));
+        };
+    }
+
+    /**
+     * Encodes the position of the last product of a window as an opaque, URL-safe cursor.
+     */
+    private String encodeCursor(ProductSortKey sortKey, Sort.Direction direction, Product last) {
+        String position = sortKey.name() + ":" + direction.name() + ":" + last.getId() + ":" + sortKey.valueOf(last);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a cursor into its sort key, direction, last ID and last sort value.
+     */
+    private String[] decodeCursor(String cursor) {
+        try {
+            String position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            // The sort value comes last, so it may itself contain the separator
+            String[] parts = position.split(":", 4);
+            if (parts.length != 4) {
+                throw new InvalidCursorException("Cursor is malformed");
+            }
+            return parts;
+        } catch (IllegalArgumentException ex) {
+            throw new InvalidCursorException("Cursor is malformed");
+        }
+    }
+
+    /**
+     * Fetches one page of products from a list of IDs ranked by relevance.
+     * Only the IDs of the requested page are loaded, by primary key, and returned in rank order.
+     *
+     * @param rankedIds the matching product IDs, best match first
+     * @param pageable the pagination information
+     * @return a paginated list of ProductResponse objects in rank order
+     */
+    private Page<ProductResponse> getProductsByRank(List<Integer> rankedIds, Pageable pageable) {
+        int fromIndex = (int) Math.min(pageable.getOffset(), rankedIds.size());
+        int toIndex = Math.min(fromIndex + pageable.getPageSize(), rankedIds.size());
+        List<ProductResponse> content = findAllInOrder(rankedIds.subList(fromIndex, toIndex));
+        return new PageImpl<>(content, pageable, rankedIds.size());
+    }
+
+    /**
+     * Fetches one page of keyword matches sorted by name, price or ID. The ProductFacetIndex sorts and
+     * pages the matches in memory; only the IDs of the requested page are loaded, by primary key.
+     *
+     * @param rankedIds the matching product IDs, already filtered by brand, type and price
+     * @param pageable the pagination information
+     * @param sortKey the attribute to sort by
+     * @param direction the sort direction
+     * @return a paginated list of ProductResponse objects in sort order
+     */
+    private Page<ProductResponse> getSortedMatches(List<Integer> rankedIds, Pageable pageable, ProductSortKey sortKey,
+                                                   Sort.Direction direction) {
+        ProductFacetIndex.Selection selection = new ProductFacetIndex.Selection(null, null, null, rankedIds);
+        int offset = (int) Math.min(pageable.getOffset(), Integer.MAX_VALUE);
+        ProductFacetIndex.Result result = productFacetIndex.search(selection, sortKey, direction, offset,
+                pageable.getPageSize());
+        List<ProductResponse> content = result.pageIds().isEmpty() ? List.of() : findAllInOrder(result.pageIds());
+        return new PageImpl<>(content, pageable, result.totalMatches());
+    }
+
+    /**
+     * Fetches one page of products in price order from the ProductPriceIndex.
+     * The index selects and counts the products of the page; only those are loaded, by primary key.
+     *
+     * @param pageable the pagination information
+     * @param direction the sort direction
+     * @param brandId the ID of the brand to filter by (optional)
+     * @param typeId the ID of the type to filter by (optional)
+     * @param minPrice the lowest price to include (optional)
+     * @param maxPrice the highest price to include (optional)
+     * @return a paginated list of ProductResponse objects in price order
+     */
+    private Page<ProductResponse> getProductsByPrice(Pageable pageable, Sort.Direction direction, Integer brandId,
+                                                     Integer typeId, Long minPrice, Long maxPrice) {
+        ProductPriceIndex.Window window = productPriceIndex.search(minPrice, maxPrice, brandId, typeId,
+                direction, pageable.getOffset(), pageable.getPageSize());
+        List<ProductResponse> content = window.ids().isEmpty() ? List.of() : findAllInOrder(window.ids());
+        return new PageImpl<>(content, pageable, window.totalMatches());
+    }
+
+    /**
+     * Loads products by primary key and returns them in the order of the given IDs.
+     *
+     * @param ids the product IDs, in the order the products should be returned
+     * @return the ProductResponse objects of the products that exist
+     */
+    private List<ProductResponse> findAllInOrder(List<Integer> ids) {
+        Map<Integer, Integer> positionById = new HashMap<>();
+        for (int i = 0; i < ids.size(); i++) {
+            positionById.put(ids.get(i), i);
+        }
+        return productRepository.findAllById(ids).stream()
+                .sorted(Comparator.comparing(product -> positionById.get(product.getId())))
+                .map(this::convertToProductResponse)
+                .toList();
     }
 
     /**
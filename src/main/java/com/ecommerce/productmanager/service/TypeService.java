@@ -1,9 +1,11 @@
 package com.ecommerce.productmanager.service;
 
+import com.ecommerce.productmanager.model.ReferenceDataSnapshot;
 import com.ecommerce.productmanager.model.TypeResponse;
 
 import java.util.List;
 
 public interface TypeService {
     List<TypeResponse> getAllTypes();
+    ReferenceDataSnapshot<TypeResponse> getTypesSnapshot();
 }
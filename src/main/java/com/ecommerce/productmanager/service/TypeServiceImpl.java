@@ -1,27 +1,69 @@
 package com.ecommerce.productmanager.service;
 
 import com.ecommerce.productmanager.entity.Type;
+import com.ecommerce.productmanager.event.ReferenceDataChangedEvent;
+import com.ecommerce.productmanager.model.ReferenceDataSnapshot;
 import com.ecommerce.productmanager.model.TypeResponse;
 import com.ecommerce.productmanager.repository.TypeRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.log4j.Log4j2;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
 
 import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.stream.Collectors;
 
 @Service
 @Log4j2
 public class TypeServiceImpl implements TypeService {
     private final TypeRepository typeRepository;
+    private final ObjectMapper objectMapper;
 
-    public TypeServiceImpl(TypeRepository typeRepository) {
+    // A lock rather than synchronized, so a virtual thread waiting on the database does not pin its carrier
+    private final ReentrantLock loadLock = new ReentrantLock();
+
+    private volatile ReferenceDataSnapshot<TypeResponse> snapshot;
+
+    public TypeServiceImpl(TypeRepository typeRepository, ObjectMapper objectMapper) {
         this.typeRepository = typeRepository;
+        this.objectMapper = objectMapper;
     }
 
     @Override
     public List<TypeResponse> getAllTypes() {
+        return getTypesSnapshot().getItems();
+    }
+
+    @Override
+    public ReferenceDataSnapshot<TypeResponse> getTypesSnapshot() {
+        ReferenceDataSnapshot<TypeResponse> current = snapshot;
+        return current != null ? current : loadSnapshot();
+    }
+
+    //Reload Types at startup, on a schedule and after every committed change
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${reference-data.refresh-interval:300000}",
+            fixedDelayString = "${reference-data.refresh-interval:300000}")
+    public void refresh() {
+        loadSnapshot();
+    }
+
+    private ReferenceDataSnapshot<TypeResponse> loadSnapshot() {
+        loadLock.lock();
+        try {
+            return reloadSnapshot();
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    private ReferenceDataSnapshot<TypeResponse> reloadSnapshot() {
         log.info("Fetching All Types!!!");
-        
+
         //Fetch Types from DB
         List<Type> typeList = typeRepository.findAll();
 
@@ -29,8 +71,20 @@ public class TypeServiceImpl implements TypeService {
         List<TypeResponse> typeResponses = typeList.stream()
                 .map(this::convertToTypeResponse)
                 .collect(Collectors.toList());
-        log.info("Fetched All Types!!!");
-        return typeResponses;
+
+        ReferenceDataSnapshot<TypeResponse> refreshed = ReferenceDataSnapshot.of(typeResponses, objectMapper);
+        if (snapshot == null || !snapshot.getEtag().equals(refreshed.getEtag())) {
+            snapshot = refreshed;
+            log.info("Fetched All Types!!! New snapshot {}", refreshed.getEtag());
+        }
+        return snapshot;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReferenceDataChanged(ReferenceDataChangedEvent event) {
+        if (event.getEntity() instanceof Type) {
+            refresh();
+        }
     }
 
     private TypeResponse convertToTypeResponse(Type type) {
@@ -0,0 +1,76 @@
+-- -----------------------------------------------------
+-- Baseline schema: the tables as they existed before Flyway managed the schema.
+-- Brand, Type and Product match docker/data.sql; the order tables match what Hibernate generated.
+-- Every statement is IF NOT EXISTS, so databases created by data.sql or by Hibernate adopt this
+-- migration without changes (spring.flyway.baseline-version is 0 for that reason).
+-- -----------------------------------------------------
+
+CREATE TABLE IF NOT EXISTS `Brand` (
+    `Id` INT AUTO_INCREMENT PRIMARY KEY,
+    `Name` VARCHAR(255) NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS `Type` (
+    `Id` INT AUTO_INCREMENT PRIMARY KEY,
+    `Name` VARCHAR(255) NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS `Product` (
+    `Id` INT AUTO_INCREMENT PRIMARY KEY,
+    `Name` VARCHAR(255) NOT NULL,
+    `Description` TEXT,
+    `Price` DECIMAL(10, 2) NOT NULL,
+    `PictureUrl` VARCHAR(255),
+    `ProductTypeId` INT NOT NULL,
+    `ProductBrandId` INT NOT NULL,
+    FOREIGN KEY (`ProductTypeId`) REFERENCES `Type`(`Id`),
+    FOREIGN KEY (`ProductBrandId`) REFERENCES `Brand`(`Id`)
+);
+
+-- Pooled ID blocks for Orders and OrderItem; the rows are created by IdAllocationInitializer
+CREATE TABLE IF NOT EXISTS `Id_Allocation` (
+    `Sequence_Name` VARCHAR(255) NOT NULL PRIMARY KEY,
+    `Next_Val` BIGINT
+);
+
+CREATE TABLE IF NOT EXISTS `Orders` (
+    `Id` INT NOT NULL PRIMARY KEY,
+    `Basket_Id` VARCHAR(255),
+    `Idempotency_Key` VARCHAR(100),
+    `name` VARCHAR(255),
+    `address1` VARCHAR(255),
+    `address2` VARCHAR(255),
+    `city` VARCHAR(255),
+    `state` VARCHAR(255),
+    `zipcode` VARCHAR(255),
+    `country` VARCHAR(255),
+    `Order_Date` DATETIME(6),
+    `Sub_Total` DOUBLE,
+    `Delivery_Fee` BIGINT,
+    `Order_Status` VARCHAR(32),
+    CONSTRAINT `UK_Orders_Idempotency_Key` UNIQUE (`Idempotency_Key`),
+    INDEX `IX_Orders_Status_Date` (`Order_Status`, `Order_Date`),
+    INDEX `IX_Orders_Date` (`Order_Date`),
+    INDEX `IX_Orders_Basket_Date` (`Basket_Id`, `Order_Date`),
+    INDEX `IX_Orders_City_Date` (`city`, `Order_Date`)
+);
+
+CREATE TABLE IF NOT EXISTS `OrderItem` (
+    `Id` INT NOT NULL PRIMARY KEY,
+    `productId` INT,
+    `name` VARCHAR(255),
+    `pictureUrl` VARCHAR(255),
+    `Price` BIGINT,
+    `Quantity` INT,
+    `order_id` INT,
+    INDEX `IX_OrderItem_Product_Order` (`productId`, `order_id`),
+    FOREIGN KEY (`order_id`) REFERENCES `Orders`(`Id`)
+);
+
+CREATE TABLE IF NOT EXISTS `Outbox_Event` (
+    `Id` BIGINT AUTO_INCREMENT PRIMARY KEY,
+    `Event_Type` VARCHAR(32) NOT NULL,
+    `Payload` VARCHAR(255) NOT NULL,
+    `Created_At` DATETIME(6) NOT NULL,
+    `Attempts` INT NOT NULL
+);
@@ -0,0 +1,67 @@
+-- -----------------------------------------------------
+-- Idempotency key and indexes of the order tables on databases that V1 adopted as they were.
+-- Orders and OrderItem created by Hibernate before Flyway lack the Idempotency_Key column, its unique
+-- key and the indexes that V1 declares, because V1 skips tables that already exist. V3 adds its column
+-- after Idempotency_Key, so this migration runs before it.
+-- MySQL has no ADD COLUMN or CREATE INDEX IF NOT EXISTS: each change is looked up in
+-- INFORMATION_SCHEMA first and replaced by a no-op where it exists, which is the case on every
+-- database that V1 created.
+-- -----------------------------------------------------
+
+SET @statement = IF((SELECT COUNT(*) FROM INFORMATION_SCHEMA.COLUMNS
+        WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'Orders' AND COLUMN_NAME = 'Idempotency_Key') = 0,
+    'ALTER TABLE `Orders` ADD COLUMN `Idempotency_Key` VARCHAR(100) AFTER `Basket_Id`',
+    'DO 0');
+PREPARE migration FROM @statement;
+EXECUTE migration;
+DEALLOCATE PREPARE migration;
+
+SET @statement = IF((SELECT COUNT(*) FROM INFORMATION_SCHEMA.STATISTICS
+        WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'Orders' AND INDEX_NAME = 'UK_Orders_Idempotency_Key') = 0,
+    'ALTER TABLE `Orders` ADD CONSTRAINT `UK_Orders_Idempotency_Key` UNIQUE (`Idempotency_Key`)',
+    'DO 0');
+PREPARE migration FROM @statement;
+EXECUTE migration;
+DEALLOCATE PREPARE migration;
+
+-- Order search: status, date range, basket and city filters, each followed by the date it sorts on
+SET @statement = IF((SELECT COUNT(*) FROM INFORMATION_SCHEMA.STATISTICS
+        WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'Orders' AND INDEX_NAME = 'IX_Orders_Status_Date') = 0,
+    'CREATE INDEX `IX_Orders_Status_Date` ON `Orders` (`Order_Status`, `Order_Date`)',
+    'DO 0');
+PREPARE migration FROM @statement;
+EXECUTE migration;
+DEALLOCATE PREPARE migration;
+
+SET @statement = IF((SELECT COUNT(*) FROM INFORMATION_SCHEMA.STATISTICS
+        WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'Orders' AND INDEX_NAME = 'IX_Orders_Date') = 0,
+    'CREATE INDEX `IX_Orders_Date` ON `Orders` (`Order_Date`)',
+    'DO 0');
+PREPARE migration FROM @statement;
+EXECUTE migration;
+DEALLOCATE PREPARE migration;
+
+SET @statement = IF((SELECT COUNT(*) FROM INFORMATION_SCHEMA.STATISTICS
+        WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'Orders' AND INDEX_NAME = 'IX_Orders_Basket_Date') = 0,
+    'CREATE INDEX `IX_Orders_Basket_Date` ON `Orders` (`Basket_Id`, `Order_Date`)',
+    'DO 0');
+PREPARE migration FROM @statement;
+EXECUTE migration;
+DEALLOCATE PREPARE migration;
+
+SET @statement = IF((SELECT COUNT(*) FROM INFORMATION_SCHEMA.STATISTICS
+        WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'Orders' AND INDEX_NAME = 'IX_Orders_City_Date') = 0,
+    'CREATE INDEX `IX_Orders_City_Date` ON `Orders` (`city`, `Order_Date`)',
+    'DO 0');
+PREPARE migration FROM @statement;
+EXECUTE migration;
+DEALLOCATE PREPARE migration;
+
+-- Sales per product
+SET @statement = IF((SELECT COUNT(*) FROM INFORMATION_SCHEMA.STATISTICS
+        WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'OrderItem' AND INDEX_NAME = 'IX_OrderItem_Product_Order') = 0,
+    'CREATE INDEX `IX_OrderItem_Product_Order` ON `OrderItem` (`productId`, `order_id`)',
+    'DO 0');
+PREPARE migration FROM @statement;
+EXECUTE migration;
+DEALLOCATE PREPARE migration;
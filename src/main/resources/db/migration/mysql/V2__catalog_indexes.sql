@@ -0,0 +1,31 @@
+-- -----------------------------------------------------
+-- Indexes for the product listing (GET /api/products and /api/products/scroll).
+-- A listing filters by brand, type, both or neither and sorts by name, price or ID. Each
+-- filter/sort combination below has an index whose leading columns are the equality filters and
+-- whose last column is the sort key, so MySQL reads the rows already in order and stops after one page.
+-- InnoDB appends the primary key to every secondary index, which makes each index end in the Id
+-- tie-breaker of keyset pagination and lets the count query run on the index alone.
+-- -----------------------------------------------------
+
+-- No filter; sorting by Id uses the primary key
+CREATE INDEX `IX_Product_Name` ON `Product` (`Name`);
+CREATE INDEX `IX_Product_Price` ON `Product` (`Price`);
+
+-- Brand filter; (ProductBrandId) alone serves the sort by Id. It replaces the index MySQL created
+-- implicitly for the foreign key, which MySQL drops once another index can enforce the key.
+CREATE INDEX `IX_Product_Brand` ON `Product` (`ProductBrandId`);
+CREATE INDEX `IX_Product_Brand_Name` ON `Product` (`ProductBrandId`, `Name`);
+CREATE INDEX `IX_Product_Brand_Price` ON `Product` (`ProductBrandId`, `Price`);
+
+-- Type filter; (ProductTypeId) likewise replaces the implicit foreign key index
+CREATE INDEX `IX_Product_Type` ON `Product` (`ProductTypeId`);
+CREATE INDEX `IX_Product_Type_Name` ON `Product` (`ProductTypeId`, `Name`);
+CREATE INDEX `IX_Product_Type_Price` ON `Product` (`ProductTypeId`, `Price`);
+
+-- Brand and type filter
+CREATE INDEX `IX_Product_Brand_Type` ON `Product` (`ProductBrandId`, `ProductTypeId`);
+CREATE INDEX `IX_Product_Brand_Type_Name` ON `Product` (`ProductBrandId`, `ProductTypeId`, `Name`);
+CREATE INDEX `IX_Product_Brand_Type_Price` ON `Product` (`ProductBrandId`, `ProductTypeId`, `Price`);
+
+-- Keyword search while the in-memory ProductSearchIndex is still loading
+CREATE FULLTEXT INDEX `FT_Product_Name_Description` ON `Product` (`Name`, `Description`);
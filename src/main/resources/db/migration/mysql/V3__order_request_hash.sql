@@ -0,0 +1,7 @@
+-- -----------------------------------------------------
+-- SHA-256 of the request an order was placed with. A retry with the same Idempotency-Key must send
+-- the same request; a different request under a used key is rejected with 422 instead of being
+-- answered with the unrelated order. Orders placed before this column existed keep NULL and are not checked.
+-- -----------------------------------------------------
+
+ALTER TABLE `Orders` ADD COLUMN `Request_Hash` VARCHAR(64) AFTER `Idempotency_Key`;
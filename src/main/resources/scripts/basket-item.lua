@@ -0,0 +1,74 @@
+-- Applies a single item mutation to a basket document stored as JSON, atomically.
+--
+-- KEYS[1]  basket key
+-- KEYS[2]  key of the basket in the legacy hash format, which has to be migrated before "add" creates a basket
+-- ARGV[1]  operation: "add", "set" or "remove"
+-- ARGV[2]  item ID
+-- ARGV[3]  "add": the item as JSON; "set": the new quantity; "remove": unused
+-- ARGV[4]  time to live in seconds
+-- ARGV[5]  basket ID, used when "add" creates the basket
+--
+-- Returns {status, basket JSON}, where status is OK, NO_BASKET or NO_ITEM.
+
+local operation = ARGV[1]
+local itemId = tonumber(ARGV[2])
+
+local document = redis.call('GET', KEYS[1])
+local basketId
+local items
+if document then
+    local basket = cjson.decode(document)
+    basketId = basket.id
+    items = basket.items
+    if items == nil or items == cjson.null then
+        items = {}
+    end
+elseif operation == 'add' and redis.call('EXISTS', KEYS[2]) == 0 then
+    basketId = ARGV[5]
+    items = {}
+else
+    return {'NO_BASKET', ''}
+end
+
+local index
+for i, item in ipairs(items) do
+    if tonumber(item.id) == itemId then
+        index = i
+        break
+    end
+end
+
+if operation == 'add' then
+    local newItem = cjson.decode(ARGV[3])
+    local quantity = tonumber(newItem.quantity) or 1
+    if index then
+        items[index].quantity = (tonumber(items[index].quantity) or 0) + quantity
+    else
+        newItem.quantity = quantity
+        table.insert(items, newItem)
+    end
+elseif operation == 'set' then
+    if not index then
+        return {'NO_ITEM', document}
+    end
+    local quantity = tonumber(ARGV[3])
+    if quantity <= 0 then
+        table.remove(items, index)
+    else
+        items[index].quantity = quantity
+    end
+elseif operation == 'remove' then
+    if not index then
+        return {'NO_ITEM', document}
+    end
+    table.remove(items, index)
+end
+
+-- cjson encodes an empty table as an object, so write an empty item list explicitly
+local encodedItems = '[]'
+if #items > 0 then
+    encodedItems = cjson.encode(items)
+end
+local result = '{"id":' .. cjson.encode(basketId) .. ',"items":' .. encodedItems .. '}'
+redis.call('SET', KEYS[1], result, 'EX', tonumber(ARGV[4]))
+return {'OK', result}
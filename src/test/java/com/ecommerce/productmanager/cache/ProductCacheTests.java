@@ -0,0 +1,134 @@
+package com.ecommerce.productmanager.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Verifies that a catalog version bump made while Redis is unreachable is written to Redis once it is
+ * reachable again, so other instances stop serving the entries it invalidated, and that an instance
+ * whose local version was ahead of Redis drops its local entries when it takes over the lower version.
+ * Two caches stand in for two instances; they share an embedded Redis server on a free port, and the
+ * first one can be cut off from it.
+ */
+class ProductCacheTests {
+
+    private static final String KEY = "product:1";
+    private static final String VERSION_KEY = "products:cache:version";
+
+    private static RedisServer redisServer;
+    private static LettuceConnectionFactory connectionFactory;
+
+    private StringRedisTemplate redisTemplate;
+    private SwitchableRedisTemplate firstTemplate;
+    private ProductCache first;
+    private ProductCache second;
+
+    @BeforeAll
+    static void startRedis() throws IOException {
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        redisServer = new RedisServer(port);
+        redisServer.start();
+        connectionFactory = new LettuceConnectionFactory("localhost", port);
+        connectionFactory.afterPropertiesSet();
+    }
+
+    @AfterAll
+    static void stopRedis() throws IOException {
+        connectionFactory.destroy();
+        redisServer.stop();
+    }
+
+    @BeforeEach
+    void setUp() {
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+        redisTemplate.getRequiredConnectionFactory().getConnection().serverCommands().flushAll();
+        firstTemplate = new SwitchableRedisTemplate(connectionFactory);
+        first = cache(firstTemplate);
+        second = cache(redisTemplate);
+    }
+
+    @Test
+    void bumpWhileRedisIsDownReachesOtherInstances() {
+        assertEquals("old", first.get(KEY, String.class, () -> "old"));
+        assertEquals("old", second.get(KEY, String.class, () -> "old"));
+
+        firstTemplate.down = true;
+        first.invalidate();
+        firstTemplate.down = false;
+
+        assertEquals("new", first.get(KEY, String.class, () -> "new"));
+        assertEquals("new", second.get(KEY, String.class, () -> "new"));
+    }
+
+    @Test
+    void bumpsWhileRedisIsDownAreWrittenAsOneIncrement() {
+        firstTemplate.down = true;
+        first.invalidate();
+        first.invalidate();
+        assertEquals("offline", first.get(KEY, String.class, () -> "offline"));
+        firstTemplate.down = false;
+
+        first.get(KEY, String.class, () -> "online");
+
+        assertEquals("1", redisTemplate.opsForValue().get(VERSION_KEY));
+    }
+
+    @Test
+    void lowerRemoteVersionDropsLocalEntries() {
+        // The first cache is at version 2 locally while Redis stays at 0
+        firstTemplate.down = true;
+        first.invalidate();
+        first.invalidate();
+        assertEquals("offline", first.get(KEY, String.class, () -> "offline"));
+        firstTemplate.down = false;
+
+        // Publishing the bumps takes over version 1 from Redis
+        assertEquals("published", first.get(KEY, String.class, () -> "published"));
+        // The second cache moves Redis to version 2, which the entry loaded offline must not be served for
+        second.invalidate();
+
+        assertEquals("current", first.get(KEY, String.class, () -> "current"));
+    }
+
+    private static ProductCache cache(StringRedisTemplate redisTemplate) {
+        // Version re-read and Redis retried on every request
+        return new ProductCache(redisTemplate, new ObjectMapper(), new SimpleMeterRegistry(), 100,
+                Duration.ofMinutes(1), Duration.ofMinutes(1), Duration.ZERO, Duration.ZERO);
+    }
+
+    private static class SwitchableRedisTemplate extends StringRedisTemplate {
+
+        private volatile boolean down;
+
+        SwitchableRedisTemplate(RedisConnectionFactory connectionFactory) {
+            super(connectionFactory);
+        }
+
+        @Override
+        public ValueOperations<String, String> opsForValue() {
+            if (down) {
+                throw new RedisConnectionFailureException("Redis is down");
+            }
+            return super.opsForValue();
+        }
+    }
+}
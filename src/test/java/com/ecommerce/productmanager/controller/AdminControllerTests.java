@@ -0,0 +1,44 @@
+package com.ecommerce.productmanager.controller;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Verifies that exports are compressed only when the Accept-Encoding header gives gzip, or else *,
+ * a q-value above 0, and that other codings whose names contain gzip do not count.
+ */
+class AdminControllerTests {
+
+    @Test
+    void gzipIsAcceptedWithPositiveQuality() {
+        assertTrue(AdminController.acceptsGzip("gzip"));
+        assertTrue(AdminController.acceptsGzip("deflate, GZIP"));
+        assertTrue(AdminController.acceptsGzip("br;q=1.0, gzip;q=0.8"));
+        assertTrue(AdminController.acceptsGzip("gzip ; Q = 0.001"));
+        assertTrue(AdminController.acceptsGzip("*"));
+        assertTrue(AdminController.acceptsGzip("br, *;q=0.1"));
+    }
+
+    @Test
+    void gzipIsRefusedWithZeroOrInvalidQuality() {
+        assertFalse(AdminController.acceptsGzip(null));
+        assertFalse(AdminController.acceptsGzip(""));
+        assertFalse(AdminController.acceptsGzip("gzip;q=0"));
+        assertFalse(AdminController.acceptsGzip("gzip;q=0.000, deflate"));
+        assertFalse(AdminController.acceptsGzip("gzip;q=abc"));
+        assertFalse(AdminController.acceptsGzip("gzip;q=1.5"));
+        assertFalse(AdminController.acceptsGzip("*;q=0"));
+        // An explicit gzip overrides *
+        assertFalse(AdminController.acceptsGzip("*, gzip;q=0"));
+        assertTrue(AdminController.acceptsGzip("*;q=0, gzip"));
+    }
+
+    @Test
+    void codingsContainingGzipDoNotMatch() {
+        assertFalse(AdminController.acceptsGzip("x-gzip"));
+        assertFalse(AdminController.acceptsGzip("gzipped, deflate"));
+        assertFalse(AdminController.acceptsGzip("identity;gzip"));
+    }
+}
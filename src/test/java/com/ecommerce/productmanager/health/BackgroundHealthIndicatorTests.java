@@ -0,0 +1,161 @@
+package com.ecommerce.productmanager.health;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Verifies that BackgroundHealthIndicator reports the cached result of its last check, turns a
+ * result older than the stale-after limit into DOWN, and reports a check that exceeds the probe
+ * timeout as DOWN without starting another one while it is still running.
+ */
+class BackgroundHealthIndicatorTests {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @AfterEach
+    void tearDown() {
+        // Lets a hanging check finish
+        release.countDown();
+    }
+
+    @Test
+    void notCheckedYetIsUnknown() {
+        TestIndicator indicator = new TestIndicator(builder -> { });
+
+        assertEquals(Status.UNKNOWN, indicator.health().getStatus());
+    }
+
+    @Test
+    void healthReturnsLastResultWithoutCheckingAgain() {
+        TestIndicator indicator = new TestIndicator(builder -> builder.withDetail("database", "H2"));
+        indicator.refresh();
+
+        Health health = indicator.health();
+        indicator.health();
+
+        assertEquals(Status.UP, health.getStatus());
+        assertEquals("H2", health.getDetails().get("database"));
+        assertTrue(health.getDetails().containsKey("latencyMs"));
+        assertEquals(1, indicator.checks.get());
+    }
+
+    @Test
+    void failingCheckIsDown() {
+        TestIndicator indicator = new TestIndicator(builder -> {
+            throw new IOException("Connection refused");
+        });
+        indicator.refresh();
+
+        Health health = indicator.health();
+
+        assertEquals(Status.DOWN, health.getStatus());
+        assertEquals("java.io.IOException: Connection refused", health.getDetails().get("error"));
+    }
+
+    @Test
+    void staleResultIsDown() throws InterruptedException {
+        TestIndicator indicator = new TestIndicator(builder -> { });
+        indicator.setStaleAfter(Duration.ofMillis(50));
+        indicator.refresh();
+        assertEquals(Status.UP, indicator.health().getStatus());
+
+        Thread.sleep(100);
+        Health health = indicator.health();
+
+        assertEquals(Status.DOWN, health.getStatus());
+        assertEquals(Status.UP, ((Health) health.getDetails().get("lastResult")).getStatus());
+    }
+
+    @Test
+    void freshResultReplacesStaleResult() throws InterruptedException {
+        TestIndicator indicator = new TestIndicator(builder -> { });
+        indicator.setStaleAfter(Duration.ofMillis(50));
+        indicator.refresh();
+        Thread.sleep(100);
+
+        indicator.refresh();
+
+        assertEquals(Status.UP, indicator.health().getStatus());
+    }
+
+    @Test
+    void checkExceedingTimeoutIsDown() {
+        TestIndicator indicator = new TestIndicator(builder -> awaitUninterruptibly(release));
+        indicator.setTimeout(Duration.ofMillis(100));
+
+        long start = System.nanoTime();
+        indicator.refresh();
+
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).toMillis() < 2_000);
+        assertEquals(Status.DOWN, indicator.health().getStatus());
+        assertEquals("No result within 100 ms", indicator.health().getDetails().get("reason"));
+    }
+
+    @Test
+    void noNewCheckStartsWhileTimedOutCheckIsRunning() throws InterruptedException {
+        TestIndicator indicator = new TestIndicator(builder -> awaitUninterruptibly(release));
+        indicator.setTimeout(Duration.ofMillis(100));
+        indicator.refresh();
+
+        indicator.refresh();
+
+        assertEquals(1, indicator.checks.get());
+        assertEquals("The previous check has not finished yet", indicator.health().getDetails().get("reason"));
+
+        release.countDown();
+        // The hanging check ignores interrupts; refreshes report it until it has finished
+        for (int attempt = 0; attempt < 100 && indicator.checks.get() < 2; attempt++) {
+            Thread.sleep(10);
+            indicator.refresh();
+        }
+
+        assertEquals(2, indicator.checks.get());
+        assertEquals(Status.UP, indicator.health().getStatus());
+    }
+
+    private static void awaitUninterruptibly(CountDownLatch latch) {
+        boolean interrupted = false;
+        while (true) {
+            try {
+                latch.await();
+                break;
+            } catch (InterruptedException ex) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @FunctionalInterface
+    private interface Check {
+        void check(Health.Builder builder) throws Exception;
+    }
+
+    private static class TestIndicator extends BackgroundHealthIndicator {
+
+        private final Check check;
+        private final AtomicInteger checks = new AtomicInteger();
+
+        TestIndicator(Check check) {
+            this.check = check;
+        }
+
+        @Override
+        protected void check(Health.Builder builder) throws Exception {
+            checks.incrementAndGet();
+            check.check(builder);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.ecommerce.productmanager.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects a latency histogram and an error count per endpoint and prints throughput and percentiles.
+ * Recording is lock-free, so it adds no coordination between the simulated users.
+ */
+class LatencyReport {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private final Map<String, Recorder> recorders = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+
+    void record(String endpoint, long latencyNanos, boolean failed) {
+        long micros = Math.min(TimeUnit.NANOSECONDS.toMicros(latencyNanos), HIGHEST_TRACKABLE_MICROS);
+        recorders.computeIfAbsent(endpoint, key -> new Recorder(HIGHEST_TRACKABLE_MICROS, 3)).recordValue(micros);
+        if (failed) {
+            errors.computeIfAbsent(endpoint, key -> new LongAdder()).increment();
+        }
+    }
+
+    /**
+     * Discards everything recorded so far, for example at the end of the warm-up.
+     */
+    void reset() {
+        recorders.values().forEach(Recorder::reset);
+        errors.clear();
+    }
+
+    /**
+     * Prints one line per endpoint and writes each endpoint's full percentile distribution
+     * to an .hgrm file in the output directory.
+     */
+    void print(PrintStream out, double elapsedSeconds, Path outputDirectory) throws IOException {
+        Files.createDirectories(outputDirectory);
+        out.printf("%-36s %9s %7s %9s %9s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        long totalRequests = 0;
+        for (Map.Entry<String, Recorder> entry : recorders.entrySet().stream().sorted(Map.Entry.comparingByKey()).toList()) {
+            Histogram histogram = entry.getValue().getIntervalHistogram();
+            long count = histogram.getTotalCount();
+            totalRequests += count;
+            LongAdder errorCount = errors.get(entry.getKey());
+            out.printf("%-36s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                    entry.getKey(), count, errorCount == null ? 0 : errorCount.sum(), count / elapsedSeconds,
+                    millis(histogram.getValueAtPercentile(50)), millis(histogram.getValueAtPercentile(90)),
+                    millis(histogram.getValueAtPercentile(99)), millis(histogram.getValueAtPercentile(99.9)),
+                    millis(histogram.getMaxValue()));
+            Path file = outputDirectory.resolve(entry.getKey().replaceAll("[^A-Za-z0-9]+", "_") + ".hgrm");
+            try (PrintStream hgrm = new PrintStream(Files.newOutputStream(file))) {
+                histogram.outputPercentileDistribution(hgrm, 1000.0);
+            }
+        }
+        out.printf("%-36s %9d %7s %9.1f%n", "total", totalRequests, "", totalRequests / elapsedSeconds);
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+}
@@ -0,0 +1,176 @@
+package com.ecommerce.productmanager.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Simulates shoppers against a running application. Each user runs on its own virtual thread and
+ * repeatedly picks an action from a weighted mix of catalog browsing, basket updates, checkout
+ * and order lookups, without think time, so the measured throughput is the server's capacity
+ * at the configured concurrency.
+ */
+class LoadDriver {
+
+    /**
+     * An action a simulated user can take, with its share of the mix.
+     */
+    private enum Action {
+        LIST_PRODUCTS(25),
+        SEARCH_PRODUCTS(10),
+        SUGGEST_PRODUCTS(8),
+        SCROLL_PRODUCTS(5),
+        GET_PRODUCT(20),
+        GET_BRANDS(5),
+        ADD_BASKET_ITEM(12),
+        UPDATE_BASKET_ITEM(5),
+        GET_BASKET(6),
+        CHECKOUT(4),
+        GET_ORDER(5),
+        LIST_ORDERS(3);
+
+        private final int weight;
+
+        Action(int weight) {
+            this.weight = weight;
+        }
+    }
+
+    private static final Action[] MIX = buildMix();
+
+    private final HttpClient httpClient;
+    private final String baseUrl;
+    private final LatencyReport report;
+    private final int products;
+    private final int orders;
+    private final int baskets;
+
+    LoadDriver(String baseUrl, LatencyReport report, int products, int orders, int baskets) {
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        this.baseUrl = baseUrl;
+        this.report = report;
+        this.products = products;
+        this.orders = orders;
+        this.baskets = baskets;
+    }
+
+    /**
+     * Runs the given number of users until the duration has elapsed.
+     */
+    void run(int users, Duration duration) throws InterruptedException {
+        long deadline = System.nanoTime() + duration.toNanos();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int user = 0; user < users; user++) {
+                executor.submit(() -> {
+                    Random random = ThreadLocalRandom.current();
+                    while (System.nanoTime() < deadline) {
+                        perform(MIX[random.nextInt(MIX.length)], random);
+                    }
+                    return null;
+                });
+            }
+            executor.shutdown();
+            executor.awaitTermination(duration.toSeconds() + 60, TimeUnit.SECONDS);
+        }
+    }
+
+    private void perform(Action action, Random random) throws InterruptedException {
+        switch (action) {
+            case LIST_PRODUCTS -> {
+                String brandFilter = random.nextInt(3) == 0 ? "&brandId=" + (1 + random.nextInt(SyntheticDataSeeder.BRANDS)) : "";
+                long minPrice = 500L + random.nextInt(45_000);
+                String priceFilter = random.nextInt(3) == 0 ? "&minPrice=" + minPrice + "&maxPrice=" + (minPrice + 5_000) : "";
+                get("GET /api/products", "/api/products?page=" + random.nextInt(50) + "&size=20&sort=price" + brandFilter + priceFilter);
+            }
+            case SEARCH_PRODUCTS -> get("GET /api/products?keyword", "/api/products?size=20&keyword="
+                    + SyntheticDataSeeder.searchTerm(random));
+            case SUGGEST_PRODUCTS -> {
+                // A search box asks for suggestions after each of the first few keystrokes
+                String term = SyntheticDataSeeder.searchTerm(random);
+                get("GET /api/products/suggest", "/api/products/suggest?q="
+                        + term.substring(0, 1 + random.nextInt(Math.min(4, term.length()))));
+            }
+            case SCROLL_PRODUCTS -> get("GET /api/products/scroll", "/api/products/scroll?size=20&sort=name");
+            case GET_PRODUCT -> get("GET /api/products/{id}", "/api/products/" + (1 + random.nextInt(products)));
+            case GET_BRANDS -> get("GET /api/products/brands", "/api/products/brands");
+            case ADD_BASKET_ITEM -> addBasketItem(SyntheticDataSeeder.basketId(1 + random.nextInt(baskets)), random);
+            case UPDATE_BASKET_ITEM -> send("PATCH /api/baskets/{id}/items/{itemId}", HttpRequest.newBuilder(uri(
+                            "/api/baskets/" + SyntheticDataSeeder.basketId(1 + random.nextInt(baskets))
+                                    + "/items/" + (1 + random.nextInt(products)) + "?quantity=" + (1 + random.nextInt(3))))
+                    .method("PATCH", HttpRequest.BodyPublishers.noBody()).build());
+            case GET_BASKET -> get("GET /api/baskets/{id}", "/api/baskets/" + SyntheticDataSeeder.basketId(1 + random.nextInt(baskets)));
+            case CHECKOUT -> checkout(random);
+            case GET_ORDER -> get("GET /api/orders/{id}", "/api/orders/" + (1 + random.nextInt(orders)));
+            case LIST_ORDERS -> get("GET /api/orders/paged", "/api/orders/paged?size=20&page=" + random.nextInt(50));
+        }
+    }
+
+    // A fresh basket with two items is checked out, as a shopper completing a purchase would
+    private void checkout(Random random) throws InterruptedException {
+        String basketId = "checkout-" + UUID.randomUUID();
+        addBasketItem(basketId, random);
+        addBasketItem(basketId, random);
+        String order = "{\"basketId\":\"" + basketId + "\",\"deliveryFee\":500,\"shippingAddress\":{\"name\":\"Load Test\","
+                + "\"address1\":\"1 High Street\",\"city\":\"Leeds\",\"zipcode\":\"LS1 1AA\",\"country\":\"UK\"}}";
+        send("POST /api/orders", HttpRequest.newBuilder(uri("/api/orders"))
+                .header("Content-Type", "application/json")
+                .header("Idempotency-Key", basketId)
+                .POST(HttpRequest.BodyPublishers.ofString(order)).build());
+    }
+
+    private void addBasketItem(String basketId, Random random) throws InterruptedException {
+        int productId = 1 + random.nextInt(products);
+        String item = "{\"id\":" + productId + ",\"name\":\"" + SyntheticDataSeeder.productName(productId)
+                + "\",\"price\":" + (500 + productId % 50_000) + ",\"pictureUrl\":\"images/products/" + productId
+                + ".png\",\"productBrand\":\"Brand\",\"productType\":\"Type\",\"quantity\":1}";
+        send("POST /api/baskets/{id}/items", HttpRequest.newBuilder(uri("/api/baskets/" + basketId + "/items"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(item)).build());
+    }
+
+    private void get(String endpoint, String path) throws InterruptedException {
+        send(endpoint, HttpRequest.newBuilder(uri(path)).GET().build());
+    }
+
+    private void send(String endpoint, HttpRequest request) throws InterruptedException {
+        long start = System.nanoTime();
+        boolean failed;
+        try {
+            HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+            // A PATCH for an item the basket does not contain is an expected 404
+            failed = response.statusCode() >= 500
+                    || (response.statusCode() >= 400 && !endpoint.startsWith("PATCH"));
+        } catch (java.io.IOException ex) {
+            failed = true;
+        }
+        report.record(endpoint, System.nanoTime() - start, failed);
+    }
+
+    private URI uri(String path) {
+        return URI.create(baseUrl + path);
+    }
+
+    private static Action[] buildMix() {
+        List<Action> mix = new ArrayList<>();
+        for (Action action : Action.values()) {
+            for (int i = 0; i < action.weight; i++) {
+                mix.add(action);
+            }
+        }
+        return mix.toArray(new Action[0]);
+    }
+}
@@ -0,0 +1,116 @@
+package com.ecommerce.productmanager.loadtest;
+
+import com.ecommerce.productmanager.cache.ProductCache;
+import com.ecommerce.productmanager.repository.BasketStore;
+import com.ecommerce.productmanager.repository.IdAllocationInitializer;
+import com.ecommerce.productmanager.search.CatalogLoader;
+import com.ecommerce.productmanager.service.BrandServiceImpl;
+import com.ecommerce.productmanager.service.TypeServiceImpl;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * End-to-end load test of the REST API. Boots the whole application against an in-memory H2
+ * database (MySQL mode) and an embedded Redis server, seeds a synthetic catalog with orders and
+ * baskets, drives a mix of browsing, basket and checkout traffic, and prints throughput and
+ * latency percentiles per endpoint. Full histograms are written to target/loadtest.
+ * Runs only when requested, for example:
+ * {@code mvn test -Dtest=LoadTest -Dloadtest=true -Dloadtest.products=200000 -Dloadtest.users=128 -Dloadtest.duration=PT2M}
+ * H2 and embedded Redis are stand-ins: compare runs with each other, not with production numbers.
+ */
+@EnabledIfSystemProperty(named = "loadtest", matches = "true")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("loadtest")
+class LoadTest {
+
+    private static final int PRODUCTS = Integer.getInteger("loadtest.products", 100_000);
+    private static final int ORDERS = Integer.getInteger("loadtest.orders", 20_000);
+    private static final int BASKETS = Integer.getInteger("loadtest.baskets", 5_000);
+    private static final int USERS = Integer.getInteger("loadtest.users", 64);
+    private static final Duration WARMUP = Duration.parse(System.getProperty("loadtest.warmup", "PT15S"));
+    private static final Duration DURATION = Duration.parse(System.getProperty("loadtest.duration", "PT60S"));
+
+    private static RedisServer redisServer;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private BasketStore basketStore;
+
+    @Autowired
+    private IdAllocationInitializer idAllocationInitializer;
+
+    @Autowired
+    private CatalogLoader catalogLoader;
+
+    @Autowired
+    private ProductCache productCache;
+
+    @Autowired
+    private BrandServiceImpl brandService;
+
+    @Autowired
+    private TypeServiceImpl typeService;
+
+    @DynamicPropertySource
+    static void redisProperties(DynamicPropertyRegistry registry) throws IOException {
+        int redisPort;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            redisPort = socket.getLocalPort();
+        }
+        redisServer = new RedisServer(redisPort);
+        redisServer.start();
+        registry.add("spring.data.redis.port", () -> redisPort);
+    }
+
+    @AfterAll
+    static void stopRedis() throws IOException {
+        if (redisServer != null) {
+            redisServer.stop();
+        }
+    }
+
+    @Test
+    void run() throws Exception {
+        long seedStart = System.nanoTime();
+        new SyntheticDataSeeder(jdbcTemplate, basketStore).seed(PRODUCTS, ORDERS, BASKETS);
+        // The seed bypasses JPA, so bring the ID allocation, indexes, snapshots and cache up to date
+        idAllocationInitializer.initialize();
+        catalogLoader.load();
+        brandService.refresh();
+        typeService.refresh();
+        productCache.invalidate();
+        System.out.printf("Seeded %d products, %d orders and %d baskets in %.1f s%n",
+                PRODUCTS, ORDERS, BASKETS, (System.nanoTime() - seedStart) / 1e9);
+
+        LatencyReport report = new LatencyReport();
+        LoadDriver driver = new LoadDriver("http://localhost:" + port, report, PRODUCTS, ORDERS, BASKETS);
+
+        System.out.printf("Warming up with %d users for %s%n", USERS, WARMUP);
+        driver.run(USERS, WARMUP);
+        report.reset();
+
+        System.out.printf("Measuring with %d users for %s%n", USERS, DURATION);
+        long start = System.nanoTime();
+        driver.run(USERS, DURATION);
+        report.print(System.out, (System.nanoTime() - start) / 1e9, Path.of("target", "loadtest"));
+    }
+}
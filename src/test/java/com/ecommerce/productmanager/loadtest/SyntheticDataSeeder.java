@@ -0,0 +1,134 @@
+package com.ecommerce.productmanager.loadtest;
+
+import com.ecommerce.productmanager.entity.Basket;
+import com.ecommerce.productmanager.entity.BasketItem;
+import com.ecommerce.productmanager.repository.BasketStore;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Fills the database and Redis with a synthetic catalog, order history and open baskets.
+ * Rows are written with JDBC batches, bypassing the entity listeners, so the caller has to
+ * rebuild the in-memory indexes afterwards.
+ */
+class SyntheticDataSeeder {
+
+    static final int BRANDS = 40;
+    static final int TYPES = 25;
+    private static final int BATCH_SIZE = 1000;
+    private static final int ITEMS_PER_ORDER = 3;
+    private static final int ITEMS_PER_BASKET = 4;
+
+    private static final String[] ADJECTIVES = {"Pro", "Elite", "Lite", "Max", "Classic", "Tour", "Power", "Speed",
+            "Control", "Carbon", "Junior", "Ultra", "Aero", "Prime", "Flex", "Nano"};
+    private static final String[] NOUNS = {"Racket", "Shoe", "Shuttlecock", "Grip", "Bag", "Shirt", "Shorts",
+            "Sock", "Ball", "String", "Towel", "Wristband", "Backpack", "Jacket", "Cap"};
+    private static final String[] CITIES = {"Leeds", "Manchester", "Bristol", "Glasgow", "Cardiff", "Belfast"};
+
+    private final JdbcTemplate jdbcTemplate;
+    private final BasketStore basketStore;
+    private final Random random = new Random(42);
+
+    SyntheticDataSeeder(JdbcTemplate jdbcTemplate, BasketStore basketStore) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.basketStore = basketStore;
+    }
+
+    void seed(int products, int orders, int baskets) {
+        seedReferenceData("Brand", BRANDS);
+        seedReferenceData("Type", TYPES);
+        seedProducts(products);
+        seedOrders(orders, products);
+        seedBaskets(baskets, products);
+    }
+
+    private void seedReferenceData(String table, int count) {
+        List<Object[]> rows = new ArrayList<>(count);
+        for (int id = 1; id <= count; id++) {
+            rows.add(new Object[]{id, table + " " + id});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO " + table + " (Id, Name) VALUES (?, ?)", rows);
+    }
+
+    private void seedProducts(int count) {
+        List<Object[]> rows = new ArrayList<>(BATCH_SIZE);
+        for (int id = 1; id <= count; id++) {
+            rows.add(new Object[]{id, productName(id), "Synthetic product " + id + " for load testing, "
+                    + ADJECTIVES[random.nextInt(ADJECTIVES.length)].toLowerCase() + " edition",
+                    500L + random.nextInt(50_000), "images/products/" + id + ".png",
+                    1 + random.nextInt(BRANDS), 1 + random.nextInt(TYPES)});
+            if (rows.size() == BATCH_SIZE || id == count) {
+                jdbcTemplate.batchUpdate("INSERT INTO Product (Id, Name, Description, Price, PictureUrl, ProductBrandId, ProductTypeId)"
+                        + " VALUES (?, ?, ?, ?, ?, ?, ?)", rows);
+                rows.clear();
+            }
+        }
+    }
+
+    private void seedOrders(int count, int products) {
+        List<Object[]> orderRows = new ArrayList<>(BATCH_SIZE);
+        List<Object[]> itemRows = new ArrayList<>(BATCH_SIZE * ITEMS_PER_ORDER);
+        int itemId = 1;
+        for (int id = 1; id <= count; id++) {
+            long subTotal = 0;
+            for (int i = 0; i < ITEMS_PER_ORDER; i++) {
+                int productId = 1 + random.nextInt(products);
+                long price = 500L + random.nextInt(50_000);
+                subTotal += price;
+                itemRows.add(new Object[]{itemId++, productId, productName(productId), "images/products/" + productId + ".png",
+                        price, 1, id});
+            }
+            orderRows.add(new Object[]{id, "seed-basket-" + id, Timestamp.valueOf(LocalDateTime.now().minusMinutes(id)),
+                    (double) subTotal, 500L, "Pending", "Customer " + id, id + " High Street",
+                    CITIES[random.nextInt(CITIES.length)], "AB1 2CD", "UK"});
+            if (orderRows.size() == BATCH_SIZE || id == count) {
+                jdbcTemplate.batchUpdate("INSERT INTO Orders (Id, Basket_Id, Order_Date, Sub_Total, Delivery_Fee, Order_Status,"
+                        + " name, address1, city, zipcode, country) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", orderRows);
+                jdbcTemplate.batchUpdate("INSERT INTO OrderItem (Id, productId, name, pictureUrl, Price, Quantity, order_id)"
+                        + " VALUES (?, ?, ?, ?, ?, ?, ?)", itemRows);
+                orderRows.clear();
+                itemRows.clear();
+            }
+        }
+    }
+
+    private void seedBaskets(int count, int products) {
+        for (int id = 1; id <= count; id++) {
+            Basket basket = new Basket(basketId(id));
+            for (int i = 0; i < ITEMS_PER_BASKET; i++) {
+                basket.getItems().add(basketItem(1 + random.nextInt(products)));
+            }
+            basketStore.save(basket);
+        }
+    }
+
+    static String basketId(int id) {
+        return "load-basket-" + id;
+    }
+
+    static BasketItem basketItem(int productId) {
+        BasketItem item = new BasketItem();
+        item.setId(productId);
+        item.setName(productName(productId));
+        item.setDescription("Synthetic product " + productId);
+        item.setPrice(500L + productId % 50_000);
+        item.setPictureUrl("images/products/" + productId + ".png");
+        item.setProductBrand("Brand " + (1 + productId % BRANDS));
+        item.setProductType("Type " + (1 + productId % TYPES));
+        item.setQuantity(1);
+        return item;
+    }
+
+    static String productName(int id) {
+        return ADJECTIVES[id % ADJECTIVES.length] + " " + NOUNS[(id / ADJECTIVES.length) % NOUNS.length] + " " + id;
+    }
+
+    static String searchTerm(Random random) {
+        return random.nextBoolean() ? ADJECTIVES[random.nextInt(ADJECTIVES.length)] : NOUNS[random.nextInt(NOUNS.length)];
+    }
+}
@@ -0,0 +1,220 @@
+package com.ecommerce.productmanager.repository;
+
+import com.ecommerce.productmanager.entity.Basket;
+import com.ecommerce.productmanager.entity.BasketItem;
+import com.ecommerce.productmanager.exceptions.BasketNotFoundException;
+import com.ecommerce.productmanager.exceptions.InvalidBasketItemException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisKeyValueAdapter;
+import org.springframework.data.redis.core.RedisKeyValueTemplate;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.mapping.RedisMappingContext;
+import org.springframework.data.redis.repository.support.RedisRepositoryFactory;
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Verifies the item mutations that the basket-item Lua script applies inside Redis: merging added
+ * items, setting and removing quantities, and the errors for missing baskets and items.
+ * Runs against an embedded Redis server on a free port.
+ */
+class BasketStoreTests {
+
+    private static final String BASKET_ID = "basket-store-test";
+
+    private static RedisServer redisServer;
+    private static LettuceConnectionFactory connectionFactory;
+
+    private StringRedisTemplate redisTemplate;
+    private BasketRepository legacyRepository;
+    private BasketStore basketStore;
+
+    @BeforeAll
+    static void startRedis() throws IOException {
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        redisServer = new RedisServer(port);
+        redisServer.start();
+        connectionFactory = new LettuceConnectionFactory("localhost", port);
+        connectionFactory.afterPropertiesSet();
+    }
+
+    @AfterAll
+    static void stopRedis() throws IOException {
+        connectionFactory.destroy();
+        redisServer.stop();
+    }
+
+    @BeforeEach
+    void setUp() {
+        RedisTemplate<byte[], byte[]> template = new RedisTemplate<>();
+        template.setConnectionFactory(connectionFactory);
+        template.afterPropertiesSet();
+        legacyRepository = new RedisRepositoryFactory(new RedisKeyValueTemplate(
+                new RedisKeyValueAdapter(template), new RedisMappingContext())).getRepository(BasketRepository.class);
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+        basketStore = new BasketStore(redisTemplate, new ObjectMapper(), legacyRepository, Duration.ofHours(1));
+        redisTemplate.getRequiredConnectionFactory().getConnection().serverCommands().flushAll();
+    }
+
+    @Test
+    void addItemCreatesBasket() {
+        Basket basket = basketStore.addItem(BASKET_ID, item(1, 2));
+
+        assertEquals(BASKET_ID, basket.getId());
+        assertEquals(1, basket.getItems().size());
+        assertEquals(2, basket.getItems().get(0).getQuantity());
+        assertEquals("Racket 1", basket.getItems().get(0).getName());
+        assertTrue(redisTemplate.getExpire(BasketStore.KEY_PREFIX + BASKET_ID) > 0);
+    }
+
+    @Test
+    void addItemMergesQuantityOfItemAlreadyInBasket() {
+        basketStore.addItem(BASKET_ID, item(1, 2));
+        basketStore.addItem(BASKET_ID, item(2, 1));
+
+        Basket basket = basketStore.addItem(BASKET_ID, item(1, 3));
+
+        assertEquals(2, basket.getItems().size());
+        assertEquals(1, basket.getItems().get(0).getId());
+        assertEquals(5, basket.getItems().get(0).getQuantity());
+        assertEquals(1, basket.getItems().get(1).getQuantity());
+    }
+
+    @Test
+    void addItemWithoutQuantityAddsOne() {
+        basketStore.addItem(BASKET_ID, item(1, null));
+
+        Basket basket = basketStore.addItem(BASKET_ID, item(1, null));
+
+        assertEquals(2, basket.getItems().get(0).getQuantity());
+    }
+
+    @Test
+    void addItemRejectsItemWithoutId() {
+        assertThrows(InvalidBasketItemException.class, () -> basketStore.addItem(BASKET_ID, item(null, 1)));
+        assertTrue(basketStore.findById(BASKET_ID).isEmpty());
+    }
+
+    @Test
+    void addItemRejectsQuantityThatIsNotPositive() {
+        basketStore.addItem(BASKET_ID, item(1, 2));
+
+        assertThrows(InvalidBasketItemException.class, () -> basketStore.addItem(BASKET_ID, item(1, 0)));
+        assertThrows(InvalidBasketItemException.class, () -> basketStore.addItem(BASKET_ID, item(1, -5)));
+        assertEquals(2, basketStore.findById(BASKET_ID).orElseThrow().getItems().get(0).getQuantity());
+    }
+
+    @Test
+    void concurrentAddsOfSameItemAreAllCounted() throws Exception {
+        int threads = 8;
+        int addsPerThread = 50;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int thread = 0; thread < threads; thread++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < addsPerThread; i++) {
+                        basketStore.addItem(BASKET_ID, item(1, 1));
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        Basket basket = basketStore.findById(BASKET_ID).orElseThrow();
+        assertEquals(1, basket.getItems().size());
+        assertEquals(threads * addsPerThread, basket.getItems().get(0).getQuantity());
+    }
+
+    @Test
+    void updateItemQuantitySetsQuantity() {
+        basketStore.addItem(BASKET_ID, item(1, 2));
+
+        Basket basket = basketStore.updateItemQuantity(BASKET_ID, 1, 7);
+
+        assertEquals(7, basket.getItems().get(0).getQuantity());
+    }
+
+    @Test
+    void updateItemQuantityToZeroRemovesItem() {
+        basketStore.addItem(BASKET_ID, item(1, 2));
+
+        Basket basket = basketStore.updateItemQuantity(BASKET_ID, 1, 0);
+
+        // The script writes an empty item list, which has to read back as a list
+        assertTrue(basket.getItems().isEmpty());
+        assertTrue(basketStore.findById(BASKET_ID).orElseThrow().getItems().isEmpty());
+    }
+
+    @Test
+    void updateItemQuantityOfMissingItemFails() {
+        basketStore.addItem(BASKET_ID, item(1, 2));
+
+        assertThrows(BasketNotFoundException.class, () -> basketStore.updateItemQuantity(BASKET_ID, 2, 1));
+    }
+
+    @Test
+    void removeItemKeepsOtherItems() {
+        basketStore.addItem(BASKET_ID, item(1, 2));
+        basketStore.addItem(BASKET_ID, item(2, 3));
+
+        Basket basket = basketStore.removeItem(BASKET_ID, 1);
+
+        assertEquals(1, basket.getItems().size());
+        assertEquals(2, basket.getItems().get(0).getId());
+        assertEquals(3, basket.getItems().get(0).getQuantity());
+    }
+
+    @Test
+    void removeItemOfMissingBasketFails() {
+        assertThrows(BasketNotFoundException.class, () -> basketStore.removeItem(BASKET_ID, 1));
+    }
+
+    @Test
+    void mutationMigratesLegacyBasketFirst() {
+        Basket legacy = new Basket(BASKET_ID);
+        legacy.getItems().add(item(1, 2));
+        legacyRepository.save(legacy);
+
+        Basket basket = basketStore.addItem(BASKET_ID, item(1, 1));
+
+        assertEquals(3, basket.getItems().get(0).getQuantity());
+        assertTrue(legacyRepository.findById(BASKET_ID).isEmpty());
+    }
+
+    private static BasketItem item(Integer id, Integer quantity) {
+        BasketItem item = new BasketItem();
+        item.setId(id);
+        item.setName("Racket " + id);
+        item.setPrice(18500L);
+        item.setProductBrand("Yonex");
+        item.setProductType("Rackets");
+        item.setQuantity(quantity);
+        return item;
+    }
+}
@@ -0,0 +1,144 @@
+package com.ecommerce.productmanager.repository;
+
+import com.ecommerce.productmanager.entity.OrderAggregate.Order;
+import com.ecommerce.productmanager.entity.OrderAggregate.OrderItem;
+import com.ecommerce.productmanager.entity.OrderAggregate.OrderStatus;
+import com.ecommerce.productmanager.entity.OrderAggregate.ProductItemOrdered;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Verifies that orders and their items take pooled IDs from Id_Allocation, so that the items of an
+ * order are written in one JDBC batch, and that IdAllocationInitializer keeps the allocated blocks
+ * above the IDs already in the tables.
+ */
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Import(IdAllocationInitializer.class)
+class IdAllocationTests {
+
+    private static final int ITEM_COUNT = 20;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private IdAllocationInitializer initializer;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        // Allocate the first ID blocks up front, so the statements counted below are only the inserts
+        persistOrder(1);
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void orderItemsAreInsertedInOneBatch() {
+        Order order = persistOrder(ITEM_COUNT);
+        entityManager.flush();
+
+        // One insert for the order and one batched insert for all of its items
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(ITEM_COUNT + 1, statistics.getEntityInsertCount());
+        assertEquals(ITEM_COUNT, order.getOrderItems().stream().map(OrderItem::getId).distinct().count());
+    }
+
+    @Test
+    void initializerCreatesAllocationRowForEveryTableGenerator() {
+        assertEquals(1, allocationRows("Orders"));
+        assertEquals(1, allocationRows("OrderItem"));
+    }
+
+    @Test
+    void initializerMovesAllocationPastExistingIds() {
+        int maxId = insertOrderRow(10_000);
+        // Between maxId + 1 and maxId + allocationSize: the next block would still overlap existing IDs
+        setNextVal("Orders", maxId + 10);
+
+        initializer.initialize();
+
+        // The pooled optimizer hands out Next_Val - 49 up to Next_Val for a block size of 50
+        long nextVal = nextVal("Orders");
+        assertEquals(maxId + 51, nextVal);
+        assertTrue(nextVal - 50 + 1 > maxId);
+    }
+
+    @Test
+    void initializerKeepsAllocationThatIsAlreadyAhead() {
+        int maxId = insertOrderRow(10_000);
+        setNextVal("Orders", maxId + 500);
+
+        initializer.initialize();
+
+        assertEquals(maxId + 500, nextVal("Orders"));
+    }
+
+    private Order persistOrder(int items) {
+        Order order = Order.builder()
+                .basketId("basket")
+                .orderDate(LocalDateTime.now())
+                .subTotal(1000.0 * items)
+                .deliveryFee(500L)
+                .orderStatus(OrderStatus.Pending)
+                .orderItems(new ArrayList<>())
+                .build();
+        for (int i = 0; i < items; i++) {
+            order.getOrderItems().add(OrderItem.builder()
+                    .itemOrdered(new ProductItemOrdered(i + 1, "Product " + i, "images/products/product-" + i + ".png"))
+                    .price(1000L)
+                    .quantity(1)
+                    .order(order)
+                    .build());
+        }
+        return entityManager.persist(order);
+    }
+
+    private int insertOrderRow(int id) {
+        jdbcTemplate.update("INSERT INTO Orders (Id, Basket_Id, Sub_Total, Delivery_Fee, Order_Status) VALUES (?, ?, ?, ?, ?)",
+                id, "imported", 1000.0, 500L, OrderStatus.Pending.name());
+        return id;
+    }
+
+    private void setNextVal(String row, long value) {
+        jdbcTemplate.update("UPDATE Id_Allocation SET Next_Val = ? WHERE Sequence_Name = ?", value, row);
+    }
+
+    private long nextVal(String row) {
+        return jdbcTemplate.queryForObject("SELECT Next_Val FROM Id_Allocation WHERE Sequence_Name = ?", Long.class, row);
+    }
+
+    private int allocationRows(String row) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM Id_Allocation WHERE Sequence_Name = ?", Integer.class, row);
+    }
+}
@@ -0,0 +1,106 @@
+package com.ecommerce.productmanager.repository;
+
+import com.ecommerce.productmanager.exceptions.IdempotencyKeyMismatchException;
+import com.ecommerce.productmanager.exceptions.OrderInProgressException;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Verifies that IdempotencyStore answers a repeated key with the original order only when the
+ * request is the same. Runs against an embedded Redis server on a free port.
+ */
+class IdempotencyStoreTests {
+
+    private static final String KEY = "checkout-1";
+    private static final String HASH = "a".repeat(64);
+
+    private static RedisServer redisServer;
+    private static LettuceConnectionFactory connectionFactory;
+
+    private StringRedisTemplate redisTemplate;
+    private IdempotencyStore idempotencyStore;
+
+    @BeforeAll
+    static void startRedis() throws IOException {
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        redisServer = new RedisServer(port);
+        redisServer.start();
+        connectionFactory = new LettuceConnectionFactory("localhost", port);
+        connectionFactory.afterPropertiesSet();
+    }
+
+    @AfterAll
+    static void stopRedis() throws IOException {
+        connectionFactory.destroy();
+        redisServer.stop();
+    }
+
+    @BeforeEach
+    void setUp() {
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+        idempotencyStore = new IdempotencyStore(redisTemplate, Duration.ofSeconds(30), Duration.ofHours(1));
+        redisTemplate.getRequiredConnectionFactory().getConnection().serverCommands().flushAll();
+    }
+
+    @Test
+    void unusedKeyHasNoOrder() {
+        assertNull(idempotencyStore.findOrderId(KEY, HASH));
+    }
+
+    @Test
+    void reservedKeyIsInProgress() {
+        assertTrue(idempotencyStore.reserve(KEY));
+        assertFalse(idempotencyStore.reserve(KEY));
+
+        assertThrows(OrderInProgressException.class, () -> idempotencyStore.findOrderId(KEY, HASH));
+    }
+
+    @Test
+    void repeatedRequestReturnsOrder() {
+        idempotencyStore.reserve(KEY);
+        idempotencyStore.complete(KEY, 42, HASH);
+
+        assertEquals(42, idempotencyStore.findOrderId(KEY, HASH));
+    }
+
+    @Test
+    void differentRequestWithUsedKeyIsRejected() {
+        idempotencyStore.reserve(KEY);
+        idempotencyStore.complete(KEY, 42, HASH);
+
+        assertThrows(IdempotencyKeyMismatchException.class, () -> idempotencyStore.findOrderId(KEY, "b".repeat(64)));
+    }
+
+    @Test
+    void entryWithoutHashReturnsOrder() {
+        redisTemplate.opsForValue().set(IdempotencyStore.KEY_PREFIX + KEY, "42");
+
+        assertEquals(42, idempotencyStore.findOrderId(KEY, HASH));
+    }
+
+    @Test
+    void releasedKeyCanBeReservedAgain() {
+        idempotencyStore.reserve(KEY);
+        idempotencyStore.release(KEY);
+
+        assertTrue(idempotencyStore.reserve(KEY));
+    }
+}
@@ -0,0 +1,97 @@
+package com.ecommerce.productmanager.repository;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Verifies that the MySQL migrations upgrade a database from before Flyway: the order tables that
+ * Hibernate created get the idempotency key, the request hash and the indexes that SchemaIndexValidator
+ * requires, existing orders are kept, and a second run changes nothing. A new database is migrated too.
+ * Needs a MySQL server and drops every table of the database it is given, so it runs only when
+ * requested, for example against the database of docker/docker-compose.yml:
+ * {@code mvn test -Dtest=SchemaUpgradeTests -Dschema-upgrade.url=jdbc:mysql://localhost:3307/schema_upgrade?createDatabaseIfNotExist=true}
+ * The user and password default to those of docker-compose and are set with schema-upgrade.username
+ * and schema-upgrade.password.
+ */
+@EnabledIfSystemProperty(named = "schema-upgrade.url", matches = ".+")
+class SchemaUpgradeTests {
+
+    private static final List<String> TABLES = List.of(
+            "flyway_schema_history", "Outbox_Event", "OrderItem", "Orders", "Id_Allocation", "Product", "Type", "Brand");
+
+    private final DriverManagerDataSource dataSource = new DriverManagerDataSource(
+            System.getProperty("schema-upgrade.url"),
+            System.getProperty("schema-upgrade.username", "root"),
+            System.getProperty("schema-upgrade.password", "pass1234!"));
+
+    private final JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+
+    @BeforeEach
+    void dropTables() {
+        for (String table : TABLES) {
+            jdbcTemplate.execute("DROP TABLE IF EXISTS `" + table + "`");
+        }
+    }
+
+    @Test
+    void preSeriesSchemaIsUpgraded() throws SQLException {
+        new ResourceDatabasePopulator(new ClassPathResource("db/pre-series-schema.sql")).execute(dataSource);
+        jdbcTemplate.update("INSERT INTO Orders (Basket_Id, city, Order_Date, Sub_Total, Delivery_Fee, Order_Status)"
+                + " VALUES ('basket-1', 'Hanoi', NOW(6), 18500, 500, 'Pending')");
+        jdbcTemplate.update("INSERT INTO OrderItem (productId, name, Price, Quantity, order_id)"
+                + " VALUES (7, 'Yonex Astrox 88D', 18500, 1, (SELECT MAX(Id) FROM Orders))");
+
+        flyway().migrate();
+
+        new SchemaIndexValidator(dataSource, null).validate();
+        assertEquals(List.of("Idempotency_Key", "Request_Hash"), jdbcTemplate.queryForList(
+                "SELECT COLUMN_NAME FROM INFORMATION_SCHEMA.COLUMNS WHERE TABLE_SCHEMA = DATABASE()"
+                        + " AND TABLE_NAME = 'Orders' AND COLUMN_NAME IN ('Idempotency_Key', 'Request_Hash')"
+                        + " ORDER BY ORDINAL_POSITION", String.class));
+        assertEquals(1, uniqueIndexesOn("Orders", "Idempotency_Key"));
+        Map<String, Object> order = jdbcTemplate.queryForMap("SELECT Basket_Id, Idempotency_Key FROM Orders");
+        assertEquals("basket-1", order.get("Basket_Id"));
+        assertNull(order.get("Idempotency_Key"));
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM OrderItem", Integer.class));
+        assertEquals(0, flyway().migrate().migrationsExecuted);
+    }
+
+    @Test
+    void emptyDatabaseIsCreated() throws SQLException {
+        flyway().migrate();
+
+        new SchemaIndexValidator(dataSource, null).validate();
+        assertEquals(1, uniqueIndexesOn("Orders", "Idempotency_Key"));
+        assertEquals(0, flyway().migrate().migrationsExecuted);
+    }
+
+    // Configured like spring.flyway in application.yaml
+    private Flyway flyway() {
+        return Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration/mysql")
+                .baselineOnMigrate(true)
+                .baselineVersion("0")
+                .outOfOrder(true)
+                .load();
+    }
+
+    private int uniqueIndexesOn(String table, String column) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(DISTINCT INDEX_NAME) FROM INFORMATION_SCHEMA.STATISTICS"
+                + " WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? AND COLUMN_NAME = ? AND NON_UNIQUE = 0",
+                Integer.class, table, column);
+    }
+}
@@ -0,0 +1,196 @@
+package com.ecommerce.productmanager.search;
+
+import com.ecommerce.productmanager.model.ProductSuggestion;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Verifies that CompletionIndex matches prefixes at the start of any word only, at the edges of the
+ * sorted key range too, returns the heaviest names first with ties in alphabetical order, returns a
+ * name once however many of its words match, and that a rebuilt index reflects changed names and weights.
+ */
+class CompletionIndexTests {
+
+    @Test
+    void emptyIndexAndBlankPrefixMatchNothing() {
+        CompletionIndex index = new CompletionIndex.Builder()
+                .add(ProductSuggestion.Kind.PRODUCT, 1, "Yonex Astrox 88D", 10)
+                .build();
+
+        assertEquals(List.of(), CompletionIndex.empty().complete("yon", 10));
+        assertEquals(List.of(), index.complete("", 10));
+        assertEquals(List.of(), index.complete("   ", 10));
+        assertEquals(List.of(), index.complete(null, 10));
+        assertEquals(List.of(), index.complete("yon", 0));
+    }
+
+    @Test
+    void prefixMatchesStartOfAnyWord() {
+        CompletionIndex index = new CompletionIndex.Builder()
+                .add(ProductSuggestion.Kind.PRODUCT, 1, "Yonex Astrox 88D", 10)
+                .add(ProductSuggestion.Kind.BRAND, 2, "Li-Ning", 5)
+                .build();
+
+        assertEquals(List.of("Yonex Astrox 88D"), texts(index.complete("yon", 10)));
+        assertEquals(List.of("Yonex Astrox 88D"), texts(index.complete("ast", 10)));
+        assertEquals(List.of("Yonex Astrox 88D"), texts(index.complete("88d", 10)));
+        // Words are split at any character that is not a letter or digit
+        assertEquals(List.of("Li-Ning"), texts(index.complete("nin", 10)));
+        // Only the start of a word matches
+        assertEquals(List.of(), index.complete("strox", 10));
+        assertEquals(List.of(), index.complete("onex", 10));
+    }
+
+    @Test
+    void prefixIsMatchedCaseInsensitivelyWithCollapsedWhitespace() {
+        CompletionIndex index = new CompletionIndex.Builder()
+                .add(ProductSuggestion.Kind.PRODUCT, 1, "Yonex   Astrox 88D", 10)
+                .build();
+
+        assertEquals(List.of("Yonex   Astrox 88D"), texts(index.complete("  YONEX  ast", 10)));
+        assertEquals(List.of("Yonex   Astrox 88D"), texts(index.complete("astrox 88", 10)));
+        // A prefix may span words, but only in the order of the name, and not run past its end
+        assertEquals(List.of(), index.complete("astrox yonex", 10));
+        assertEquals(List.of(), index.complete("88d pro", 10));
+    }
+
+    @Test
+    void prefixAtEdgesOfKeyRange() {
+        CompletionIndex index = new CompletionIndex.Builder()
+                .add(ProductSuggestion.Kind.TYPE, 1, "a", 1)
+                .add(ProductSuggestion.Kind.TYPE, 2, "ab", 1)
+                .add(ProductSuggestion.Kind.TYPE, 3, "abc", 1)
+                .add(ProductSuggestion.Kind.TYPE, 4, "b", 1)
+                .add(ProductSuggestion.Kind.TYPE, 5, "zz", 1)
+                .build();
+
+        assertEquals(List.of("a", "ab", "abc"), texts(index.complete("a", 10)));
+        assertEquals(List.of("ab", "abc"), texts(index.complete("ab", 10)));
+        assertEquals(List.of("abc"), texts(index.complete("abc", 10)));
+        assertEquals(List.of(), index.complete("abcd", 10));
+        assertEquals(List.of("zz"), texts(index.complete("z", 10)));
+        // Before the first and after the last key
+        assertEquals(List.of(), index.complete("0", 10));
+        assertEquals(List.of(), index.complete("zzz", 10));
+    }
+
+    @Test
+    void heaviestNamesComeFirstUpToLimit() {
+        CompletionIndex index = new CompletionIndex.Builder()
+                .add(ProductSuggestion.Kind.PRODUCT, 1, "Racket Light", 5)
+                .add(ProductSuggestion.Kind.PRODUCT, 2, "Racket Heavy", 50)
+                .add(ProductSuggestion.Kind.TYPE, 3, "Rackets", 20)
+                .add(ProductSuggestion.Kind.PRODUCT, 4, "Shoes", 100)
+                .build();
+
+        List<ProductSuggestion> suggestions = index.complete("rack", 2);
+
+        assertEquals(List.of("Racket Heavy", "Rackets"), texts(suggestions));
+        assertEquals(ProductSuggestion.Kind.PRODUCT, suggestions.get(0).getKind());
+        assertEquals(2, suggestions.get(0).getId());
+        assertEquals(ProductSuggestion.Kind.TYPE, suggestions.get(1).getKind());
+        assertEquals(3, suggestions.get(1).getId());
+    }
+
+    @Test
+    void tiesAreOrderedByMatchingWord() {
+        CompletionIndex index = new CompletionIndex.Builder()
+                .add(ProductSuggestion.Kind.PRODUCT, 1, "Speed Racket", 7)
+                .add(ProductSuggestion.Kind.PRODUCT, 2, "Pro Smash Racket", 7)
+                .add(ProductSuggestion.Kind.PRODUCT, 3, "Shuttle", 7)
+                .build();
+
+        assertEquals(List.of("Shuttle", "Pro Smash Racket", "Speed Racket"), texts(index.complete("s", 10)));
+    }
+
+    @Test
+    void nameWithSeveralMatchingWordsIsReturnedOnce() {
+        CompletionIndex index = new CompletionIndex.Builder()
+                .add(ProductSuggestion.Kind.PRODUCT, 1, "Shoe Shine Shop", 10)
+                .add(ProductSuggestion.Kind.PRODUCT, 2, "Shorts", 5)
+                .build();
+
+        assertEquals(List.of("Shoe Shine Shop", "Shorts"), texts(index.complete("sh", 10)));
+        assertEquals(List.of("Shoe Shine Shop", "Shorts"), texts(index.complete("sh", 2)));
+    }
+
+    @Test
+    void namesWithoutLetterOrDigitAreSkipped() {
+        CompletionIndex index = new CompletionIndex.Builder()
+                .add(ProductSuggestion.Kind.PRODUCT, 1, "!!!", 10)
+                .add(ProductSuggestion.Kind.PRODUCT, 2, "   ", 10)
+                .add(ProductSuggestion.Kind.PRODUCT, 3, "Grip", 10)
+                .build();
+
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void rebuiltIndexReflectsUpdates() {
+        CompletionIndex before = new CompletionIndex.Builder()
+                .add(ProductSuggestion.Kind.PRODUCT, 1, "Grip Tape", 10)
+                .add(ProductSuggestion.Kind.PRODUCT, 2, "Grip Overgrip", 5)
+                .build();
+        // A renamed product, a sales change that reorders two names, and a removed one
+        CompletionIndex after = new CompletionIndex.Builder()
+                .add(ProductSuggestion.Kind.PRODUCT, 1, "Towel Grip", 10)
+                .add(ProductSuggestion.Kind.PRODUCT, 2, "Grip Overgrip", 50)
+                .build();
+
+        assertEquals(List.of("Grip Tape", "Grip Overgrip"), texts(before.complete("grip", 10)));
+        assertEquals(List.of("Grip Overgrip", "Towel Grip"), texts(after.complete("grip", 10)));
+        assertEquals(List.of(), after.complete("tape", 10));
+        assertEquals(List.of("Towel Grip"), texts(after.complete("tow", 10)));
+    }
+
+    @Test
+    void topNamesMatchBruteForceBeyondInitialCapacity() {
+        Random random = new Random(11);
+        String[] words = {"yonex", "li", "ning", "racket", "shoe", "string", "grip", "bag", "pro", "lite"};
+        CompletionIndex.Builder builder = new CompletionIndex.Builder();
+        List<String> names = new ArrayList<>();
+        List<Long> weights = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) {
+            String name = words[random.nextInt(words.length)] + " " + words[random.nextInt(words.length)] + " " + i;
+            long weight = random.nextInt(100);
+            builder.add(ProductSuggestion.Kind.PRODUCT, i, name, weight);
+            names.add(name);
+            weights.add(weight);
+        }
+        CompletionIndex index = builder.build();
+
+        for (String prefix : List.of("r", "ra", "st", "li", "pro", "12", "yonex s")) {
+            List<Long> expected = new ArrayList<>();
+            for (int i = 0; i < names.size(); i++) {
+                if (hasWordStartingWith(names.get(i), prefix)) {
+                    expected.add(weights.get(i));
+                }
+            }
+            expected.sort(Comparator.reverseOrder());
+            List<Long> actual = index.complete(prefix, 10).stream()
+                    .map(suggestion -> weights.get(suggestion.getId()))
+                    .toList();
+
+            assertEquals(expected.subList(0, Math.min(10, expected.size())), actual, prefix);
+        }
+    }
+
+    private static boolean hasWordStartingWith(String name, String prefix) {
+        for (int i = 0; i < name.length(); i++) {
+            if ((i == 0 || name.charAt(i - 1) == ' ') && name.startsWith(prefix, i)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static List<String> texts(List<ProductSuggestion> suggestions) {
+        return suggestions.stream().map(ProductSuggestion::getText).toList();
+    }
+}
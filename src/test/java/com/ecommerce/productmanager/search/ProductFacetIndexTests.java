@@ -0,0 +1,135 @@
+package com.ecommerce.productmanager.search;
+
+import com.ecommerce.productmanager.entity.Brand;
+import com.ecommerce.productmanager.entity.Product;
+import com.ecommerce.productmanager.entity.Type;
+import com.ecommerce.productmanager.event.ProductChangedEvent;
+import com.ecommerce.productmanager.model.ProductSortKey;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Verifies the multi-select counts of ProductFacetIndex: the counts of a facet apply the selections of
+ * every other facet but not its own, and changes to the catalog are reflected in the counts.
+ */
+class ProductFacetIndexTests {
+
+    private static final Brand YONEX = new Brand(1, "Yonex", null);
+    private static final Brand LINING = new Brand(2, "Li-Ning", null);
+    private static final Type RACKETS = new Type(1, "Rackets", null);
+    private static final Type SHOES = new Type(2, "Shoes", null);
+
+    // Buckets: 0 below 1000, 1 from 1000 to 5000, 2 from 5000
+    private final ProductFacetIndex index = new ProductFacetIndex(new long[]{1000, 5000});
+
+    @BeforeEach
+    void setUp() {
+        index.beginLoad();
+        index.loadBatch(List.of(
+                product(1, YONEX, RACKETS, 18500L),
+                product(2, YONEX, RACKETS, 4500L),
+                product(3, YONEX, SHOES, 900L),
+                product(4, LINING, RACKETS, 12000L),
+                product(5, LINING, SHOES, 2500L)));
+        index.endLoad();
+    }
+
+    @Test
+    void withoutSelectionCountsWholeCatalog() {
+        ProductFacetIndex.Result result = search(Set.of(), Set.of(), Set.of(), null);
+
+        assertEquals(5, result.totalMatches());
+        assertEquals(Map.of(1, 3L, 2, 2L), result.brandCounts());
+        assertEquals(Map.of(1, 3L, 2, 2L), result.typeCounts());
+        assertArrayEquals(new long[]{1, 2, 2}, result.priceBucketCounts());
+    }
+
+    @Test
+    void facetCountsIgnoreOwnSelection() {
+        ProductFacetIndex.Result result = search(Set.of(1), Set.of(), Set.of(), null);
+
+        assertEquals(3, result.totalMatches());
+        // Selecting Yonex leaves the brand counts as they were, so Li-Ning still shows what it would add
+        assertEquals(Map.of(1, 3L, 2, 2L), result.brandCounts());
+        assertEquals(Map.of(1, 2L, 2, 1L), result.typeCounts());
+        assertArrayEquals(new long[]{1, 1, 1}, result.priceBucketCounts());
+    }
+
+    @Test
+    void facetCountsApplyOtherSelections() {
+        ProductFacetIndex.Result result = search(Set.of(1), Set.of(1), Set.of(2), null);
+
+        assertEquals(List.of(1), result.pageIds());
+        // Brands: rackets from 5000; types: Yonex from 5000; prices: Yonex rackets
+        assertEquals(Map.of(1, 1L, 2, 1L), result.brandCounts());
+        assertEquals(Map.of(1, 1L), result.typeCounts());
+        assertArrayEquals(new long[]{0, 1, 1}, result.priceBucketCounts());
+    }
+
+    @Test
+    void multipleValuesOfOneFacetAreUnited() {
+        ProductFacetIndex.Result result = search(Set.of(), Set.of(), Set.of(0, 2), null);
+
+        assertEquals(List.of(1, 3, 4), result.pageIds());
+        assertEquals(Map.of(1, 2L, 2, 1L), result.brandCounts());
+        assertEquals(Map.of(1, 2L, 2, 1L), result.typeCounts());
+        assertArrayEquals(new long[]{1, 2, 2}, result.priceBucketCounts());
+    }
+
+    @Test
+    void candidatesRestrictMatchesAndCounts() {
+        ProductFacetIndex.Result result = search(Set.of(2), Set.of(), Set.of(), List.of(5, 1, 4));
+
+        // Relevance order of the candidates is kept
+        assertEquals(List.of(5, 4), result.pageIds());
+        assertEquals(Map.of(1, 1L, 2, 2L), result.brandCounts());
+        assertEquals(Map.of(1, 1L, 2, 1L), result.typeCounts());
+    }
+
+    @Test
+    void changedProductMovesBetweenValues() {
+        index.onProductChanged(new ProductChangedEvent(product(3, LINING, SHOES, 900L),
+                ProductChangedEvent.ChangeType.SAVED));
+        index.onProductChanged(new ProductChangedEvent(product(2, null, null, null),
+                ProductChangedEvent.ChangeType.DELETED));
+
+        ProductFacetIndex.Result result = search(Set.of(2), Set.of(), Set.of(), null);
+
+        assertEquals(3, result.totalMatches());
+        assertEquals(Map.of(1, 1L, 2, 3L), result.brandCounts());
+        assertEquals(Map.of(1, 1L, 2, 2L), result.typeCounts());
+    }
+
+    @Test
+    void pageBeyondMatchesIsEmpty() {
+        ProductFacetIndex.Result result = index.search(new ProductFacetIndex.Selection(Set.of(), Set.of(), Set.of(),
+                null), ProductSortKey.PRICE, Sort.Direction.ASC, Integer.MAX_VALUE, 20);
+
+        assertEquals(List.of(), result.pageIds());
+        assertEquals(5, result.totalMatches());
+    }
+
+    private ProductFacetIndex.Result search(Set<Integer> brandIds, Set<Integer> typeIds, Set<Integer> priceBuckets,
+                                            List<Integer> candidateIds) {
+        return index.search(new ProductFacetIndex.Selection(brandIds, typeIds, priceBuckets, candidateIds),
+                candidateIds == null ? ProductSortKey.ID : null, Sort.Direction.ASC, 0, 20);
+    }
+
+    private static Product product(int id, Brand brand, Type type, Long price) {
+        return Product.builder()
+                .id(id)
+                .name("Product " + id)
+                .price(price)
+                .brand(brand)
+                .type(type)
+                .build();
+    }
+}
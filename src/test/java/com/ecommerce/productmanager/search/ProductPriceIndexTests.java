@@ -0,0 +1,189 @@
+package com.ecommerce.productmanager.search;
+
+import com.ecommerce.productmanager.entity.Brand;
+import com.ecommerce.productmanager.entity.Product;
+import com.ecommerce.productmanager.entity.Type;
+import com.ecommerce.productmanager.event.ProductChangedEvent;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Verifies that ProductPriceIndex keeps its order across inserts, moves and removals that split and
+ * merge blocks, treats both price bounds as inclusive, and filters by brand, type or both.
+ * The index uses blocks of four entries, so a handful of products already spans several blocks.
+ */
+class ProductPriceIndexTests {
+
+    private static final int BLOCK_CAPACITY = 4;
+
+    private final ProductPriceIndex index = new ProductPriceIndex(BLOCK_CAPACITY);
+
+    @Test
+    void loadedProductsAreOrderedByPriceThenId() {
+        load(product(5, 1, 1, 300L), product(2, 1, 1, 100L), product(9, 1, 1, 200L), product(1, 1, 1, 200L),
+                product(7, 1, 1, 100L), product(3, 1, 1, 500L));
+
+        assertEquals(List.of(2, 7, 1, 9, 5, 3), search(null, null, null, null, Sort.Direction.ASC, 0, 10).ids());
+        assertEquals(List.of(3, 5, 9, 1, 7, 2), search(null, null, null, null, Sort.Direction.DESC, 0, 10).ids());
+    }
+
+    @Test
+    void insertIntoFullBlockSplitsIt() {
+        load(product(1, 1, 1, 100L), product(2, 1, 1, 200L), product(3, 1, 1, 300L), product(4, 1, 1, 400L));
+
+        save(product(5, 1, 1, 250L));
+        save(product(6, 1, 1, 50L));
+        save(product(7, 1, 1, 450L));
+
+        assertEquals(List.of(6, 1, 2, 5, 3, 4, 7), search(null, null, null, null, Sort.Direction.ASC, 0, 10).ids());
+        // A window that starts in one block and ends in the next
+        assertEquals(List.of(2, 5, 3), search(null, null, null, null, Sort.Direction.ASC, 2, 3).ids());
+        assertEquals(List.of(3, 5, 2), search(null, null, null, null, Sort.Direction.DESC, 2, 3).ids());
+    }
+
+    @Test
+    void priceChangeMovesProduct() {
+        load(product(1, 1, 1, 100L), product(2, 1, 1, 200L), product(3, 1, 1, 300L));
+
+        save(product(1, 1, 1, 400L));
+
+        assertEquals(List.of(2, 3, 1), search(null, null, null, null, Sort.Direction.ASC, 0, 10).ids());
+        assertEquals(List.of(1), search(350L, null, null, null, Sort.Direction.ASC, 0, 10).ids());
+    }
+
+    @Test
+    void removalShiftsFollowingEntries() {
+        load(product(1, 1, 1, 100L), product(2, 1, 1, 200L), product(3, 1, 1, 300L), product(4, 1, 1, 400L),
+                product(5, 1, 1, 500L));
+
+        delete(2);
+        delete(4);
+        delete(42);
+
+        ProductPriceIndex.Window window = search(null, null, null, null, Sort.Direction.ASC, 0, 10);
+        assertEquals(List.of(1, 3, 5), window.ids());
+        assertEquals(3, window.totalMatches());
+    }
+
+    @Test
+    void priceBoundsAreInclusive() {
+        load(product(1, 1, 1, 99L), product(2, 1, 1, 100L), product(3, 1, 1, 150L), product(4, 1, 1, 200L),
+                product(5, 1, 1, 201L));
+
+        ProductPriceIndex.Window window = search(100L, 200L, null, null, Sort.Direction.ASC, 0, 10);
+
+        assertEquals(List.of(2, 3, 4), window.ids());
+        assertEquals(3, window.totalMatches());
+        assertEquals(List.of(5), search(201L, Long.MAX_VALUE, null, null, Sort.Direction.ASC, 0, 10).ids());
+        assertEquals(0, search(202L, null, null, null, Sort.Direction.ASC, 0, 10).totalMatches());
+        assertEquals(0, search(300L, 100L, null, null, Sort.Direction.ASC, 0, 10).totalMatches());
+    }
+
+    @Test
+    void offsetBeyondRangeKeepsTotal() {
+        load(product(1, 1, 1, 100L), product(2, 1, 1, 200L));
+
+        ProductPriceIndex.Window window = search(null, null, null, null, Sort.Direction.ASC, 5, 10);
+
+        assertEquals(List.of(), window.ids());
+        assertEquals(2, window.totalMatches());
+    }
+
+    @Test
+    void brandAndTypeFiltersIntersect() {
+        load(product(1, 1, 1, 100L), product(2, 1, 2, 200L), product(3, 2, 1, 300L), product(4, 1, 1, 400L),
+                product(5, 1, 1, 500L), product(6, 2, 2, 600L));
+
+        assertEquals(List.of(1, 2, 4, 5), search(null, null, 1, null, Sort.Direction.ASC, 0, 10).ids());
+        assertEquals(List.of(3, 4, 5), search(300L, null, null, 1, Sort.Direction.ASC, 0, 10).ids());
+        ProductPriceIndex.Window window = search(null, null, 1, 1, Sort.Direction.DESC, 1, 10);
+        assertEquals(List.of(4, 1), window.ids());
+        assertEquals(3, window.totalMatches());
+        assertEquals(0, search(null, null, 3, 1, Sort.Direction.ASC, 0, 10).totalMatches());
+    }
+
+    @Test
+    void changesDuringLoadAreApplied() {
+        index.beginLoad();
+        index.loadBatch(List.of(product(1, 1, 1, 100L), product(2, 1, 1, 200L)));
+        save(product(3, 1, 1, 150L));
+        delete(1);
+        index.endLoad();
+
+        assertEquals(List.of(3, 2), search(null, null, null, null, Sort.Direction.ASC, 0, 10).ids());
+    }
+
+    @Test
+    void randomChangesMatchSortedCatalog() {
+        Random random = new Random(7);
+        load();
+        Map<Integer, Product> catalog = new HashMap<>();
+        for (int i = 0; i < 2000; i++) {
+            int id = 1 + random.nextInt(200);
+            if (random.nextInt(4) == 0) {
+                catalog.remove(id);
+                delete(id);
+            } else {
+                Product product = product(id, 1 + random.nextInt(3), 1 + random.nextInt(3), (long) random.nextInt(50));
+                catalog.put(id, product);
+                save(product);
+            }
+        }
+        long minPrice = 10;
+        long maxPrice = 30;
+        List<Integer> expected = catalog.values().stream()
+                .filter(product -> product.getPrice() >= minPrice && product.getPrice() <= maxPrice)
+                .filter(product -> product.getBrand().getId() == 2 && product.getType().getId() == 3)
+                .sorted(Comparator.comparing(Product::getPrice).thenComparing(Product::getId))
+                .map(Product::getId)
+                .toList();
+        List<Integer> all = catalog.values().stream()
+                .sorted(Comparator.comparing(Product::getPrice).thenComparing(Product::getId))
+                .map(Product::getId)
+                .toList();
+
+        assertEquals(all, search(null, null, null, null, Sort.Direction.ASC, 0, 1000).ids());
+        ProductPriceIndex.Window window = search(minPrice, maxPrice, 2, 3, Sort.Direction.ASC, 0, 1000);
+        assertEquals(expected, window.ids());
+        assertEquals(expected.size(), window.totalMatches());
+    }
+
+    private ProductPriceIndex.Window search(Long minPrice, Long maxPrice, Integer brandId, Integer typeId,
+                                            Sort.Direction direction, long offset, int limit) {
+        return index.search(minPrice, maxPrice, brandId, typeId, direction, offset, limit);
+    }
+
+    private void load(Product... products) {
+        index.beginLoad();
+        index.loadBatch(new ArrayList<>(List.of(products)));
+        index.endLoad();
+    }
+
+    private void save(Product product) {
+        index.onProductChanged(new ProductChangedEvent(product, ProductChangedEvent.ChangeType.SAVED));
+    }
+
+    private void delete(int productId) {
+        index.onProductChanged(new ProductChangedEvent(Product.builder().id(productId).build(),
+                ProductChangedEvent.ChangeType.DELETED));
+    }
+
+    private static Product product(int id, int brandId, int typeId, Long price) {
+        return Product.builder()
+                .id(id)
+                .name("Product " + id)
+                .price(price)
+                .brand(new Brand(brandId, "Brand " + brandId, null))
+                .type(new Type(typeId, "Type " + typeId, null))
+                .build();
+    }
+}
@@ -0,0 +1,55 @@
+package com.ecommerce.productmanager.security;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.MissingClaimException;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Verifies that JwtHelper caches verified claims, parses every call when the cache is turned off,
+ * and rejects signed tokens that carry no expiration.
+ */
+class JwtHelperTests {
+
+    // The signing secret of JwtHelper, needed to sign a token the helper itself would never issue
+    private static final String SECRET = "f27dacd186810e78c0fd8ba65ecf3f1524ff087c5e86773d5172d424b3fd201f";
+
+    private final UserDetails user = User.withUsername("elisha").password("").roles("admin").build();
+
+    @Test
+    void cachedClaimsAreReused() {
+        JwtHelper jwtHelper = new JwtHelper(100);
+        String token = jwtHelper.generateToken(user);
+
+        assertSame(jwtHelper.getAllClaimsFromToken(token), jwtHelper.getAllClaimsFromToken(token));
+        assertEquals(List.of("ROLE_admin"), jwtHelper.getRolesFromToken(token));
+    }
+
+    @Test
+    void cacheSizeZeroParsesEveryCall() {
+        JwtHelper jwtHelper = new JwtHelper(0);
+        String token = jwtHelper.generateToken(user);
+
+        assertNotSame(jwtHelper.getAllClaimsFromToken(token), jwtHelper.getAllClaimsFromToken(token));
+        assertEquals("elisha", jwtHelper.getUserNameFromToken(token));
+    }
+
+    @Test
+    void tokenWithoutExpirationIsRejected() {
+        JwtHelper jwtHelper = new JwtHelper(100);
+        String token = Jwts.builder().subject("elisha").signWith(Keys.hmacShaKeyFor(SECRET.getBytes())).compact();
+
+        assertThrows(MissingClaimException.class, () -> jwtHelper.getAllClaimsFromToken(token));
+        // Rejected tokens are not cached, so the second call fails the same way
+        assertThrows(MissingClaimException.class, () -> jwtHelper.getAllClaimsFromToken(token));
+    }
+}
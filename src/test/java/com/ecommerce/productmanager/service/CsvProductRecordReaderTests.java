@@ -0,0 +1,104 @@
+package com.ecommerce.productmanager.service;
+
+import com.ecommerce.productmanager.exceptions.InvalidImportException;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Verifies that CsvProductRecordReader splits records as RFC 4180 describes: quoted fields with commas,
+ * doubled quotes and line breaks, a byte order mark before the header, and records whose field count
+ * differs from the header, which are returned as malformed without ending the input.
+ */
+class CsvProductRecordReaderTests {
+
+    @Test
+    void plainFieldsAreNamedByHeaderAndEmptyFieldsLeftOut() throws IOException {
+        List<ProductRecord> records = read("id,name,description,price\n7,Yonex Astrox 88D,,18500\n");
+
+        assertEquals(1, records.size());
+        assertEquals(1, records.get(0).row());
+        assertNull(records.get(0).error());
+        assertEquals(Map.of("id", "7", "name", "Yonex Astrox 88D", "price", "18500"), records.get(0).fields());
+    }
+
+    @Test
+    void quotedFieldKeepsCommasAndDoubledQuotes() throws IOException {
+        List<ProductRecord> records = read("name,description\n\"Racket, strung\",\"The \"\"88D\"\" model\"\n");
+
+        assertEquals("Racket, strung", records.get(0).fields().get("name"));
+        assertEquals("The \"88D\" model", records.get(0).fields().get("description"));
+    }
+
+    @Test
+    void quotedFieldSpansLines() throws IOException {
+        List<ProductRecord> records = read("name,description\n"
+                + "Racket,\"Line one\n\nline three, with a comma\"\n"
+                + "Shoes,Plain\n");
+
+        assertEquals(2, records.size());
+        assertEquals("Line one\n\nline three, with a comma", records.get(0).fields().get("description"));
+        // Records are numbered, not lines
+        assertEquals(2, records.get(1).row());
+        assertEquals("Shoes", records.get(1).fields().get("name"));
+    }
+
+    @Test
+    void byteOrderMarkBeforeHeaderIsSkipped() throws IOException {
+        List<ProductRecord> records = read("\uFEFFid,name\r\n1,Grip\r\n");
+
+        assertEquals(Map.of("id", "1", "name", "Grip"), records.get(0).fields());
+    }
+
+    @Test
+    void fieldCountMismatchIsMalformedAndReadingContinues() throws IOException {
+        List<ProductRecord> records = read("id,name,price\n1,Grip\n2,Towel,300,extra\n3,Bag,900\n");
+
+        assertEquals(3, records.size());
+        assertEquals("Expected 3 fields but found 2", records.get(0).error());
+        assertEquals("Expected 3 fields but found 4", records.get(1).error());
+        assertNull(records.get(2).error());
+        assertEquals("Bag", records.get(2).fields().get("name"));
+    }
+
+    @Test
+    void unclosedQuoteIsMalformed() throws IOException {
+        List<ProductRecord> records = read("name,description\nRacket,\"Never closed\n");
+
+        assertEquals(1, records.size());
+        assertEquals("Quoted field is not closed before the end of the input", records.get(0).error());
+    }
+
+    @Test
+    void blankLinesAreSkipped() throws IOException {
+        List<ProductRecord> records = read("id,name\n\n1,Grip\n   \n2,Towel\n");
+
+        assertEquals(2, records.size());
+        assertEquals("Towel", records.get(1).fields().get("name"));
+    }
+
+    @Test
+    void emptyInputHasNoHeader() {
+        assertThrows(InvalidImportException.class, () -> read(""));
+    }
+
+    private static List<ProductRecord> read(String csv) throws IOException {
+        List<ProductRecord> records = new ArrayList<>();
+        try (CsvProductRecordReader reader = new CsvProductRecordReader(new BufferedReader(new StringReader(csv)))) {
+            ProductRecord record;
+            while ((record = reader.next()) != null) {
+                records.add(record);
+            }
+        }
+        return records;
+    }
+}
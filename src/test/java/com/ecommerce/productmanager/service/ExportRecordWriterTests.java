@@ -0,0 +1,130 @@
+package com.ecommerce.productmanager.service;
+
+import com.ecommerce.productmanager.model.ImportFormat;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Verifies the CSV and NDJSON export writers: the CSV header, RFC 4180 quoting and empty nulls, and
+ * one JSON object per line with typed values, escaped strings and nulls left out. The product rows
+ * are read back through the import readers, so an export can be imported again as is.
+ */
+class ExportRecordWriterTests {
+
+    private static final List<String> COLUMNS = List.of("id", "name", "description", "price");
+
+    // Configured like Spring Boot's ObjectMapper, which writes dates as ISO strings
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+    @Test
+    void csvStartsWithHeaderAndLeavesNullsEmpty() throws IOException {
+        String csv = write(ImportFormat.CSV, new Object[]{1, "Yonex Astrox 88D", null, 18500L});
+
+        assertEquals("id,name,description,price\n1,Yonex Astrox 88D,,18500\n", csv);
+    }
+
+    @Test
+    void csvQuotesCommasQuotesAndLineBreaks() throws IOException {
+        String csv = write(ImportFormat.CSV,
+                new Object[]{1, "Racket, strung", "The \"88D\" model", 1L},
+                new Object[]{2, "Two\nlines", "Carriage\rreturn", 2L},
+                new Object[]{3, "Plain 'single' quotes; semicolons", "", 3L});
+
+        assertEquals("id,name,description,price\n"
+                + "1,\"Racket, strung\",\"The \"\"88D\"\" model\",1\n"
+                + "2,\"Two\nlines\",\"Carriage\rreturn\",2\n"
+                + "3,Plain 'single' quotes; semicolons,,3\n", csv);
+    }
+
+    @Test
+    void csvWithoutRowsIsHeaderOnly() throws IOException {
+        assertEquals("id,name,description,price\n", write(ImportFormat.CSV));
+    }
+
+    @Test
+    void csvRoundTripsThroughImportReader() throws IOException {
+        String csv = write(ImportFormat.CSV, new Object[]{7, "Racket, \"pro\"", "Line one\nline two", 18500L});
+
+        ProductRecord record = read(ImportFormat.CSV, csv);
+
+        assertEquals("7", record.fields().get("id"));
+        assertEquals("Racket, \"pro\"", record.fields().get("name"));
+        assertEquals("Line one\nline two", record.fields().get("description"));
+        assertEquals("18500", record.fields().get("price"));
+    }
+
+    @Test
+    void ndjsonWritesOneObjectPerLine() throws IOException {
+        String ndjson = write(ImportFormat.NDJSON,
+                new Object[]{1, "Yonex", null, 18500L},
+                new Object[]{2, "Li-Ning", "Shoes", 3500L});
+
+        String[] lines = ndjson.split("\n", -1);
+        assertEquals(3, lines.length);
+        assertEquals("", lines[2]);
+        assertEquals("{\"id\":1,\"name\":\"Yonex\",\"price\":18500}", lines[0]);
+        assertEquals("{\"id\":2,\"name\":\"Li-Ning\",\"description\":\"Shoes\",\"price\":3500}", lines[1]);
+    }
+
+    @Test
+    void ndjsonEscapesStringsAndWritesDatesAsIso() throws IOException {
+        LocalDateTime orderDate = LocalDateTime.of(2024, 5, 17, 9, 30);
+        String ndjson = write(ImportFormat.NDJSON,
+                new Object[]{1, "Quote \" backslash \\ newline \n tab \t", orderDate, 1L});
+
+        assertFalse(ndjson.substring(0, ndjson.length() - 1).contains("\n"));
+        JsonNode row = objectMapper.readTree(ndjson);
+        assertEquals("Quote \" backslash \\ newline \n tab \t", row.get("name").asText());
+        assertEquals("2024-05-17T09:30:00", row.get("description").asText());
+        assertEquals(1L, row.get("price").asLong());
+    }
+
+    @Test
+    void ndjsonWithoutRowsIsEmpty() throws IOException {
+        assertEquals("", write(ImportFormat.NDJSON));
+    }
+
+    @Test
+    void ndjsonRoundTripsThroughImportReader() throws IOException {
+        String ndjson = write(ImportFormat.NDJSON, new Object[]{7, "Racket, \"pro\"", "Line one\nline two", 18500L});
+
+        ProductRecord record = read(ImportFormat.NDJSON, ndjson);
+
+        assertEquals("7", record.fields().get("id"));
+        assertEquals("Racket, \"pro\"", record.fields().get("name"));
+        assertEquals("Line one\nline two", record.fields().get("description"));
+        assertEquals("18500", record.fields().get("price"));
+    }
+
+    private String write(ImportFormat format, Object[]... rows) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (ExportRecordWriter writer = ExportRecordWriter.open(format, output, COLUMNS, objectMapper)) {
+            for (Object[] row : rows) {
+                writer.write(row);
+            }
+        }
+        return output.toString(StandardCharsets.UTF_8);
+    }
+
+    private ProductRecord read(ImportFormat format, String content) throws IOException {
+        try (ProductRecordReader reader = ProductRecordReader.open(format,
+                new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)), objectMapper)) {
+            return reader.next();
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.ecommerce.productmanager.service;
+
+import com.ecommerce.productmanager.entity.OrderAggregate.Order;
+import com.ecommerce.productmanager.entity.OrderAggregate.OrderItem;
+import com.ecommerce.productmanager.entity.OrderAggregate.OrderStatus;
+import com.ecommerce.productmanager.entity.OrderAggregate.ProductItemOrdered;
+import com.ecommerce.productmanager.mapper.OrderMapperImpl;
+import com.ecommerce.productmanager.model.OrderResponse;
+import com.ecommerce.productmanager.repository.IdempotencyStore;
+import com.ecommerce.productmanager.repository.OrderRepository;
+import com.ecommerce.productmanager.search.ProductSearchIndex;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Verifies that streaming all orders returns them in ID order with one query per chunk of orders, and
+ * that the chunk query loads the items of every order with it, by counting the JDBC statements
+ * Hibernate prepares.
+ */
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Import({OrderServiceImpl.class, OrderMapperImpl.class, ProductSearchIndex.class})
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+class OrderServiceImplTests {
+
+    private static final int ORDER_COUNT = 12;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @MockBean
+    private BasketService basketService;
+
+    @MockBean
+    private IdempotencyStore idempotencyStore;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < ORDER_COUNT; i++) {
+            // Orders with no, one and two items
+            persistOrder(i % 3);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void streamAllOrdersLoadsOrdersInChunks() {
+        List<OrderResponse> orders = new ArrayList<>();
+
+        orderService.streamAllOrders(orders::add);
+
+        assertEquals(ORDER_COUNT, orders.size());
+        assertEquals(orders.stream().map(OrderResponse::getId).sorted().toList(),
+                orders.stream().map(OrderResponse::getId).toList());
+        // One query for the order IDs and one for the orders and items of the only chunk
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void chunkQueryInitializesItems() {
+        List<Integer> orderIds = orderRepository.findAll().stream().map(Order::getId).toList();
+        entityManager.clear();
+        statistics.clear();
+
+        List<Order> orders = orderRepository.findAllWithItemsByIdIn(orderIds);
+
+        assertEquals(orderIds, orders.stream().map(Order::getId).toList());
+        for (int i = 0; i < ORDER_COUNT; i++) {
+            assertTrue(Hibernate.isInitialized(orders.get(i).getOrderItems()));
+            assertEquals(i % 3, orders.get(i).getOrderItems().size());
+        }
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    private void persistOrder(int items) {
+        Order order = Order.builder()
+                .basketId("basket")
+                .orderDate(LocalDateTime.now())
+                .subTotal(1000.0 * items)
+                .deliveryFee(500L)
+                .orderStatus(OrderStatus.Pending)
+                .orderItems(new ArrayList<>())
+                .build();
+        for (int i = 0; i < items; i++) {
+            order.getOrderItems().add(OrderItem.builder()
+                    .itemOrdered(new ProductItemOrdered(i + 1, "Product " + i, "images/products/product-" + i + ".png"))
+                    .price(1000L)
+                    .quantity(1)
+                    .order(order)
+                    .build());
+        }
+        entityManager.persist(order);
+    }
+}
@@ -0,0 +1,225 @@
+package com.ecommerce.productmanager.service;
+
+import com.ecommerce.productmanager.entity.Brand;
+import com.ecommerce.productmanager.entity.Type;
+import com.ecommerce.productmanager.event.CatalogReloadedEvent;
+import com.ecommerce.productmanager.model.ImportFormat;
+import com.ecommerce.productmanager.model.ProductImportReport;
+import com.ecommerce.productmanager.repository.BrandRepository;
+import com.ecommerce.productmanager.repository.TypeRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Verifies the row validation of ProductImportServiceImpl, which rejects a row with the first problem
+ * found and resolves brand and type names case-insensitively, and that a batch failing in the database
+ * is rejected as a whole while the writer goes on with the following batches. The JDBC template records
+ * the rows it is given instead of writing them, and fails the batches it is told to.
+ */
+class ProductImportServiceImplTests {
+
+    private static final String HEADER = "id,name,description,price,pictureUrl,brand,type\n";
+
+    private final RecordingJdbcTemplate jdbcTemplate = new RecordingJdbcTemplate();
+    private final List<Object> events = new ArrayList<>();
+    private final BrandRepository brandRepository = mock(BrandRepository.class);
+    private final TypeRepository typeRepository = mock(TypeRepository.class);
+
+    @BeforeEach
+    void setUp() {
+        when(brandRepository.findAll()).thenReturn(List.of(new Brand(1, "Yonex", null), new Brand(2, "Li-Ning", null)));
+        when(typeRepository.findAll()).thenReturn(List.of(new Type(1, "Rackets", null), new Type(2, "Shoes", null)));
+    }
+
+    @Test
+    void validRowsAreWrittenWithResolvedBrandAndType() throws IOException {
+        ProductImportReport report = importCsv(10, HEADER
+                + ",Astrox 88D,Attacking racket,18500,images/astrox.png, yonex ,RACKETS\n"
+                + "42,Saga,,3500,,Li-Ning,Shoes\n");
+
+        assertEquals(2, report.getRowsImported());
+        assertEquals(0, report.getRowsRejected());
+        // Inserts: name, description, price, pictureUrl, brand, type; upserts lead with the ID
+        assertEquals(List.of(List.of("Astrox 88D", "Attacking racket", 18500L, "images/astrox.png", 1, 1)),
+                jdbcTemplate.inserts);
+        assertEquals(List.of(Arrays.asList(42, "Saga", null, 3500L, null, 2, 2)), jdbcTemplate.upserts);
+        assertEquals(1, events.size());
+        assertEquals(2, ((CatalogReloadedEvent) events.get(0)).getProductsWritten());
+    }
+
+    @Test
+    void invalidRowsAreRejectedWithFirstProblem() throws IOException {
+        String longText = "x".repeat(256);
+        ProductImportReport report = importCsv(10, HEADER
+                + "abc,Grip,,100,,Yonex,Rackets\n"
+                + ",Grip,,1.5,,Yonex,Rackets\n"
+                + "0,Grip,,100,,Yonex,Rackets\n"
+                + ",  ,,100,,Yonex,Rackets\n"
+                + "," + longText + ",,100,,Yonex,Rackets\n"
+                + ",Grip,,,,Yonex,Rackets\n"
+                + ",Grip,,-1,,Yonex,Rackets\n"
+                + ",Grip,,100000000,,Yonex,Rackets\n"
+                + ",Grip,,100," + longText + ",Yonex,Rackets\n"
+                + ",Grip,,100,,,Rackets\n"
+                + ",Grip,,100,,Victor,Rackets\n"
+                + ",Grip,,100,,Yonex,\n"
+                + ",Grip,,100,,Yonex,Bags\n"
+                + ",Grip,,99999999,,Yonex,Rackets\n"
+                + ",Grip,,100,,Yonex\n");
+
+        assertEquals(15, report.getRowsRead());
+        assertEquals(1, report.getRowsImported());
+        assertEquals(14, report.getRowsRejected());
+        assertEquals(List.of(
+                "1: id and price must be whole numbers",
+                "2: id and price must be whole numbers",
+                "3: id must be positive",
+                "4: name is required",
+                "5: name is longer than 255 characters",
+                "6: price is required",
+                "7: price must not be negative",
+                "8: price must not exceed 99999999",
+                "9: pictureUrl is longer than 255 characters",
+                "10: brand is required",
+                "11: Unknown brand Victor",
+                "12: type is required",
+                "13: Unknown type Bags",
+                "15: Expected 7 fields but found 6"), rejections(report));
+        assertEquals(99_999_999L, jdbcTemplate.inserts.get(0).get(2));
+    }
+
+    @Test
+    void failedBatchIsRejectedAndWriterMovesOn() throws IOException {
+        jdbcTemplate.failWhen = row -> row.contains("Duplicate");
+
+        ProductImportReport report = importCsv(2, HEADER
+                + ",Grip 1,,100,,Yonex,Rackets\n"
+                + ",Grip 2,,100,,Yonex,Rackets\n"
+                + ",Duplicate,,100,,Yonex,Rackets\n"
+                + ",Grip 4,,100,,Yonex,Rackets\n"
+                + ",Grip 5,,100,,Yonex,Rackets\n");
+
+        assertEquals(3, report.getRowsImported());
+        assertEquals(2, report.getRowsRejected());
+        assertEquals(2, report.getBatches());
+        assertEquals(List.of("3: Batch of rows 3 to 4 failed: Duplicate entry"), rejections(report));
+        assertEquals(List.of("Grip 1", "Grip 2", "Grip 5"), jdbcTemplate.inserts.stream().map(row -> row.get(0)).toList());
+    }
+
+    @Test
+    void failureOutsideDatabaseIsContainedToo() throws IOException {
+        jdbcTemplate.failWhen = row -> row.contains("Grip 1");
+        jdbcTemplate.failure = new IllegalStateException("Transaction manager unavailable");
+
+        ProductImportReport report = importCsv(1, HEADER
+                + ",Grip 1,,100,,Yonex,Rackets\n"
+                + ",Grip 2,,100,,Yonex,Rackets\n");
+
+        assertEquals(1, report.getRowsImported());
+        assertEquals(List.of("1: Batch of rows 1 to 1 failed: java.lang.IllegalStateException: Transaction manager unavailable"),
+                rejections(report));
+    }
+
+    @Test
+    void nothingImportedPublishesNoReload() throws IOException {
+        ProductImportReport report = importCsv(10, HEADER + ",,,100,,Yonex,Rackets\n");
+
+        assertEquals(0, report.getRowsImported());
+        assertTrue(events.isEmpty());
+    }
+
+    private ProductImportReport importCsv(int batchSize, String csv) throws IOException {
+        // One writer, so batches are written in the order they were read
+        ProductImportServiceImpl service = new ProductImportServiceImpl(jdbcTemplate, new DirectTransactionTemplate(),
+                brandRepository, typeRepository, new ObjectMapper(), events::add, batchSize, 2, 1, 100);
+        return service.importProducts(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), ImportFormat.CSV);
+    }
+
+    private static List<String> rejections(ProductImportReport report) {
+        return report.getRejections().stream()
+                .map(rejection -> rejection.getRow() + ": " + rejection.getReason())
+                .toList();
+    }
+
+    /**
+     * Runs the callback without a transaction manager.
+     */
+    private static class DirectTransactionTemplate extends TransactionTemplate {
+
+        @Override
+        public <T> T execute(TransactionCallback<T> action) {
+            TransactionStatus status = new SimpleTransactionStatus();
+            return action.doInTransaction(status);
+        }
+    }
+
+    /**
+     * Collects the parameters each statement of a batch would be given, per SQL statement kind.
+     * A batch with a row that failWhen matches throws instead and records nothing, as a rolled back
+     * transaction would.
+     */
+    private static class RecordingJdbcTemplate extends JdbcTemplate {
+
+        private final List<List<Object>> inserts = new ArrayList<>();
+        private final List<List<Object>> upserts = new ArrayList<>();
+        private Predicate<String> failWhen = row -> false;
+        private RuntimeException failure = new DataIntegrityViolationException("Duplicate entry");
+
+        @Override
+        public <T> int[][] batchUpdate(String sql, Collection<T> batchArgs, int batchSize,
+                                       ParameterizedPreparedStatementSetter<T> pss) {
+            List<List<Object>> rows = new ArrayList<>();
+            for (T arg : batchArgs) {
+                List<Object> values = new ArrayList<>();
+                try {
+                    pss.setValues(recordingStatement(values), arg);
+                } catch (SQLException ex) {
+                    throw new IllegalStateException(ex);
+                }
+                rows.add(values);
+            }
+            if (rows.stream().anyMatch(values -> failWhen.test(values.toString()))) {
+                throw failure;
+            }
+            (sql.contains("ON DUPLICATE KEY") ? upserts : inserts).addAll(rows);
+            return new int[][]{new int[rows.size()]};
+        }
+
+        private static PreparedStatement recordingStatement(List<Object> values) {
+            return (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(),
+                    new Class<?>[]{PreparedStatement.class}, (proxy, method, args) -> {
+                        if (method.getName().equals("setNull")) {
+                            values.add(null);
+                        } else if (method.getName().startsWith("set")) {
+                            values.add(args[1]);
+                        }
+                        return null;
+                    });
+        }
+    }
+}
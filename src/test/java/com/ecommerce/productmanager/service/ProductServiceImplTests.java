@@ -0,0 +1,178 @@
+package com.ecommerce.productmanager.service;
+
+import com.ecommerce.productmanager.cache.ProductCache;
+import com.ecommerce.productmanager.entity.Brand;
+import com.ecommerce.productmanager.entity.Product;
+import com.ecommerce.productmanager.entity.Type;
+import com.ecommerce.productmanager.event.ProductEntityListener;
+import com.ecommerce.productmanager.model.ProductResponse;
+import com.ecommerce.productmanager.model.ProductSliceResponse;
+import com.ecommerce.productmanager.model.ProductSortKey;
+import com.ecommerce.productmanager.search.CatalogIndex;
+import com.ecommerce.productmanager.search.ProductFacetIndex;
+import com.ecommerce.productmanager.search.ProductPriceIndex;
+import com.ecommerce.productmanager.search.ProductSearchIndex;
+import com.ecommerce.productmanager.search.ProductSuggestIndex;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+/**
+ * Verifies that the product listing builds ProductResponse objects without lazily loading
+ * the brand and type of every row, and that a sorted keyword listing loads only its page, by counting
+ * the JDBC statements Hibernate prepares.
+ */
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Import({ProductServiceImpl.class, ProductSearchIndex.class, ProductFacetIndex.class, ProductPriceIndex.class,
+        ProductSuggestIndex.class, ProductEntityListener.class, SimpleMeterRegistry.class})
+class ProductServiceImplTests {
+
+    private static final int PRODUCT_COUNT = 25;
+    private static final int PAGE_SIZE = 10;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductSearchIndex productSearchIndex;
+
+    @Autowired
+    private ProductFacetIndex productFacetIndex;
+
+    @MockBean
+    private ProductCache productCache;
+
+    @MockBean
+    private BrandService brandService;
+
+    @MockBean
+    private TypeService typeService;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        // Bypass the cache so that every call reaches the database
+        when(productCache.get(any(), any(), any())).thenAnswer(invocation ->
+                invocation.<Supplier<?>>getArgument(2).get());
+
+        Brand[] brands = new Brand[3];
+        for (int i = 0; i < brands.length; i++) {
+            brands[i] = entityManager.persist(Brand.builder().name("Brand " + i).build());
+        }
+        Type[] types = new Type[2];
+        for (int i = 0; i < types.length; i++) {
+            types[i] = entityManager.persist(Type.builder().name("Type " + i).build());
+        }
+        for (int i = 0; i < PRODUCT_COUNT; i++) {
+            entityManager.persist(Product.builder()
+                    .name("Product " + i)
+                    .description("Description " + i)
+                    .price(1000L + i)
+                    .pictureUrl("images/products/product-" + i + ".png")
+                    .brand(brands[i % brands.length])
+                    .type(types[i % types.length])
+                    .build());
+        }
+        entityManager.flush();
+        // Start every test with an empty persistence context so nothing is served from it
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void getProductsLoadsPageWithoutPerRowQueries() {
+        Page<ProductResponse> page = productService.getProducts(
+                PageRequest.of(0, PAGE_SIZE, Sort.by("name")), null, null, null, null, null);
+
+        assertEquals(PAGE_SIZE, page.getNumberOfElements());
+        assertEquals("Brand 0", page.getContent().get(0).getProductBrand());
+        // One query for the page content and one for the total count
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void sortedKeywordListingLoadsOnlyPage() {
+        loadIndexes();
+
+        Page<ProductResponse> page = productService.getProducts(
+                PageRequest.of(1, PAGE_SIZE, Sort.by(Sort.Direction.DESC, "price")), null, null, "product", null, null);
+
+        assertEquals(PRODUCT_COUNT, page.getTotalElements());
+        assertEquals(1014L, page.getContent().get(0).getPrice());
+        assertEquals(1005L, page.getContent().get(PAGE_SIZE - 1).getPrice());
+        // The indexes sort and count the matches; only the page is loaded, by primary key
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void scrollProductsLoadsWindowInSingleQuery() {
+        ProductSliceResponse slice = productService.scrollProducts(
+                null, PAGE_SIZE, null, null, null, ProductSortKey.NAME, Sort.Direction.ASC);
+        statistics.clear();
+
+        ProductSliceResponse next = productService.scrollProducts(
+                slice.getNextCursor(), PAGE_SIZE, null, null, null, ProductSortKey.NAME, Sort.Direction.ASC);
+
+        assertEquals(PAGE_SIZE, next.getContent().size());
+        assertEquals("Type 0", next.getContent().get(0).getProductType());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void getProductByIdLoadsProductInSingleQuery() {
+        Integer productId = productService.getProducts(PageRequest.of(0, 1, Sort.by("id")), null, null, null, null, null)
+                .getContent().get(0).getId();
+        entityManager.clear();
+        statistics.clear();
+
+        ProductResponse product = productService.getProductById(productId);
+
+        assertEquals("Brand 0", product.getProductBrand());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    private void loadIndexes() {
+        List<Product> products = entityManager.getEntityManager()
+                .createQuery("SELECT p FROM Product p JOIN FETCH p.brand JOIN FETCH p.type", Product.class)
+                .getResultList();
+        for (CatalogIndex index : List.of(productSearchIndex, productFacetIndex)) {
+            index.beginLoad();
+            index.loadBatch(products);
+            index.endLoad();
+        }
+        entityManager.clear();
+        statistics.clear();
+    }
+}
@@ -0,0 +1,57 @@
+-- -----------------------------------------------------
+-- Schema of a database from before the Flyway migrations: Brand, Type and Product as docker/data.sql
+-- creates them, and Orders and OrderItem as Hibernate 6.5 generated them with ddl-auto: update from
+-- the entities of that time, which had no idempotency key and no indexes.
+-- -----------------------------------------------------
+
+CREATE TABLE `Brand` (
+    `Id` INT AUTO_INCREMENT PRIMARY KEY,
+    `Name` VARCHAR(255) NOT NULL
+);
+
+CREATE TABLE `Type` (
+    `Id` INT AUTO_INCREMENT PRIMARY KEY,
+    `Name` VARCHAR(255) NOT NULL
+);
+
+CREATE TABLE `Product` (
+    `Id` INT AUTO_INCREMENT PRIMARY KEY,
+    `Name` VARCHAR(255) NOT NULL,
+    `Description` TEXT,
+    `Price` DECIMAL(10, 2) NOT NULL,
+    `PictureUrl` VARCHAR(255),
+    `ProductTypeId` INT NOT NULL,
+    `ProductBrandId` INT NOT NULL,
+    FOREIGN KEY (`ProductTypeId`) REFERENCES `Type`(`Id`),
+    FOREIGN KEY (`ProductBrandId`) REFERENCES `Brand`(`Id`)
+);
+
+CREATE TABLE `Orders` (
+    `Delivery_Fee` BIGINT,
+    `Id` INTEGER NOT NULL AUTO_INCREMENT,
+    `Sub_Total` FLOAT(53),
+    `Order_Date` DATETIME(6),
+    `Basket_Id` VARCHAR(255),
+    `address1` VARCHAR(255),
+    `address2` VARCHAR(255),
+    `city` VARCHAR(255),
+    `country` VARCHAR(255),
+    `name` VARCHAR(255),
+    `state` VARCHAR(255),
+    `zipcode` VARCHAR(255),
+    `Order_Status` ENUM ('Pending', 'PaymentReceived', 'PaymentFailed'),
+    PRIMARY KEY (`Id`)
+) ENGINE = InnoDB;
+
+CREATE TABLE `OrderItem` (
+    `Id` INTEGER NOT NULL AUTO_INCREMENT,
+    `Price` BIGINT,
+    `Quantity` INTEGER,
+    `order_id` INTEGER,
+    `productId` INTEGER,
+    `name` VARCHAR(255),
+    `pictureUrl` VARCHAR(255),
+    PRIMARY KEY (`Id`)
+) ENGINE = InnoDB;
+
+ALTER TABLE `OrderItem` ADD CONSTRAINT `FK4hugqmr4gjmqpvl1p49f3r7m5` FOREIGN KEY (`order_id`) REFERENCES `Orders` (`Id`);